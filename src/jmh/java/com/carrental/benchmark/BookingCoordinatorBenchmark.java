@@ -0,0 +1,72 @@
+package com.carrental.benchmark;
+
+import com.carrental.service.BookingCoordinator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking throughput under contention.
+ * stripes=1 behaves like a single global lock; vehicles=1 means every request targets the same car.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class BookingCoordinatorBenchmark {
+
+    @Param({"1", "64"})
+    private int stripes;
+
+    @Param({"1", "1000"})
+    private int vehicles;
+
+    // CPU spent inside the lock, standing in for the conflict check and insert
+    @Param({"200"})
+    private int criticalSectionTokens;
+
+    private BookingCoordinator coordinator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        coordinator = new BookingCoordinator("local", stripes, TimeUnit.MINUTES.toMillis(1),
+            new StaticListableBeanFactory().getBeanProvider(JdbcTemplate.class), false);
+    }
+
+    @Benchmark
+    public void book() {
+        long vehicleId = ThreadLocalRandom.current().nextInt(vehicles);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coordinator.lockVehicle(vehicleId);
+            Blackhole.consumeCPU(criticalSectionTokens);
+        } finally {
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.carrental.benchmark;
+
+import com.carrental.service.InvoiceNumberGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invoice numbering under contention from 64 threads.
+ * The block allocator stands in for nextval on invoice_number_seq, with CPU spent in place of the round trip;
+ * uuidTimestamp is the timestamp plus UUID scheme the generator replaced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class InvoiceNumberBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int blockSize;
+
+    // CPU spent per block reservation, standing in for the database round trip
+    @Param({"20000"})
+    private int allocationTokens;
+
+    private InvoiceNumberGenerator generator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong(1);
+        generator = new InvoiceNumberGenerator(() -> {
+            Blackhole.consumeCPU(allocationTokens);
+            return sequence.getAndAdd(blockSize);
+        }, blockSize);
+    }
+
+    @Benchmark
+    public String blockSequence() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public String uuidTimestamp() {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String randomPart = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return "INV-" + timestamp + "-" + randomPart;
+    }
+}
@@ -0,0 +1,59 @@
+package com.carrental.benchmark;
+
+import com.carrental.security.JwtPrincipal;
+import com.carrental.security.JwtTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and verification, run on every login and every authenticated request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmarksecretkeythatisatleast256bitslong_0123456789");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(tokenProvider, "refreshExpiration", TimeUnit.DAYS.toMillis(30));
+        tokenProvider.init();
+
+        token = tokenProvider.generateAccessToken(1L, "user@test.com", List.of("CUSTOMER"));
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return tokenProvider.generateAccessToken(1L, "user@test.com", List.of("CUSTOMER"));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public JwtPrincipal parseToken() {
+        return tokenProvider.parseToken(token);
+    }
+}
@@ -0,0 +1,100 @@
+package com.carrental.benchmark;
+
+import com.carrental.dto.response.RentalResponse;
+import com.carrental.dto.response.VehicleDTO;
+import com.carrental.entity.Rental;
+import com.carrental.entity.User;
+import com.carrental.entity.Vehicle;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.TransmissionType;
+import com.carrental.entity.enums.VehicleStatus;
+import com.carrental.entity.enums.VehicleType;
+import com.carrental.mapper.RentalMapper;
+import com.carrental.mapper.VehicleMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to response mapping, run once per item on every listing endpoint
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private RentalMapper rentalMapper;
+    private VehicleMapper vehicleMapper;
+
+    private Rental rental;
+    private Vehicle vehicle;
+
+    @Setup
+    public void setUp() {
+        rentalMapper = new RentalMapper();
+        vehicleMapper = VehicleMapper.INSTANCE;
+
+        vehicle = Vehicle.builder()
+            .id(42L)
+            .licensePlate("ABC123")
+            .vin("WVWZZZ3CZ9E123456")
+            .make("Toyota")
+            .model("Camry")
+            .year(2024)
+            .color("White")
+            .transmission(TransmissionType.AUTOMATIC)
+            .dailyRate(new BigDecimal("75.00"))
+            .type(VehicleType.SEDAN)
+            .status(VehicleStatus.ACTIVE)
+            .mileage(12_000)
+            .build();
+
+        User user = User.builder()
+            .id(7L)
+            .email("user@test.com")
+            .firstName("John")
+            .lastName("Doe")
+            .build();
+
+        LocalDateTime pickup = LocalDateTime.of(2025, 6, 1, 10, 0);
+        rental = Rental.builder()
+            .id(1001L)
+            .user(user)
+            .vehicle(vehicle)
+            .pickupDate(pickup)
+            .returnDate(pickup.plusDays(5))
+            .pickupLocation("Airport")
+            .returnLocation("Downtown")
+            .dailyRate(new BigDecimal("75.00"))
+            .totalCost(new BigDecimal("375.00"))
+            .status(RentalStatus.CONFIRMED)
+            .specialRequests("Child seat")
+            .createdAt(pickup.minusDays(10))
+            .updatedAt(pickup.minusDays(9))
+            .build();
+    }
+
+    @Benchmark
+    public RentalResponse rentalToResponse() {
+        return rentalMapper.toResponse(rental);
+    }
+
+    @Benchmark
+    public VehicleDTO vehicleToDto() {
+        return vehicleMapper.toDTO(vehicle);
+    }
+}
@@ -0,0 +1,56 @@
+package com.carrental.benchmark;
+
+import com.carrental.util.PaymentUtil;
+import com.carrental.util.RentalUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BigDecimal cost math used by RentalService and PaymentService
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PaymentBenchmark {
+
+    private BigDecimal dailyRate;
+    private BigDecimal additionalFees;
+    private LocalDateTime pickupDate;
+    private LocalDateTime returnDate;
+
+    @Setup
+    public void setUp() {
+        dailyRate = new BigDecimal("74.99");
+        additionalFees = new BigDecimal("25.00");
+        pickupDate = LocalDateTime.of(2025, 6, 1, 10, 0);
+        returnDate = pickupDate.plusDays(6).plusHours(3);
+    }
+
+    @Benchmark
+    public BigDecimal rentalTotalCost() {
+        long rentalDays = RentalUtil.calculateRentalDays(pickupDate, returnDate);
+        return RentalUtil.calculateTotalCost(dailyRate, rentalDays);
+    }
+
+    @Benchmark
+    public BigDecimal invoiceTotal() {
+        BigDecimal subtotal = RentalUtil.calculateTotalCost(dailyRate, 6);
+        BigDecimal taxable = subtotal.add(additionalFees);
+        return taxable.add(PaymentUtil.calculateTaxes(taxable));
+    }
+}
@@ -0,0 +1,91 @@
+package com.carrental.benchmark;
+
+import com.carrental.util.ProfanityMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Review moderation on clean text, the common case, where every character has to be scanned.
+ * Compares the Aho-Corasick matcher with the single case-insensitive \b(...)\b alternation it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProfanityMatcherBenchmark {
+
+    private static final String SENTENCE =
+        "The car was clean and   picked up on time, the staff were friendly and the   return was quick. ";
+
+    // Dictionary entries
+    @Param({"3", "1000", "5000"})
+    private int words;
+
+    // Review body length in characters
+    @Param({"100", "2000"})
+    private int length;
+
+    private String title;
+    private String content;
+    private Pattern regex;
+    private ProfanityMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(length + SENTENCE.length());
+        while (builder.length() < length) {
+            builder.append(SENTENCE);
+        }
+        title = "Great weekend rental";
+        content = builder.substring(0, length);
+
+        List<String> dictionary = dictionary(words);
+        regex = Pattern.compile("\\b(" + String.join("|", dictionary) + ")\\b", Pattern.CASE_INSENSITIVE);
+        matcher = ProfanityMatcher.of(dictionary);
+    }
+
+    @Benchmark
+    public boolean regex() {
+        return regex.matcher(title).find() || regex.matcher(content).find();
+    }
+
+    @Benchmark
+    public boolean ahoCorasick() {
+        return matcher.matches(title, content);
+    }
+
+    // Words sharing prefixes with the review text, so both engines get partial matches to back out of
+    private static List<String> dictionary(int size) {
+        String[] stems = {"car", "clean", "the", "staff", "return", "quick", "time", "pick"};
+        List<String> dictionary = new ArrayList<>(size);
+        for (int i = 0; dictionary.size() < size; i++) {
+            dictionary.add(stems[i % stems.length] + "x" + letters(i));
+        }
+        return dictionary;
+    }
+
+    private static String letters(int n) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return letters.toString();
+    }
+}
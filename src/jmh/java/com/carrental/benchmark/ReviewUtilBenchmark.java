@@ -0,0 +1,51 @@
+package com.carrental.benchmark;
+
+import com.carrental.util.ReviewUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Review content clean-up, run on every review submission and update
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReviewUtilBenchmark {
+
+    private static final String SENTENCE =
+        "The car was clean and   picked up on time, the staff were friendly and the   return was quick. ";
+
+    // Review body length in characters
+    @Param({"100", "2000"})
+    private int length;
+
+    private String content;
+
+    @Setup
+    public void setUp() {
+        StringBuilder builder = new StringBuilder(length + SENTENCE.length());
+        while (builder.length() < length) {
+            builder.append(SENTENCE);
+        }
+        content = "  " + builder.substring(0, length) + "  ";
+    }
+
+    @Benchmark
+    public String sanitizeContent() {
+        return ReviewUtil.sanitizeContent(content);
+    }
+}
@@ -0,0 +1,40 @@
+package com.carrental.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Installs the PostgreSQL exclusion constraint that rejects overlapping bookings per vehicle.
+ * Depends on the EntityManagerFactory so the rentals table exists before the script runs.
+ */
+@Component
+@ConditionalOnProperty(name = "carrental.booking.exclusion-constraint.enabled", havingValue = "true")
+@Slf4j
+public class BookingExclusionConstraintInitializer {
+
+    private static final String SCRIPT = "db/postgres/rental-booking-exclusion.sql";
+
+    private final DataSource dataSource;
+
+    public BookingExclusionConstraintInitializer(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void install() {
+        log.info("Applying rental booking exclusion constraint");
+
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource(SCRIPT));
+        // The script contains a DO block, so it is sent as a single statement
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        populator.execute(dataSource);
+    }
+}
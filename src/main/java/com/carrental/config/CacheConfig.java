@@ -0,0 +1,76 @@
+package com.carrental.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Caffeine cache manager with a size bound, TTL and optional refresh-after-write per named cache.
+ * Each cache is configured with a Caffeine spec string under carrental.cache.specs, and statistics
+ * are recorded so Spring Boot binds hit/miss/eviction meters for every cache to the registry.
+ */
+@Configuration
+@Slf4j
+public class CacheConfig {
+
+    public static final String VEHICLES = "vehicles";
+    public static final String VEHICLE_TYPE_LISTINGS = "vehicleTypeListings";
+    public static final String VEHICLE_PRICE_LISTINGS = "vehiclePriceListings";
+    public static final String ACTIVE_VEHICLES = "activeVehicles";
+    public static final String RATINGS = "ratings";
+    public static final String RENTALS = "rentals";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${carrental.cache.specs.vehicles:maximumSize=5000,expireAfterWrite=30m}") String vehiclesSpec,
+            @Value("${carrental.cache.specs.vehicle-type-listings:maximumSize=500,expireAfterWrite=10m}") String typeListingsSpec,
+            @Value("${carrental.cache.specs.vehicle-price-listings:maximumSize=500,expireAfterWrite=10m}") String priceListingsSpec,
+            @Value("${carrental.cache.specs.active-vehicles:maximumSize=1,expireAfterWrite=5m}") String activeVehiclesSpec,
+            @Value("${carrental.cache.specs.ratings:maximumSize=10000,expireAfterWrite=1h,refreshAfterWrite=5m}") String ratingsSpec,
+            @Value("${carrental.cache.specs.rentals:maximumSize=10000,expireAfterWrite=10m}") String rentalsSpec,
+            List<RefreshingCacheLoader> loaders) {
+
+        Map<String, String> specs = new LinkedHashMap<>();
+        specs.put(VEHICLES, vehiclesSpec);
+        specs.put(VEHICLE_TYPE_LISTINGS, typeListingsSpec);
+        specs.put(VEHICLE_PRICE_LISTINGS, priceListingsSpec);
+        specs.put(ACTIVE_VEHICLES, activeVehiclesSpec);
+        specs.put(RATINGS, ratingsSpec);
+        specs.put(RENTALS, rentalsSpec);
+
+        Map<String, RefreshingCacheLoader> loadersByCache = loaders.stream()
+                .collect(Collectors.toMap(RefreshingCacheLoader::cacheName, Function.identity()));
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Caches created on demand for names not listed above
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(10, TimeUnit.MINUTES)
+                .recordStats());
+
+        specs.forEach((name, spec) -> {
+            Caffeine<Object, Object> builder = Caffeine.from(spec).recordStats();
+            RefreshingCacheLoader loader = loadersByCache.get(name);
+            if (loader != null) {
+                cacheManager.registerCustomCache(name, builder.build(loader));
+            } else {
+                // Caffeine rejects refreshAfterWrite without a loader, so a misconfiguration fails at startup
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+            log.info("Cache '{}' configured with {}", name, spec);
+        });
+
+        return cacheManager;
+    }
+}
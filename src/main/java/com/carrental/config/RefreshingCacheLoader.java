@@ -0,0 +1,15 @@
+package com.carrental.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+
+/**
+ * Reloads entries of a named cache in the background once they pass refresh-after-write.
+ * Caches configured with refreshAfterWrite need exactly one of these.
+ */
+public interface RefreshingCacheLoader extends CacheLoader<Object, Object> {
+
+    /**
+     * Name of the cache this loader refreshes
+     */
+    String cacheName();
+}
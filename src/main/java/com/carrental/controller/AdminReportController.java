@@ -4,6 +4,7 @@ import com.carrental.dto.response.RevenueReport;
 import com.carrental.dto.response.VehicleReport;
 import com.carrental.dto.response.UserReport;
 import com.carrental.service.AdminReportService;
+import com.carrental.service.ReportExportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,10 +18,15 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -34,6 +40,7 @@ import java.util.List;
 public class AdminReportController {
     
     private final AdminReportService adminReportService;
+    private final ReportExportService reportExportService;
     
     @GetMapping("/revenue")
     @Operation(summary = "Generate revenue report for a date range")
@@ -180,21 +187,82 @@ public class AdminReportController {
     }
     
     @GetMapping("/export/revenue")
-    @Operation(summary = "Export revenue report as CSV/PDF")
-    public ResponseEntity<?> exportRevenueReport(
+    @Operation(summary = "Export daily revenue as CSV")
+    public ResponseEntity<StreamingResponseBody> exportRevenueReport(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
-        @Parameter(description = "Export format: CSV or PDF")
+        @Parameter(description = "Export format; only CSV is supported")
         @RequestParam(defaultValue = "CSV") String format) {
         
         log.info("Exporting revenue report as {} from {} to {}", format, startDate, endDate);
         
-        if (!format.equalsIgnoreCase("CSV") && !format.equalsIgnoreCase("PDF")) {
-            log.warn("Invalid export format: {}", format);
-            return ResponseEntity.badRequest().body("Supported formats: CSV, PDF");
+        if (!format.equalsIgnoreCase("CSV")) {
+            log.warn("Unsupported export format: {}", format);
+            return ResponseEntity.badRequest().build();
+        }
+        if (endDate.isBefore(startDate)) {
+            log.warn("Invalid date range: end date before start date");
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return csvAttachment("revenue-" + startDate + "-" + endDate + ".csv",
+            out -> reportExportService.exportRevenue(startDate, endDate, out));
+    }
+    
+    @GetMapping("/export/payments")
+    @Operation(summary = "Export payments created in a date range as CSV")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Exporting payments from {} to {}", startDate, endDate);
+        
+        if (endDate.isBefore(startDate)) {
+            log.warn("Invalid date range: end date before start date");
+            return ResponseEntity.badRequest().build();
         }
         
-        // Implementation would generate file here
-        return ResponseEntity.ok("Export functionality would be implemented");
+        return csvAttachment("payments-" + startDate + "-" + endDate + ".csv",
+            out -> reportExportService.exportPayments(startDate, endDate, out));
+    }
+    
+    @GetMapping("/export/rentals")
+    @Operation(summary = "Export rentals created in a date range as CSV")
+    public ResponseEntity<StreamingResponseBody> exportRentals(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Exporting rentals from {} to {}", startDate, endDate);
+        
+        if (endDate.isBefore(startDate)) {
+            log.warn("Invalid date range: end date before start date");
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return csvAttachment("rentals-" + startDate + "-" + endDate + ".csv",
+            out -> reportExportService.exportRentals(startDate, endDate, out));
+    }
+    
+    @GetMapping("/export/vehicles")
+    @Operation(summary = "Export the fleet as CSV")
+    public ResponseEntity<StreamingResponseBody> exportVehicles() {
+        log.info("Exporting vehicles");
+        return csvAttachment("vehicles-" + LocalDate.now() + ".csv", reportExportService::exportVehicles);
+    }
+    
+    @GetMapping("/export/users")
+    @Operation(summary = "Export users as CSV")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        log.info("Exporting users");
+        return csvAttachment("users-" + LocalDate.now() + ".csv", reportExportService::exportUsers);
+    }
+    
+    // The body is written on an async thread after the handler returns, so rows never accumulate in memory
+    private static ResponseEntity<StreamingResponseBody> csvAttachment(String filename, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString())
+            .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+            .body(body);
     }
 }
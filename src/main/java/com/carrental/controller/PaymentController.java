@@ -2,11 +2,18 @@ package com.carrental.controller;
 
 import com.carrental.dto.request.CreatePaymentRequest;
 import com.carrental.dto.request.ProcessRefundRequest;
+import com.carrental.dto.response.CursorPage;
+import com.carrental.dto.response.InvoiceJobResponse;
 import com.carrental.dto.response.InvoiceResponse;
 import com.carrental.dto.response.PaymentResponse;
 import com.carrental.dto.response.RefundResponse;
+import com.carrental.dto.response.SettlementImportReport;
+import com.carrental.entity.enums.InvoiceJobStatus;
 import com.carrental.security.JwtTokenProvider;
+import com.carrental.service.IdempotencyService;
+import com.carrental.service.InvoiceJobService;
 import com.carrental.service.PaymentService;
+import com.carrental.service.SettlementImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -26,8 +33,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/payments")
@@ -38,6 +49,9 @@ import java.util.List;
 public class PaymentController {
     
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
+    private final SettlementImportService settlementImportService;
+    private final InvoiceJobService invoiceJobService;
     private final JwtTokenProvider jwtTokenProvider;
     
     @PostMapping
@@ -51,13 +65,39 @@ public class PaymentController {
     })
     public ResponseEntity<PaymentResponse> processPayment(
         @Valid @RequestBody CreatePaymentRequest request,
-        @RequestHeader("Authorization") String token) {
+        @RequestHeader("Authorization") String token,
+        @Parameter(description = "Client-generated key; retries with the same key return the original payment")
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         
         Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
         log.info("Processing payment for rental: {}", request.getRentalId());
         
-        PaymentResponse response = paymentService.processPayment(userId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null) {
+            PaymentResponse response = paymentService.processPayment(userId, request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        
+        IdempotencyService.Result<PaymentResponse> result = idempotencyService.execute(
+            "payments:" + userId, idempotencyKey, request, PaymentResponse.class,
+            () -> paymentService.processPayment(userId, request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+            .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+            .body(result.response());
+    }
+    
+    @PostMapping(value = "/settlements", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import captured payments from a processor settlement file",
+               description = "CSV with a header row: transactionId, rentalId, amount, paymentMethod, " +
+                   "optional capturedAt (ISO date-time) and description. Returns a reconciliation report.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "File processed, see the reconciliation report"),
+        @ApiResponse(responseCode = "400", description = "Missing or incomplete CSV header")
+    })
+    public ResponseEntity<SettlementImportReport> importSettlement(InputStream body) throws IOException {
+        log.info("Importing payment settlement file");
+        
+        return ResponseEntity.ok(settlementImportService.importSettlement(body));
     }
     
     @GetMapping("/{id}")
@@ -99,6 +139,21 @@ public class PaymentController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/user/history/cursor")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Get payment history for current user, newest first, using a continuation cursor")
+    public ResponseEntity<CursorPage<PaymentResponse>> getUserPaymentHistoryByCursor(
+        @Parameter(description = "nextCursor from the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestHeader("Authorization") String token) {
+        
+        Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+        
+        CursorPage<PaymentResponse> response = paymentService.getUserPayments(userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @PostMapping("/{id}/refund")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Request refund for a payment")
@@ -118,17 +173,53 @@ public class PaymentController {
     
     @GetMapping("/rental/{rentalId}/invoice")
     @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
-    @Operation(summary = "Get invoice for a rental")
+    @Operation(summary = "Get invoice for a rental",
+               description = "Invoices are generated in the background once a rental completes")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Invoice found or generated"),
-        @ApiResponse(responseCode = "404", description = "Rental not found")
+        @ApiResponse(responseCode = "200", description = "Invoice found"),
+        @ApiResponse(responseCode = "202", description = "Invoice is being generated, poll the Location"),
+        @ApiResponse(responseCode = "404", description = "No invoice has been requested for the rental")
     })
-    public ResponseEntity<InvoiceResponse> generateInvoice(
+    public ResponseEntity<InvoiceResponse> getInvoice(
         @Parameter(description = "Rental ID") @PathVariable Long rentalId) {
         
-        log.info("Generating invoice for rental: {}", rentalId);
-        InvoiceResponse response = paymentService.generateInvoice(rentalId);
-        return ResponseEntity.ok(response);
+        Optional<InvoiceResponse> invoice = paymentService.findInvoice(rentalId);
+        if (invoice.isPresent()) {
+            return ResponseEntity.ok(invoice.get());
+        }
+        
+        Optional<InvoiceJobResponse> job = invoiceJobService.getStatus(rentalId);
+        if (job.isPresent() && job.get().getStatus() != InvoiceJobStatus.FAILED) {
+            return ResponseEntity.accepted()
+                .location(URI.create("/payments/rental/" + rentalId + "/invoice/status"))
+                .build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+    
+    @GetMapping("/rental/{rentalId}/invoice/status")
+    @PreAuthorize("hasAnyRole('CUSTOMER', 'ADMIN')")
+    @Operation(summary = "Get the status of a rental's invoice generation")
+    public ResponseEntity<InvoiceJobResponse> getInvoiceStatus(
+        @Parameter(description = "Rental ID") @PathVariable Long rentalId) {
+        
+        return invoiceJobService.getStatus(rentalId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+    
+    @PostMapping("/rental/{rentalId}/invoice")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Queue invoice generation for a rental (Admin only)",
+               description = "Also retries an invoice whose generation failed")
+    public ResponseEntity<InvoiceJobResponse> requestInvoice(
+        @Parameter(description = "Rental ID") @PathVariable Long rentalId) {
+        
+        log.info("Queueing invoice for rental: {}", rentalId);
+        InvoiceJobResponse response = invoiceJobService.requestInvoice(rentalId);
+        return ResponseEntity.accepted()
+            .location(URI.create("/payments/rental/" + rentalId + "/invoice/status"))
+            .body(response);
     }
     
     @GetMapping("/rental/{rentalId}/total-cost")
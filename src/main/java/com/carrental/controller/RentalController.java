@@ -2,6 +2,7 @@ package com.carrental.controller;
 
 import com.carrental.dto.request.CreateRentalRequest;
 import com.carrental.dto.request.UpdateRentalRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.RentalResponse;
 import com.carrental.entity.enums.RentalStatus;
 import com.carrental.security.JwtTokenProvider;
@@ -84,6 +85,21 @@ public class RentalController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/user/rentals/cursor")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    @Operation(summary = "Get rentals for current user, newest first, using a continuation cursor")
+    public ResponseEntity<CursorPage<RentalResponse>> getUserRentalsByCursor(
+        @Parameter(description = "nextCursor from the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size,
+        @RequestHeader("Authorization") String token) {
+        
+        Long userId = jwtTokenProvider.getUserIdFromToken(token.substring(7));
+        
+        CursorPage<RentalResponse> response = rentalService.getUserRentals(userId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/user/rentals/status/{status}")
     @PreAuthorize("hasRole('CUSTOMER')")
     @Operation(summary = "Get rentals by status for current user")
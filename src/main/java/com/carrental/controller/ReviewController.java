@@ -2,6 +2,7 @@ package com.carrental.controller;
 
 import com.carrental.dto.request.CreateReviewRequest;
 import com.carrental.dto.request.UpdateReviewRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.RatingDistribution;
 import com.carrental.dto.response.ReviewResponse;
 import com.carrental.security.JwtTokenProvider;
@@ -70,6 +71,18 @@ public class ReviewController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/vehicle/{vehicleId}/cursor")
+    @Operation(summary = "Get reviews for a vehicle, newest first, using a continuation cursor")
+    public ResponseEntity<CursorPage<ReviewResponse>> getVehicleReviewsByCursor(
+        @Parameter(description = "Vehicle ID") @PathVariable Long vehicleId,
+        @Parameter(description = "nextCursor from the previous page; omit for the first page")
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "10") int size) {
+        
+        CursorPage<ReviewResponse> response = reviewService.getVehicleReviews(vehicleId, cursor, size);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/vehicle/{vehicleId}/helpful")
     @Operation(summary = "Get most helpful reviews for a vehicle")
     public ResponseEntity<Page<ReviewResponse>> getMostHelpfulReviews(
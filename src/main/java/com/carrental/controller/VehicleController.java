@@ -3,8 +3,11 @@ package com.carrental.controller;
 
 import com.carrental.dto.request.CreateVehicleRequest;
 import com.carrental.dto.request.UpdateVehicleRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.VehicleDTO;
+import com.carrental.dto.response.VehicleImportReport;
 import com.carrental.service.VehicleService;
+import com.carrental.util.VehicleCsvParser;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,16 +20,21 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -43,6 +51,9 @@ public class VehicleController {
     @Autowired
     private VehicleService vehicleService;
 
+    @Value("${carrental.vehicles.import.max-rows:10000}")
+    private int importMaxRows;
+
     /**
      * Get all vehicles with pagination
      * GET /vehicles
@@ -83,6 +94,46 @@ public class VehicleController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get vehicles by cursor
+     * Keyset pagination ordered by ID; cost does not grow with depth and no total count is computed
+     * 
+     * @param cursor Cursor from the previous page
+     * @param size Page size
+     * @return Vehicles with the cursor of the next page
+     */
+    @GetMapping("/cursor")
+    @Operation(
+            summary = "Get vehicles by cursor",
+            description = "Retrieve vehicles ordered by ID using a continuation cursor instead of page numbers"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vehicles retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
+    })
+    public ResponseEntity<Map<String, Object>> getVehiclesByCursor(
+            @Parameter(description = "nextCursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+
+        logger.info("Get vehicles by cursor request: cursor={}, size={}", cursor, size);
+
+        CursorPage<VehicleDTO> vehiclesPage = vehicleService.getAllVehicles(cursor, size);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("code", "VEHICLES_RETRIEVED");
+        response.put("message", "Vehicles retrieved successfully");
+        response.put("data", vehiclesPage.getItems());
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("pageSize", vehiclesPage.getSize());
+        pagination.put("hasMore", vehiclesPage.getHasMore());
+        pagination.put("nextCursor", vehiclesPage.getNextCursor());
+        response.put("pagination", pagination);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get vehicle by ID
      * GET /vehicles/{id}
@@ -144,6 +195,62 @@ public class VehicleController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Import vehicles in bulk from a JSON array (Admin only)
+     * POST /vehicles/bulk
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Bulk import vehicles",
+            description = "Create many vehicles from a JSON array and report the outcome of each row (Admin only)"
+    )
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see per-row results"),
+            @ApiResponse(responseCode = "400", description = "Too many rows")
+    })
+    public ResponseEntity<Map<String, Object>> importVehicles(
+            @RequestBody List<CreateVehicleRequest> requests) {
+
+        logger.info("Bulk vehicle import request: rows={}", requests.size());
+
+        return importResponse(vehicleService.importVehicles(requests));
+    }
+
+    /**
+     * Import vehicles in bulk from CSV (Admin only)
+     * POST /vehicles/bulk
+     */
+    @PostMapping(value = "/bulk", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Bulk import vehicles from CSV",
+            description = "Create many vehicles from a CSV body with a header row and report the outcome of each row (Admin only)"
+    )
+    @SecurityRequirement(name = "Bearer Token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import processed, see per-row results"),
+            @ApiResponse(responseCode = "400", description = "Missing or incomplete CSV header, or too many rows")
+    })
+    public ResponseEntity<Map<String, Object>> importVehiclesCsv(InputStream body) throws IOException {
+
+        List<VehicleCsvParser.ParsedRow> rows = VehicleCsvParser.parse(body, importMaxRows);
+        logger.info("Bulk vehicle CSV import request: rows={}", rows.size());
+
+        return importResponse(vehicleService.importCsvRows(rows));
+    }
+
+    private ResponseEntity<Map<String, Object>> importResponse(VehicleImportReport report) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("code", "VEHICLES_IMPORTED");
+        response.put("message", report.getCreatedCount() + " of " + report.getTotalRows() + " vehicles imported");
+        response.put("data", report);
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Update vehicle (Admin only)
      * PUT /vehicles/{id}
@@ -0,0 +1,51 @@
+package com.carrental.dto.response;
+
+import com.carrental.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor Page DTO
+ * One page of a keyset listing; pass nextCursor back to fetch the following page.
+ * No total count is returned, since computing it costs as much as the page itself.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> items;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor;
+
+    /**
+     * Page size to use for a requested size, limited to 1..MAX_SIZE
+     */
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    /**
+     * Build a page from rows fetched with a limit of size + 1; the extra row only signals that more follow
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, PageCursor> cursorOf, Function<E, T> mapper) {
+        boolean hasMore = rows.size() > size;
+        List<E> page = hasMore ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+            .items(page.stream().map(mapper).toList())
+            .size(page.size())
+            .hasMore(hasMore)
+            .nextCursor(hasMore ? cursorOf.apply(page.get(page.size() - 1)).encode() : null)
+            .build();
+    }
+}
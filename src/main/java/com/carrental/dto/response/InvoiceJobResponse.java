@@ -0,0 +1,23 @@
+package com.carrental.dto.response;
+
+import com.carrental.entity.enums.InvoiceJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceJobResponse {
+    
+    private Long rentalId;
+    private InvoiceJobStatus status;
+    private Integer attempts;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -19,6 +19,30 @@ public class RatingDistribution {
     private Long threeStarCount;
     private Long twoStarCount;
     private Long oneStarCount;
+    private Double averageVehicleConditionRating;
+    private Double averageCleanlinessRating;
+    private Double averagePickupProcessRating;
+    private Double averageReturnProcessRating;
+    
+    /**
+     * Distribution of a vehicle with no approved reviews
+     */
+    public static RatingDistribution empty(Long vehicleId) {
+        return RatingDistribution.builder()
+            .vehicleId(vehicleId)
+            .averageRating(0.0)
+            .totalReviews(0L)
+            .fiveStarCount(0L)
+            .fourStarCount(0L)
+            .threeStarCount(0L)
+            .twoStarCount(0L)
+            .oneStarCount(0L)
+            .averageVehicleConditionRating(0.0)
+            .averageCleanlinessRating(0.0)
+            .averagePickupProcessRating(0.0)
+            .averageReturnProcessRating(0.0)
+            .build();
+    }
     
     public Double getFiveStarPercentage() {
         return totalReviews > 0 ? (fiveStarCount * 100.0) / totalReviews : 0.0;
@@ -14,6 +14,7 @@ import java.time.LocalDateTime;
 @Builder
 public class ReviewResponse {
     
+    // Field order defines the all-args constructor used by ReviewRepository.RESPONSE_SELECT
     private Long id;
     private Long vehicleId;
     private String vehicleMakeModel;
@@ -0,0 +1,53 @@
+package com.carrental.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Settlement Import Report DTO
+ * Reconciliation of a processor settlement file against rentals and recorded payments.
+ * Totals cover every row; only rows that were not recorded are listed individually.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementImportReport {
+
+    private Integer totalRows;
+    private Integer createdCount;
+    private Integer duplicateCount;
+    private Integer rejectedCount;
+    private BigDecimal settledAmount;
+    private BigDecimal createdAmount;
+    private Long elapsedMillis;
+    private Long rowsPerSecond;
+    private List<Discrepancy> discrepancies;
+
+    public enum Outcome {
+        // Transaction ID already recorded, e.g. paid through POST /payments or a previous import
+        DUPLICATE,
+        REJECTED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Discrepancy {
+
+        // 1-based record number in the file, header excluded
+        private Integer row;
+        private String transactionId;
+        private Long rentalId;
+        private BigDecimal settledAmount;
+        private BigDecimal expectedAmount;
+        private Outcome outcome;
+        private String reason;
+    }
+}
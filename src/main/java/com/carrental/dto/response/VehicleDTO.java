@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
  * Contains vehicle information for API responses
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class VehicleDTO {
@@ -47,6 +47,12 @@ public class VehicleDTO {
 
     private Integer mileage;
 
+    @JsonProperty("average_rating")
+    private Double averageRating;
+
+    @JsonProperty("review_count")
+    private Long reviewCount;
+
     @JsonProperty("created_at")
     private LocalDateTime createdAt;
 
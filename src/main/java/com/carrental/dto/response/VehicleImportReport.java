@@ -0,0 +1,44 @@
+package com.carrental.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Vehicle Import Report DTO
+ * Outcome of a bulk vehicle import, one result per submitted row
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleImportReport {
+
+    private Integer totalRows;
+    private Integer createdCount;
+    private Integer rejectedCount;
+    private List<RowResult> rows;
+
+    public enum RowStatus {
+        CREATED,
+        REJECTED
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class RowResult {
+
+        // 1-based position in the submitted array or CSV body, header excluded
+        private Integer row;
+        private String licensePlate;
+        private String vin;
+        private RowStatus status;
+        private Long vehicleId;
+        private List<String> errors;
+    }
+}
@@ -0,0 +1,46 @@
+package com.carrental.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Payment and refund totals for one calendar day, kept current as payments and refunds are recorded
+ */
+@Entity
+@Table(name = "daily_revenue_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DailyRevenueRollup {
+    
+    @Id
+    @Column(name = "revenue_date")
+    private LocalDate revenueDate;
+    
+    @Column(name = "gross_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal grossRevenue;
+    
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+    
+    @Column(name = "refund_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal refundAmount;
+    
+    @Column(name = "refund_count", nullable = false)
+    private Long refundCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    public BigDecimal getNetRevenue() {
+        return grossRevenue.subtract(refundAmount);
+    }
+}
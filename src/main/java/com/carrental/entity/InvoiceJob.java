@@ -0,0 +1,56 @@
+package com.carrental.entity;
+
+import com.carrental.entity.enums.InvoiceJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Queued request to generate a rental's invoice, one per rental.
+ * Workers claim PENDING jobs whose available_at has passed; a PROCESSING job whose lease has
+ * run out belonged to a worker that stopped and is claimed again.
+ */
+@Entity
+@Table(name = "invoice_jobs", indexes = {
+    @Index(name = "idx_invoice_jobs_rental", columnList = "rental_id", unique = true),
+    @Index(name = "idx_invoice_jobs_status_available", columnList = "status, available_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceJob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "rental_id", nullable = false)
+    private Long rentalId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private InvoiceJobStatus status;
+    
+    @Column(nullable = false)
+    private Integer attempts;
+    
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+    
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+    
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
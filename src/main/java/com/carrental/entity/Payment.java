@@ -18,7 +18,8 @@ import org.springframework.data.annotation.Version;
     @Index(name = "idx_status", columnList = "status"),
     @Index(name = "idx_created_at", columnList = "created_at"),
     @Index(name = "idx_user_id", columnList = "user_id"),
-    @Index(name = "idx_transaction_id", columnList = "transaction_id", unique = true)
+    @Index(name = "idx_transaction_id", columnList = "transaction_id", unique = true),
+    @Index(name = "idx_payments_user_created", columnList = "user_id, created_at, id")
 })
 @Data
 @Builder
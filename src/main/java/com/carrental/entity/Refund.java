@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 @Table(name = "refunds", indexes = {
     @Index(name = "idx_payment_id", columnList = "payment_id"),
     @Index(name = "idx_rental_id_refund", columnList = "rental_id"),
-    @Index(name = "idx_refund_status", columnList = "status")
+    @Index(name = "idx_refund_status", columnList = "status"),
+    @Index(name = "idx_refund_status_claimed", columnList = "status, claimed_until")
 })
 @Data
 @NoArgsConstructor
@@ -45,6 +46,24 @@ public class Refund {
     @Column(length = 500)
     private String reason;
     
+    // Gateway calls made so far; the refund worker retries until max-attempts
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+    
+    // Lease of the worker processing the refund, or the earliest retry of an INITIATED one
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+    
+    @Column(name = "gateway_reference", length = 100)
+    private String gatewayReference;
+    
+    @Column(name = "failure_reason", length = 500)
+    private String failureReason;
+    
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+    
     @CreatedAt
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
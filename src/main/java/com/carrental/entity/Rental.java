@@ -15,7 +15,8 @@ import org.springframework.data.annotation.CreatedAt;
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_vehicle_id", columnList = "vehicle_id"),
     @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_dates", columnList = "pickup_date, return_date")
+    @Index(name = "idx_dates", columnList = "pickup_date, return_date"),
+    @Index(name = "idx_rentals_user_created", columnList = "user_id, created_at, id")
 })
 @Data
 @Builder
@@ -13,7 +13,8 @@ import com.carrental.entity.enums.ReviewStatus;
     @Index(name = "idx_status", columnList = "status"),    
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_rental_id", columnList = "rental_id"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_reviews_vehicle_status_created", columnList = "vehicle_id, status, created_at, id")
 })
 @Data
 @Builder
@@ -73,10 +74,11 @@ public class Review extends BaseEntity {
     @Column(name = "return_process_rating")
     private Integer returnProcessRating;
     
-    @Column(nullable = false, name = "helpful_count")
+    // Vote counts are only written by ReviewVoteAccumulator's relative updates, never by entity saves
+    @Column(nullable = false, name = "helpful_count", updatable = false)
     private Long helpfulCount;
     
-    @Column(nullable = false)
+    @Column(nullable = false, updatable = false)
     private Long unhelpfulCount;
     
     @Column(length = 500)
@@ -25,7 +25,8 @@ import java.util.Set;
 public class Vehicle extends BaseEntity {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vehicle_seq")
+    @SequenceGenerator(name = "vehicle_seq", sequenceName = "vehicles_id_seq", allocationSize = 50)
     private Long id;
     
     @Column(unique = true, nullable = false, length = 50)
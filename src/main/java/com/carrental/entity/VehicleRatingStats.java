@@ -0,0 +1,129 @@
+package com.carrental.entity;
+
+import com.carrental.dto.response.RatingDistribution;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of one vehicle's approved reviews: rating sum and count, a histogram per star,
+ * and a sum and count per aspect rating (aspects are optional on a review, so each has its own count)
+ */
+@Entity
+@Table(name = "vehicle_rating_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VehicleRatingStats {
+    
+    @Id
+    @Column(name = "vehicle_id")
+    private Long vehicleId;
+    
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+    
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+    
+    @Column(name = "one_star_count", nullable = false)
+    private long oneStarCount;
+    
+    @Column(name = "two_star_count", nullable = false)
+    private long twoStarCount;
+    
+    @Column(name = "three_star_count", nullable = false)
+    private long threeStarCount;
+    
+    @Column(name = "four_star_count", nullable = false)
+    private long fourStarCount;
+    
+    @Column(name = "five_star_count", nullable = false)
+    private long fiveStarCount;
+    
+    @Column(name = "vehicle_condition_sum", nullable = false)
+    private long vehicleConditionSum;
+    
+    @Column(name = "vehicle_condition_count", nullable = false)
+    private long vehicleConditionCount;
+    
+    @Column(name = "cleanliness_sum", nullable = false)
+    private long cleanlinessSum;
+    
+    @Column(name = "cleanliness_count", nullable = false)
+    private long cleanlinessCount;
+    
+    @Column(name = "pickup_process_sum", nullable = false)
+    private long pickupProcessSum;
+    
+    @Column(name = "pickup_process_count", nullable = false)
+    private long pickupProcessCount;
+    
+    @Column(name = "return_process_sum", nullable = false)
+    private long returnProcessSum;
+    
+    @Column(name = "return_process_count", nullable = false)
+    private long returnProcessCount;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    /**
+     * Add (sign 1) or remove (sign -1) one review's ratings
+     */
+    public void apply(int rating, Integer vehicleCondition, Integer cleanliness,
+                      Integer pickupProcess, Integer returnProcess, int sign) {
+        reviewCount += sign;
+        ratingSum += (long) sign * rating;
+        switch (rating) {
+            case 1 -> oneStarCount += sign;
+            case 2 -> twoStarCount += sign;
+            case 3 -> threeStarCount += sign;
+            case 4 -> fourStarCount += sign;
+            case 5 -> fiveStarCount += sign;
+            default -> throw new IllegalArgumentException("Rating out of range: " + rating);
+        }
+        if (vehicleCondition != null) {
+            vehicleConditionSum += (long) sign * vehicleCondition;
+            vehicleConditionCount += sign;
+        }
+        if (cleanliness != null) {
+            cleanlinessSum += (long) sign * cleanliness;
+            cleanlinessCount += sign;
+        }
+        if (pickupProcess != null) {
+            pickupProcessSum += (long) sign * pickupProcess;
+            pickupProcessCount += sign;
+        }
+        if (returnProcess != null) {
+            returnProcessSum += (long) sign * returnProcess;
+            returnProcessCount += sign;
+        }
+    }
+    
+    public RatingDistribution toDistribution() {
+        return RatingDistribution.builder()
+            .vehicleId(vehicleId)
+            .averageRating(average(ratingSum, reviewCount))
+            .totalReviews(reviewCount)
+            .fiveStarCount(fiveStarCount)
+            .fourStarCount(fourStarCount)
+            .threeStarCount(threeStarCount)
+            .twoStarCount(twoStarCount)
+            .oneStarCount(oneStarCount)
+            .averageVehicleConditionRating(average(vehicleConditionSum, vehicleConditionCount))
+            .averageCleanlinessRating(average(cleanlinessSum, cleanlinessCount))
+            .averagePickupProcessRating(average(pickupProcessSum, pickupProcessCount))
+            .averageReturnProcessRating(average(returnProcessSum, returnProcessCount))
+            .build();
+    }
+    
+    private static double average(long sum, long count) {
+        return count > 0 ? (double) sum / count : 0.0;
+    }
+}
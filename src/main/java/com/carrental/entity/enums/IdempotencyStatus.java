@@ -0,0 +1,16 @@
+package com.carrental.entity.enums;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS("Request is being processed"),
+    COMPLETED("Response stored");
+    
+    private final String description;
+    
+    IdempotencyStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,18 @@
+package com.carrental.entity.enums;
+
+public enum InvoiceJobStatus {
+    PENDING("Waiting for a worker"),
+    PROCESSING("Invoice is being generated"),
+    COMPLETED("Invoice generated"),
+    FAILED("Gave up after repeated failures");
+    
+    private final String description;
+    
+    InvoiceJobStatus(String description) {
+        this.description = description;
+    }
+    
+    public String getDescription() {
+        return description;
+    }
+}
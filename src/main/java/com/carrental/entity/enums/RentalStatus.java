@@ -16,4 +16,11 @@ public enum RentalStatus {
     public String getDescription() {
         return description;
     }
+    
+    /**
+     * Whether a rental in this status holds the vehicle for its booking window
+     */
+    public boolean isBlocking() {
+        return this == PENDING || this == CONFIRMED || this == ACTIVE;
+    }
 }
@@ -0,0 +1,11 @@
+package com.carrental.exception;
+
+public class IdempotencyException extends RuntimeException {
+    public IdempotencyException(String message) {
+        super(message);
+    }
+    
+    public IdempotencyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
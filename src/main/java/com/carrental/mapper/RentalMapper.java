@@ -2,6 +2,7 @@ package com.carrental.mapper;
 
 import com.carrental.dto.response.RentalResponse;
 import com.carrental.entity.Rental;
+import com.carrental.repository.RentalSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -37,4 +38,32 @@ public class RentalMapper {
             .updatedAt(rental.getUpdatedAt())
             .build();
     }
-}
\ No newline at end of file
+    
+    /**
+     * Map a listing projection; produces the same response as the entity without loading its associations
+     */
+    public RentalResponse toResponse(RentalSummary rental) {
+        if (rental == null) {
+            return null;
+        }
+        
+        return RentalResponse.builder()
+            .id(rental.getId())
+            .userId(rental.getUserId())
+            .vehicleId(rental.getVehicleId())
+            .vehicleMakeModel(rental.getVehicleMake() + " " + rental.getVehicleModel())
+            .pickupDate(rental.getPickupDate())
+            .returnDate(rental.getReturnDate())
+            .pickupLocation(rental.getPickupLocation())
+            .returnLocation(rental.getReturnLocation())
+            .dailyRate(rental.getDailyRate())
+            .totalCost(rental.getTotalCost())
+            .additionalFees(rental.getAdditionalFees())
+            .status(rental.getStatus())
+            .specialRequests(rental.getSpecialRequests())
+            .rentalDays(ChronoUnit.DAYS.between(rental.getPickupDate(), rental.getReturnDate()))
+            .createdAt(rental.getCreatedAt())
+            .updatedAt(rental.getUpdatedAt())
+            .build();
+    }
+}
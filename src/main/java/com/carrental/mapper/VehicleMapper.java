@@ -3,6 +3,7 @@ package com.carrental.mapper;
 import com.carrental.dto.response.VehicleDTO;
 import com.carrental.entity.Vehicle;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 /**
@@ -20,6 +21,8 @@ public interface VehicleMapper {
      * @param vehicle Vehicle entity
      * @return VehicleDTO
      */
+    @Mapping(target = "averageRating", ignore = true)
+    @Mapping(target = "reviewCount", ignore = true)
     VehicleDTO toDTO(Vehicle vehicle);
 
     /**
@@ -0,0 +1,64 @@
+package com.carrental.repository;
+
+import com.carrental.entity.DailyRevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailyRevenueRollupRepository extends JpaRepository<DailyRevenueRollup, LocalDate> {
+    
+    List<DailyRevenueRollup> findByRevenueDateBetweenOrderByRevenueDate(LocalDate startDate, LocalDate endDate);
+    
+    /**
+     * Add deltas to a day's totals; returns 0 if the day has no row yet
+     */
+    @Modifying
+    @Query(value = "UPDATE daily_revenue_rollup SET gross_revenue = gross_revenue + :grossRevenue, " +
+                   "payment_count = payment_count + :paymentCount, refund_amount = refund_amount + :refundAmount, " +
+                   "refund_count = refund_count + :refundCount, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE revenue_date = :date",
+           nativeQuery = true)
+    int addTotals(@Param("date") LocalDate date, @Param("grossRevenue") BigDecimal grossRevenue,
+                  @Param("paymentCount") long paymentCount, @Param("refundAmount") BigDecimal refundAmount,
+                  @Param("refundCount") long refundCount);
+    
+    /**
+     * Create an all-zero row for the day unless a concurrent transaction already did
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_revenue_rollup " +
+                   "(revenue_date, gross_revenue, payment_count, refund_amount, refund_count, updated_at) " +
+                   "VALUES (:date, 0, 0, 0, 0, CURRENT_TIMESTAMP) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertEmptyDay(@Param("date") LocalDate date);
+    
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM DailyRevenueRollup d WHERE d.revenueDate BETWEEN :startDate AND :endDate")
+    int deleteRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+    
+    /**
+     * Per day: (date, amount, count) of payments that were taken, including ones later refunded
+     */
+    @Query(value = "SELECT CAST(p.created_at AS DATE), SUM(p.amount), COUNT(*) FROM payments p " +
+                   "WHERE p.status IN ('COMPLETED', 'REFUNDED', 'PARTIALLY_REFUNDED') " +
+                   "AND p.created_at >= :from AND p.created_at < :to GROUP BY CAST(p.created_at AS DATE)",
+           nativeQuery = true)
+    List<Object[]> sumPaymentsByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    /**
+     * Per day: (date, amount, count) of refunds that were not rejected or failed
+     */
+    @Query(value = "SELECT CAST(r.created_at AS DATE), SUM(r.amount), COUNT(*) FROM refunds r " +
+                   "WHERE r.status NOT IN ('FAILED', 'REJECTED') " +
+                   "AND r.created_at >= :from AND r.created_at < :to GROUP BY CAST(r.created_at AS DATE)",
+           nativeQuery = true)
+    List<Object[]> sumRefundsByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
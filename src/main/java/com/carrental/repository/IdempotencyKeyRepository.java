@@ -0,0 +1,54 @@
+package com.carrental.repository;
+
+import com.carrental.entity.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+    
+    /**
+     * Claim a new key; returns 0 if the key already has a row
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, status, claimed_at, expires_at) " +
+                   "VALUES (:key, :requestHash, 'IN_PROGRESS', :now, :expiresAt) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertClaim(@Param("key") String key, @Param("requestHash") String requestHash,
+                    @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    /**
+     * Take over a key whose row has expired, or whose claim was abandoned by a node that stopped mid-request
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET request_hash = :requestHash, status = 'IN_PROGRESS', " +
+                   "response_body = NULL, claimed_at = :now, expires_at = :expiresAt " +
+                   "WHERE idempotency_key = :key AND (expires_at < :now " +
+                   "OR (status = 'IN_PROGRESS' AND claimed_at < :staleBefore))",
+           nativeQuery = true)
+    int reclaim(@Param("key") String key, @Param("requestHash") String requestHash, @Param("now") LocalDateTime now,
+                @Param("staleBefore") LocalDateTime staleBefore, @Param("expiresAt") LocalDateTime expiresAt);
+    
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status = 'COMPLETED', response_body = :responseBody " +
+                   "WHERE idempotency_key = :key AND status = 'IN_PROGRESS'",
+           nativeQuery = true)
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody);
+    
+    /**
+     * Drop a claim whose request failed, so the client can retry with the same key
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE idempotency_key = :key AND status = 'IN_PROGRESS'",
+           nativeQuery = true)
+    int release(@Param("key") String key);
+    
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,80 @@
+package com.carrental.repository;
+
+import com.carrental.entity.InvoiceJob;
+import com.carrental.entity.enums.InvoiceJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InvoiceJobRepository extends JpaRepository<InvoiceJob, Long> {
+    
+    Optional<InvoiceJob> findByRentalId(Long rentalId);
+    
+    /**
+     * Queue a job for a rental; returns 0 if the rental already has one
+     */
+    @Modifying
+    @Query(value = "INSERT INTO invoice_jobs (rental_id, status, attempts, available_at, created_at, updated_at) " +
+                   "VALUES (:rentalId, 'PENDING', 0, :now, :now, :now) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("rentalId") Long rentalId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Put a job that gave up back in the queue
+     */
+    @Modifying
+    @Query("UPDATE InvoiceJob j SET j.status = com.carrental.entity.enums.InvoiceJobStatus.PENDING, " +
+           "j.attempts = 0, j.availableAt = :now, j.updatedAt = :now " +
+           "WHERE j.rentalId = :rentalId AND j.status = com.carrental.entity.enums.InvoiceJobStatus.FAILED")
+    int requeueFailed(@Param("rentalId") Long rentalId, @Param("now") LocalDateTime now);
+    
+    /**
+     * Lock up to limit runnable jobs, oldest first: PENDING ones that are due and PROCESSING ones whose
+     * lease ran out with attempts to spare. Rows locked by another worker's claim are skipped rather than
+     * waited for, so concurrent workers take disjoint batches.
+     */
+    @Query(value = "SELECT id FROM invoice_jobs " +
+                   "WHERE (status = 'PENDING' AND available_at <= :now) " +
+                   "OR (status = 'PROCESSING' AND locked_until < :now AND attempts < :maxAttempts) " +
+                   "ORDER BY available_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockRunnable(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                            @Param("limit") int limit);
+    
+    /**
+     * Fail PROCESSING jobs whose lease ran out on their last allowed attempt
+     */
+    @Modifying
+    @Query("UPDATE InvoiceJob j SET j.status = com.carrental.entity.enums.InvoiceJobStatus.FAILED, " +
+           "j.lastError = :lastError, j.lockedUntil = NULL, j.updatedAt = :now " +
+           "WHERE j.status = com.carrental.entity.enums.InvoiceJobStatus.PROCESSING " +
+           "AND j.lockedUntil < :now AND j.attempts >= :maxAttempts")
+    int failAbandoned(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                      @Param("lastError") String lastError);
+    
+    @Modifying
+    @Query("UPDATE InvoiceJob j SET j.status = com.carrental.entity.enums.InvoiceJobStatus.PROCESSING, " +
+           "j.attempts = j.attempts + 1, j.lockedUntil = :lockedUntil, j.updatedAt = :now WHERE j.id IN :ids")
+    int markProcessing(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+                       @Param("lockedUntil") LocalDateTime lockedUntil);
+    
+    /**
+     * Record the outcome of an attempt; a no-op if the job's lease was lost to another worker meanwhile
+     */
+    @Modifying
+    @Query("UPDATE InvoiceJob j SET j.status = :status, j.lastError = :lastError, j.availableAt = :availableAt, " +
+           "j.lockedUntil = NULL, j.updatedAt = :now " +
+           "WHERE j.id = :id AND j.status = com.carrental.entity.enums.InvoiceJobStatus.PROCESSING " +
+           "AND j.attempts = :attempts")
+    int finish(@Param("id") Long id, @Param("attempts") Integer attempts, @Param("status") InvoiceJobStatus status,
+               @Param("lastError") String lastError, @Param("availableAt") LocalDateTime availableAt,
+               @Param("now") LocalDateTime now);
+}
@@ -2,6 +2,8 @@ package com.carrental.repository;
 
 import com.carrental.entity.Invoice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,5 +13,11 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     Optional<Invoice> findByRentalId(Long rentalId);
     
+    /**
+     * Invoice with the rental and vehicle the response needs, in one query
+     */
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.rental r JOIN FETCH r.vehicle WHERE r.id = :rentalId")
+    Optional<Invoice> findWithRentalByRentalId(@Param("rentalId") Long rentalId);
+    
     Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
 }
@@ -0,0 +1,31 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.PaymentMethod;
+import com.carrental.entity.enums.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Payment columns written by the CSV export
+ */
+public interface PaymentExportRow {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    Long getRentalId();
+
+    Long getUserId();
+
+    BigDecimal getAmount();
+
+    BigDecimal getRefundedAmount();
+
+    PaymentMethod getPaymentMethod();
+
+    PaymentStatus getStatus();
+
+    String getTransactionId();
+}
@@ -2,16 +2,21 @@ package com.carrental.repository;
 
 import com.carrental.entity.Payment;
 import com.carrental.entity.enums.PaymentStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
@@ -22,6 +27,18 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Page<Payment> findByUserId(Long userId, Pageable pageable);
     
+    // Keyset pages, newest first; the pageable only carries the limit, so no count query is issued
+    @Query("SELECT p FROM Payment p WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findFirstPageByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query("SELECT p FROM Payment p WHERE p.user.id = :userId " +
+           "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Payment> findPageByUserIdAfter(@Param("userId") Long userId,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable limit);
+    
     List<Payment> findByStatus(PaymentStatus status);
     
     @Query("SELECT p FROM Payment p WHERE p.rental.id = :rentalId AND p.status = :status")
@@ -36,4 +53,38 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     @Query("SELECT p FROM Payment p WHERE p.status IN ('PENDING', 'FAILED') AND p.createdAt < :expirationTime")
     List<Payment> findExpiredPendingPayments(@Param("expirationTime") LocalDateTime expirationTime);
-}
\ No newline at end of file
+    
+    /**
+     * Per status: (status, count, amount since monthStart, count since monthStart, amount since dayStart)
+     */
+    @Query("SELECT p.status, COUNT(p), " +
+           "COALESCE(SUM(CASE WHEN p.createdAt >= :monthStart THEN p.amount ELSE 0 END), 0), " +
+           "SUM(CASE WHEN p.createdAt >= :monthStart THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(CASE WHEN p.createdAt >= :dayStart THEN p.amount ELSE 0 END), 0) " +
+           "FROM Payment p GROUP BY p.status")
+    List<Object[]> summarizeByStatus(@Param("monthStart") LocalDateTime monthStart,
+                                     @Param("dayStart") LocalDateTime dayStart);
+    
+    @Query("SELECT p.status, COUNT(p) FROM Payment p GROUP BY p.status")
+    List<Object[]> countGroupedByStatus();
+    
+    @Query("SELECT p.transactionId FROM Payment p WHERE p.transactionId IN :transactionIds")
+    List<String> findExistingTransactionIds(@Param("transactionIds") Collection<String> transactionIds);
+    
+    @Query("SELECT p.rental.id FROM Payment p WHERE p.rental.id IN :rentalIds AND p.status = :status")
+    List<Long> findRentalIdsWithStatus(@Param("rentalIds") Collection<Long> rentalIds,
+                                       @Param("status") PaymentStatus status);
+    
+    /**
+     * Stream payments created in [from, to) for export; must be consumed inside a transaction
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.createdAt AS createdAt, p.rental.id AS rentalId, p.user.id AS userId, " +
+           "p.amount AS amount, p.refundedAmount AS refundedAmount, p.paymentMethod AS paymentMethod, " +
+           "p.status AS status, p.transactionId AS transactionId FROM Payment p " +
+           "WHERE p.createdAt >= :from AND p.createdAt < :to ORDER BY p.id")
+    Stream<PaymentExportRow> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
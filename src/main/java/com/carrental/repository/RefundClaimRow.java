@@ -0,0 +1,22 @@
+package com.carrental.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Refund columns the refund worker sends to the payment gateway
+ */
+public interface RefundClaimRow {
+
+    Long getId();
+
+    Long getPaymentId();
+
+    String getPaymentTransactionId();
+
+    BigDecimal getAmount();
+
+    Integer getAttempts();
+
+    LocalDateTime getCreatedAt();
+}
@@ -5,11 +5,13 @@ import com.carrental.entity.enums.RefundStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,6 +23,43 @@ public interface RefundRepository extends JpaRepository<Refund, Long> {
     
     Page<Refund> findByStatus(RefundStatus status, Pageable pageable);
     
-    @Query("SELECT r FROM Refund r WHERE r.status = 'PROCESSING' AND r.createdAt < :cutoffTime")
-    List<Refund> findStuckProcessingRefunds(@Param("cutoffTime") LocalDateTime cutoffTime);
+    /**
+     * Lock up to limit refunds ready for a gateway call, oldest first: INITIATED ones past their retry time
+     * and PROCESSING ones whose worker lease ran out with attempts to spare. Rows locked by another node's
+     * claim are skipped.
+     */
+    @Query(value = "SELECT id FROM refunds WHERE status IN ('INITIATED', 'PROCESSING') " +
+                   "AND (claimed_until IS NULL OR claimed_until < :now) AND attempts < :maxAttempts " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                             @Param("limit") int limit);
+    
+    /**
+     * Lock up to limit PROCESSING refunds whose worker lease ran out on their last allowed attempt
+     */
+    @Query(value = "SELECT id FROM refunds WHERE status = 'PROCESSING' AND claimed_until < :now " +
+                   "AND attempts >= :maxAttempts ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockAbandoned(@Param("now") LocalDateTime now, @Param("maxAttempts") int maxAttempts,
+                             @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE Refund r SET r.status = com.carrental.entity.enums.RefundStatus.PROCESSING, " +
+           "r.attempts = r.attempts + 1, r.claimedUntil = :claimedUntil WHERE r.id IN :ids")
+    int markProcessing(@Param("ids") Collection<Long> ids, @Param("claimedUntil") LocalDateTime claimedUntil);
+    
+    @Query("SELECT r.id AS id, p.id AS paymentId, p.transactionId AS paymentTransactionId, r.amount AS amount, " +
+           "r.attempts AS attempts, r.createdAt AS createdAt FROM Refund r JOIN r.payment p WHERE r.id IN :ids")
+    List<RefundClaimRow> findClaimRows(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Refunds waiting for the gateway, including ones being processed
+     */
+    @Query("SELECT COUNT(r) FROM Refund r WHERE r.status IN (com.carrental.entity.enums.RefundStatus.INITIATED, " +
+           "com.carrental.entity.enums.RefundStatus.PROCESSING)")
+    long countQueued();
+    
+    @Query("SELECT r.status, COUNT(r), COALESCE(SUM(r.amount), 0) FROM Refund r GROUP BY r.status")
+    List<Object[]> summarizeByStatus();
 }
@@ -0,0 +1,21 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.RentalStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of the columns needed to track a rental's booking window
+ */
+public interface RentalBookingWindow {
+
+    Long getId();
+
+    Long getVehicleId();
+
+    LocalDateTime getPickupDate();
+
+    LocalDateTime getReturnDate();
+
+    RentalStatus getStatus();
+}
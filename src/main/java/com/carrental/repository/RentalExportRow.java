@@ -0,0 +1,28 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.RentalStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Rental columns written by the CSV export
+ */
+public interface RentalExportRow {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+
+    Long getUserId();
+
+    Long getVehicleId();
+
+    LocalDateTime getPickupDate();
+
+    LocalDateTime getReturnDate();
+
+    RentalStatus getStatus();
+
+    BigDecimal getTotalCost();
+}
@@ -2,24 +2,54 @@ package com.carrental.repository;
 
 import com.carrental.entity.Rental;
 import com.carrental.entity.enums.RentalStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RentalRepository extends JpaRepository<Rental, Long> {
     
-    Page<Rental> findByUserId(Long userId, Pageable pageable);
+    // Listing queries select only the RentalSummary columns, joining the vehicle for make and model
+    String SUMMARY_SELECT = "SELECT r.id AS id, r.user.id AS userId, v.id AS vehicleId, " +
+        "v.make AS vehicleMake, v.model AS vehicleModel, r.pickupDate AS pickupDate, r.returnDate AS returnDate, " +
+        "r.pickupLocation AS pickupLocation, r.returnLocation AS returnLocation, r.dailyRate AS dailyRate, " +
+        "r.totalCost AS totalCost, r.additionalFees AS additionalFees, r.status AS status, " +
+        "r.specialRequests AS specialRequests, r.createdAt AS createdAt, r.updatedAt AS updatedAt " +
+        "FROM Rental r JOIN r.vehicle v ";
     
-    @Query("SELECT r FROM Rental r WHERE r.status = :status AND r.user.id = :userId")
-    Page<Rental> findByUserIdAndStatus(Long userId, RentalStatus status, Pageable pageable);
+    @Query(value = SUMMARY_SELECT + "WHERE r.user.id = :userId",
+           countQuery = "SELECT COUNT(r) FROM Rental r WHERE r.user.id = :userId")
+    Page<RentalSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE r.user.id = :userId AND r.status = :status",
+           countQuery = "SELECT COUNT(r) FROM Rental r WHERE r.user.id = :userId AND r.status = :status")
+    Page<RentalSummary> findSummariesByUserIdAndStatus(@Param("userId") Long userId,
+                                                       @Param("status") RentalStatus status,
+                                                       Pageable pageable);
+    
+    // Keyset pages, newest first; the pageable only carries the limit, so no count query is issued
+    @Query(SUMMARY_SELECT + "WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalSummary> findFirstPageByUserId(@Param("userId") Long userId, Pageable limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE r.user.id = :userId " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<RentalSummary> findPageByUserIdAfter(@Param("userId") Long userId,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id,
+                                              Pageable limit);
     
     @Query("SELECT r FROM Rental r WHERE r.vehicle.id = :vehicleId AND r.status IN :statuses " +
            "AND NOT (r.returnDate < :pickupDate OR r.pickupDate > :returnDate)")
@@ -28,6 +58,20 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
                                         @Param("returnDate") LocalDateTime returnDate,
                                         @Param("statuses") List<RentalStatus> statuses);
     
+    @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Rental r " +
+           "WHERE r.vehicle.id = :vehicleId AND r.status IN :statuses " +
+           "AND NOT (r.returnDate < :pickupDate OR r.pickupDate > :returnDate) " +
+           "AND (:excludeRentalId IS NULL OR r.id <> :excludeRentalId)")
+    boolean existsConflictingRental(@Param("vehicleId") Long vehicleId,
+                                    @Param("pickupDate") LocalDateTime pickupDate,
+                                    @Param("returnDate") LocalDateTime returnDate,
+                                    @Param("statuses") List<RentalStatus> statuses,
+                                    @Param("excludeRentalId") Long excludeRentalId);
+    
+    @Query("SELECT r.id AS id, r.vehicle.id AS vehicleId, r.pickupDate AS pickupDate, " +
+           "r.returnDate AS returnDate, r.status AS status FROM Rental r WHERE r.status IN :statuses")
+    List<RentalBookingWindow> findBookingWindows(@Param("statuses") List<RentalStatus> statuses);
+    
     @Query("SELECT r FROM Rental r WHERE r.vehicle.id = :vehicleId AND r.status IN ('PENDING', 'CONFIRMED', 'ACTIVE')")
     List<Rental> findActiveRentalsByVehicle(@Param("vehicleId") Long vehicleId);
     
@@ -38,4 +82,25 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
     
     @Query("SELECT SUM(r.totalCost) FROM Rental r WHERE r.status = 'COMPLETED' AND r.createdAt >= :startDate")
     Optional<java.math.BigDecimal> calculateRevenueFromDate(@Param("startDate") LocalDateTime startDate);
+    
+    @Query("SELECT r.status, COUNT(r) FROM Rental r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+    
+    /**
+     * Per rental: (rentalId, userId, totalCost), for matching settlement rows to rentals in one query
+     */
+    @Query("SELECT r.id, r.user.id, r.totalCost FROM Rental r WHERE r.id IN :ids")
+    List<Object[]> findSettlementTargets(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Stream rentals created in [from, to) for export; must be consumed inside a transaction
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.id AS id, r.createdAt AS createdAt, r.user.id AS userId, r.vehicle.id AS vehicleId, " +
+           "r.pickupDate AS pickupDate, r.returnDate AS returnDate, r.status AS status, r.totalCost AS totalCost " +
+           "FROM Rental r WHERE r.createdAt >= :from AND r.createdAt < :to ORDER BY r.id")
+    Stream<RentalExportRow> streamForExport(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
@@ -0,0 +1,45 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.RentalStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Projection of exactly the columns a rental listing returns, vehicle make and model included,
+ * so a page is read in one statement without touching the lazy associations
+ */
+public interface RentalSummary {
+
+    Long getId();
+
+    Long getUserId();
+
+    Long getVehicleId();
+
+    String getVehicleMake();
+
+    String getVehicleModel();
+
+    LocalDateTime getPickupDate();
+
+    LocalDateTime getReturnDate();
+
+    String getPickupLocation();
+
+    String getReturnLocation();
+
+    BigDecimal getDailyRate();
+
+    BigDecimal getTotalCost();
+
+    BigDecimal getAdditionalFees();
+
+    RentalStatus getStatus();
+
+    String getSpecialRequests();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+}
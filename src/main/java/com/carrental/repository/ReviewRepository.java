@@ -1,11 +1,15 @@
 package com.carrental.repository;
 
+import com.carrental.dto.response.ReviewResponse;
 import com.carrental.entity.Review;
 import com.carrental.entity.enums.ReviewStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -16,7 +20,38 @@ import java.util.Optional;
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
     
-    Page<Review> findByVehicleIdAndStatus(Long vehicleId, ReviewStatus status, Pageable pageable);
+    // Public listings build ReviewResponse straight from the selected columns: no entities, TEXT content
+    // included once, reviewer and vehicle names joined in the same statement
+    String RESPONSE_SELECT = "SELECT new com.carrental.dto.response.ReviewResponse(" +
+        "r.id, v.id, CONCAT(v.make, ' ', v.model), u.id, CONCAT(u.firstName, ' ', u.lastName), r.rental.id, " +
+        "r.rating, r.title, r.content, r.vehicleConditionRating, r.cleanlinessRating, r.pickupProcessRating, " +
+        "r.returnProcessRating, r.status, r.helpfulCount, r.unhelpfulCount, r.flagReason, r.createdAt, r.updatedAt) " +
+        "FROM Review r JOIN r.vehicle v JOIN r.user u ";
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = RESPONSE_SELECT + "WHERE v.id = :vehicleId AND r.status = :status",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = :status")
+    Page<ReviewResponse> findResponsesByVehicleIdAndStatus(@Param("vehicleId") Long vehicleId,
+                                                           @Param("status") ReviewStatus status,
+                                                           Pageable pageable);
+    
+    // Keyset pages, newest first; the pageable only carries the limit, so no count query is issued
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_SELECT + "WHERE v.id = :vehicleId AND r.status = :status " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findFirstPageByVehicleIdAndStatus(@Param("vehicleId") Long vehicleId,
+                                                           @Param("status") ReviewStatus status,
+                                                           Pageable limit);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(RESPONSE_SELECT + "WHERE v.id = :vehicleId AND r.status = :status " +
+           "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewResponse> findPageByVehicleIdAndStatusAfter(@Param("vehicleId") Long vehicleId,
+                                                           @Param("status") ReviewStatus status,
+                                                           @Param("createdAt") LocalDateTime createdAt,
+                                                           @Param("id") Long id,
+                                                           Pageable limit);
     
     Page<Review> findByVehicleId(Long vehicleId, Pageable pageable);
     
@@ -27,9 +62,6 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED' ORDER BY r.createdAt DESC")
     Page<Review> findApprovedReviewsByVehicle(@Param("vehicleId") Long vehicleId, Pageable pageable);
     
-    @Query("SELECT AVG(r.rating) FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED'")
-    Optional<Double> findAverageRatingByVehicle(@Param("vehicleId") Long vehicleId);
-    
     @Query("SELECT r FROM Review r WHERE r.rental.id = :rentalId")
     Optional<Review> findByRentalId(@Param("rentalId") Long rentalId);
     
@@ -39,13 +71,34 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     @Query("SELECT r FROM Review r WHERE r.status = 'FLAGGED' AND r.createdAt >= :since ORDER BY r.createdAt DESC")
     List<Review> findFlaggedReviewsSince(@Param("since") LocalDateTime since);
     
-    @Query(value = "SELECT rating, COUNT(*) as count FROM reviews WHERE vehicle_id = :vehicleId AND status = 'APPROVED' GROUP BY rating ORDER BY rating DESC",
-           nativeQuery = true)
-    List<Object[]> findRatingDistributionByVehicle(@Param("vehicleId") Long vehicleId);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = RESPONSE_SELECT + "WHERE v.id = :vehicleId AND r.status = 'APPROVED' ORDER BY r.helpfulCount DESC",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED'")
+    Page<ReviewResponse> findMostHelpfulResponsesByVehicle(@Param("vehicleId") Long vehicleId, Pageable pageable);
     
-    @Query("SELECT r FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED' ORDER BY r.helpfulCount DESC")
-    Page<Review> findMostHelpfulReviewsByVehicle(@Param("vehicleId") Long vehicleId, Pageable pageable);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(value = RESPONSE_SELECT + "WHERE v.id = :vehicleId AND r.status = 'APPROVED' ORDER BY r.createdAt DESC",
+           countQuery = "SELECT COUNT(r) FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED'")
+    Page<ReviewResponse> findRecentResponsesByVehicle(@Param("vehicleId") Long vehicleId, Pageable pageable);
     
-    @Query("SELECT r FROM Review r WHERE r.vehicle.id = :vehicleId AND r.status = 'APPROVED' ORDER BY r.createdAt DESC")
-    Page<Review> findRecentReviewsByVehicle(@Param("vehicleId") Long vehicleId, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT r.status, COUNT(r), COALESCE(SUM(r.rating), 0) FROM Review r GROUP BY r.status")
+    List<Object[]> summarizeByStatus();
+    
+    @Query("SELECT r.status, COUNT(r) FROM Review r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+    
+    /**
+     * Per vehicle with approved reviews: (vehicleId, count, rating sum, one..five star counts,
+     * then sum and count of each aspect rating: vehicle condition, cleanliness, pickup, return)
+     */
+    @Query("SELECT r.vehicle.id, COUNT(r), SUM(r.rating), " +
+           "SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(r.vehicleConditionRating), 0), COUNT(r.vehicleConditionRating), " +
+           "COALESCE(SUM(r.cleanlinessRating), 0), COUNT(r.cleanlinessRating), " +
+           "COALESCE(SUM(r.pickupProcessRating), 0), COUNT(r.pickupProcessRating), " +
+           "COALESCE(SUM(r.returnProcessRating), 0), COUNT(r.returnProcessRating) " +
+           "FROM Review r WHERE r.status = 'APPROVED' GROUP BY r.vehicle.id")
+    List<Object[]> summarizeApprovedByVehicle();
+}
@@ -0,0 +1,26 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.UserRole;
+import com.carrental.entity.enums.UserStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * User columns written by the CSV export; credentials are never selected
+ */
+public interface UserExportRow {
+
+    Long getId();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    UserRole getRole();
+
+    UserStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+}
@@ -2,9 +2,17 @@
 package com.carrental.repository;
 
 import com.carrental.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -18,4 +26,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * Check if user exists by email
      */
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Per status: (status, count, count registered since the given date)
+     */
+    @Query("SELECT u.status, COUNT(u), SUM(CASE WHEN u.createdAt >= :since THEN 1 ELSE 0 END) " +
+           "FROM User u GROUP BY u.status")
+    List<Object[]> summarizeByStatus(@Param("since") LocalDateTime since);
+
+    /**
+     * Stream every user for export; must be consumed inside a transaction
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u.id AS id, u.email AS email, u.firstName AS firstName, u.lastName AS lastName, " +
+           "u.role AS role, u.status AS status, u.createdAt AS createdAt FROM User u ORDER BY u.id")
+    Stream<UserExportRow> streamForExport();
+}
@@ -0,0 +1,32 @@
+package com.carrental.repository;
+
+import com.carrental.entity.enums.VehicleStatus;
+import com.carrental.entity.enums.VehicleType;
+
+import java.math.BigDecimal;
+
+/**
+ * Vehicle columns written by the CSV export
+ */
+public interface VehicleExportRow {
+
+    Long getId();
+
+    String getLicensePlate();
+
+    String getVin();
+
+    String getMake();
+
+    String getModel();
+
+    Integer getYear();
+
+    VehicleType getType();
+
+    VehicleStatus getStatus();
+
+    BigDecimal getDailyRate();
+
+    Integer getMileage();
+}
@@ -0,0 +1,34 @@
+package com.carrental.repository;
+
+import com.carrental.entity.VehicleRatingStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface VehicleRatingStatsRepository extends JpaRepository<VehicleRatingStats, Long> {
+    
+    /**
+     * Create an all-zero row for the vehicle unless a concurrent transaction already did
+     */
+    @Modifying
+    @Query(value = "INSERT INTO vehicle_rating_stats (vehicle_id, review_count, rating_sum, " +
+                   "one_star_count, two_star_count, three_star_count, four_star_count, five_star_count, " +
+                   "vehicle_condition_sum, vehicle_condition_count, cleanliness_sum, cleanliness_count, " +
+                   "pickup_process_sum, pickup_process_count, return_process_sum, return_process_count, updated_at) " +
+                   "VALUES (:vehicleId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("vehicleId") Long vehicleId);
+    
+    // Row lock so concurrent moderation of the same vehicle's reviews applies its deltas in turn
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM VehicleRatingStats s WHERE s.vehicleId = :vehicleId")
+    Optional<VehicleRatingStats> findForUpdate(@Param("vehicleId") Long vehicleId);
+}
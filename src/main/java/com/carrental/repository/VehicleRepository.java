@@ -2,16 +2,21 @@ package com.carrental.repository;
 
 import com.carrental.entity.Vehicle;
 import com.carrental.entity.enums.VehicleStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Vehicle Repository
@@ -28,6 +33,15 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      */
     Optional<Vehicle> findByLicensePlate(String licensePlate);
 
+    /**
+     * Find the next keyset page of vehicles ordered by ID, without a count query
+     * 
+     * @param id ID of the last vehicle on the previous page, 0 for the first page
+     * @param limit Page carrying only the row limit
+     * @return Vehicles with a greater ID
+     */
+    List<Vehicle> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+
     /**
      * Find vehicle by VIN
      * 
@@ -52,6 +66,18 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      */
     boolean existsByVin(String vin);
 
+    /**
+     * Find which of the given license plates or VINs are already registered
+     * 
+     * @param licensePlates License plates to check
+     * @param vins VIN numbers to check
+     * @return (licensePlate, vin) pairs of vehicles matching either set
+     */
+    @Query("SELECT v.licensePlate, v.vin FROM Vehicle v " +
+           "WHERE v.licensePlate IN :licensePlates OR v.vin IN :vins")
+    List<Object[]> findExistingIdentifiers(@Param("licensePlates") Collection<String> licensePlates,
+                                           @Param("vins") Collection<String> vins);
+
     /**
      * Find vehicles by type with pagination
      * 
@@ -95,6 +121,14 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findAvailableVehicles(@Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
 
+    /**
+     * Find all vehicles with the given status
+     * 
+     * @param status Vehicle status
+     * @return List of vehicles
+     */
+    List<Vehicle> findAllByStatus(VehicleStatus status);
+
     /**
      * Check if vehicle is available for date range
      * 
@@ -119,12 +153,12 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     long countByStatus(VehicleStatus status);
 
     /**
-     * Find all active vehicles with pagination
+     * Find all vehicles with a status
      * 
-     * @param pageable Pagination parameters
-     * @return Page of active vehicles
+     * @param status Vehicle status
+     * @return Vehicles with given status
      */
-    Page<Vehicle> findByStatus(VehicleStatus status);
+    List<Vehicle> findByStatus(VehicleStatus status);
 
     /**
      * Find vehicles by make and model
@@ -143,4 +177,26 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
      * @return Page of vehicles
      */
     Page<Vehicle> findByYear(Integer year, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Count vehicles per status in one pass
+     * 
+     * @return (status, count) rows
+     */
+    @Query("SELECT v.status, COUNT(v) FROM Vehicle v GROUP BY v.status")
+    List<Object[]> countGroupedByStatus();
+
+    /**
+     * Stream every vehicle for export; must be consumed inside a transaction
+     * 
+     * @return Stream of vehicle export rows ordered by ID
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT v.id AS id, v.licensePlate AS licensePlate, v.vin AS vin, v.make AS make, v.model AS model, " +
+           "v.year AS year, v.type AS type, v.status AS status, v.dailyRate AS dailyRate, v.mileage AS mileage " +
+           "FROM Vehicle v ORDER BY v.id")
+    Stream<VehicleExportRow> streamForExport();
+}
@@ -9,13 +9,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -23,7 +20,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     @Autowired
-    private JwtTokenProvider tokenProvider;
+    private VerifiedTokenCache tokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -32,26 +29,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (jwt != null && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                String email = tokenProvider.getEmailFromToken(jwt);
-                List<String> roles = tokenProvider.getRolesFromToken(jwt);
+            // Repeat tokens are served from the cache without re-verifying the signature
+            VerifiedTokenCache.VerifiedToken verified = jwt != null ? tokenCache.resolve(jwt) : null;
 
-                if (userId != null && email != null && roles != null) {
-                    // Convert roles to authorities
-                    List<SimpleGrantedAuthority> authorities = roles.stream()
-                            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-                            .collect(Collectors.toList());
+            if (verified != null) {
+                JwtPrincipal principal = verified.principal();
 
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(email, null, authorities);
-                    authentication.setDetails(userId);
+                // Create authentication token
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(principal.getEmail(), null, verified.authorities());
+                authentication.setDetails(principal.getUserId());
 
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.debug("Set Spring Security authentication for user: {}", email);
-                }
+                // Set authentication in security context
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                logger.debug("Set Spring Security authentication for user: {}", principal.getEmail());
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context: {}", ex.getMessage());
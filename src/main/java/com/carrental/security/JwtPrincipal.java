@@ -0,0 +1,22 @@
+package com.carrental.security;
+
+import lombok.Value;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Claims of a verified JWT, extracted in a single parse
+ */
+@Value
+public class JwtPrincipal {
+
+    Long userId;
+    String email;
+    List<String> roles;
+    Date expiration;
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
@@ -3,11 +3,13 @@ package com.carrental.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.security.Key;
+
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
 
@@ -25,8 +27,19 @@ public class JwtTokenProvider {
     @Value("${spring.security.jwt.refresh-expiration}")
     private long refreshExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // Derived once from the secret; building a parser per call re-derives the key every time
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    /**
+     * Build the signing key and parser once the secret has been injected
+     */
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
     }
 
     /**
@@ -43,7 +56,7 @@ public class JwtTokenProvider {
                     .claim("roles", roles)
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
-                    .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                    .signWith(signingKey, SignatureAlgorithm.HS256)
                     .compact();
         } catch (SecurityException ex) {
             logger.error("Invalid JWT signature: {}", ex);
@@ -76,7 +89,7 @@ public class JwtTokenProvider {
                     .claim("type", "refresh")
                     .setIssuedAt(now)
                     .setExpiration(expiryDate)
-                    .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                    .signWith(signingKey, SignatureAlgorithm.HS256)
                     .compact();
         } catch (Exception ex) {
             logger.error("Error generating refresh token: {}", ex.getMessage());
@@ -85,108 +98,97 @@ public class JwtTokenProvider {
     }
 
     /**
-     * Get user ID from token
+     * Verify a token and extract its claims in a single parse
+     *
+     * @param token Compact JWT
+     * @return the verified principal, or null if the token is invalid or expired
      */
-    public Long getUserIdFromToken(String token) {
+    public JwtPrincipal parseToken(String token) {
         try {
-            return Long.parseLong(Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject());
-        } catch (JwtException | NumberFormatException ex) {
-            logger.error("Error getting user ID from token: {}", ex.getMessage());
-            return null;
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return new JwtPrincipal(
+                    Long.parseLong(claims.getSubject()),
+                    claims.get("email", String.class),
+                    toRoles(claims.get("roles")),
+                    claims.getExpiration());
+        } catch (SecurityException ex) {
+            logger.error("Invalid JWT signature: {}", ex.getMessage());
+        } catch (MalformedJwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (ExpiredJwtException ex) {
+            logger.error("Expired JWT token: {}", ex.getMessage());
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Unsupported JWT token: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            logger.error("Invalid JWT token: {}", ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            // Also covers a non-numeric subject (NumberFormatException)
+            logger.error("Invalid JWT claims: {}", ex.getMessage());
         }
+        return null;
+    }
+
+    /**
+     * Get user ID from token
+     */
+    public Long getUserIdFromToken(String token) {
+        JwtPrincipal principal = parseToken(token);
+        return principal != null ? principal.getUserId() : null;
     }
 
     /**
      * Get email from token
      */
     public String getEmailFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .get("email", String.class);
-        } catch (JwtException ex) {
-            logger.error("Error getting email from token: {}", ex.getMessage());
-            return null;
-        }
+        JwtPrincipal principal = parseToken(token);
+        return principal != null ? principal.getEmail() : null;
     }
 
     /**
      * Get roles from token
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .get("roles", List.class);
-        } catch (JwtException ex) {
-            logger.error("Error getting roles from token: {}", ex.getMessage());
-            return null;
-        }
+        JwtPrincipal principal = parseToken(token);
+        return principal != null ? principal.getRoles() : null;
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            logger.error("Invalid JWT signature: {}", ex);
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token: {}", ex);
-        } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token: {}", ex);
-        } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token: {}", ex);
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty: {}", ex);
-        }
-        return false;
+        return parseToken(authToken) != null;
     }
 
     /**
      * Get expiration date from token
      */
     public Date getExpirationDateFromToken(String token) {
-        try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getExpiration();
-        } catch (JwtException ex) {
-            logger.error("Error getting expiration from token: {}", ex.getMessage());
-            return null;
-        }
+        JwtPrincipal principal = parseToken(token);
+        return principal != null ? principal.getExpiration() : null;
     }
 
     /**
      * Check if token is expired
+     * Parses the token itself: parseToken returns null for an expired token, which would read as not expired.
+     * A token that cannot be verified is treated as expired.
      */
     public boolean isTokenExpired(String token) {
         try {
-            Date expiration = getExpirationDateFromToken(token);
+            Date expiration = jwtParser.parseSignedClaims(token).getPayload().getExpiration();
             return expiration != null && expiration.before(new Date());
-        } catch (Exception ex) {
+        } catch (ExpiredJwtException ex) {
+            // Thrown only once the signature has been verified
+            return true;
+        } catch (JwtException | IllegalArgumentException ex) {
             logger.error("Error checking token expiration: {}", ex.getMessage());
             return true;
         }
     }
+
+    private static List<String> toRoles(Object claim) {
+        if (!(claim instanceof List<?> values)) {
+            return null;
+        }
+        return values.stream().map(String::valueOf).toList();
+    }
 }
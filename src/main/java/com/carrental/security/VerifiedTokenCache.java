@@ -0,0 +1,128 @@
+package com.carrental.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of access tokens that already passed signature verification.
+ * Keyed by a SHA-256 digest of the token so raw tokens are never held in memory,
+ * and each entry expires no later than the token's own exp claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    });
+
+    private final JwtTokenProvider tokenProvider;
+    private final Cache<String, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtTokenProvider tokenProvider,
+                              MeterRegistry meterRegistry,
+                              @Value("${carrental.security.token-cache.max-size:10000}") long maxSize) {
+        this.tokenProvider = tokenProvider;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwtVerifiedTokens");
+        logger.info("Verified token cache enabled with max size {}", maxSize);
+    }
+
+    /**
+     * Resolve an access token to its verified principal and authorities
+     *
+     * @param token Compact JWT from the Authorization header
+     * @return the verified token, or null if it is invalid, expired or not an access token
+     */
+    public VerifiedToken resolve(String token) {
+        String key = digest(token);
+
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && !cached.principal().isExpired()) {
+            return cached;
+        }
+
+        JwtPrincipal principal = tokenProvider.parseToken(token);
+        if (principal == null || principal.getEmail() == null || principal.getRoles() == null
+                || principal.getExpiration() == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = principal.getRoles().stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+
+        VerifiedToken verified = new VerifiedToken(principal, authorities);
+        cache.put(key, verified);
+        return verified;
+    }
+
+    /**
+     * Drop every cached token, e.g. after rotating the signing secret
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A verified access token together with the authorities derived from its roles
+     */
+    public record VerifiedToken(JwtPrincipal principal, List<GrantedAuthority> authorities) {
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.principal().getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
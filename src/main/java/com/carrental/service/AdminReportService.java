@@ -3,7 +3,7 @@ package com.carrental.service;
 import com.carrental.dto.response.RevenueReport;
 import com.carrental.dto.response.VehicleReport;
 import com.carrental.dto.response.UserReport;
-import com.carrental.repository.PaymentRepository;
+import com.carrental.entity.DailyRevenueRollup;
 import com.carrental.repository.RentalRepository;
 import com.carrental.repository.VehicleRepository;
 import com.carrental.repository.UserRepository;
@@ -17,7 +17,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,27 +26,43 @@ import java.util.List;
 @Transactional(readOnly = true)
 public class AdminReportService {
     
-    private final PaymentRepository paymentRepository;
+    private final RevenueRollupService revenueRollup;
     private final RentalRepository rentalRepository;
     private final VehicleRepository vehicleRepository;
     private final UserRepository userRepository;
     private final ReviewRepository reviewRepository;
     
     /**
-     * Generate revenue report for date range
+     * Generate revenue report for date range from the daily revenue rollup
      */
     public RevenueReport generateRevenueReport(LocalDate startDate, LocalDate endDate) {
         log.info("Generating revenue report from {} to {}", startDate, endDate);
         
-        LocalDateTime startDateTime = startDate.atStartOfDay();
-        LocalDateTime endDateTime = endDate.atTime(23, 59, 59);
+        List<DailyRevenueRollup> days = revenueRollup.getDailyTotals(startDate, endDate);
         
-        BigDecimal totalRevenue = paymentRepository.calculateTotalRevenueFrom(startDateTime)
-            .orElse(BigDecimal.ZERO);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal totalRefunds = BigDecimal.ZERO;
+        long totalTransactions = 0;
+        BigDecimal highestDailyRevenue = null;
+        BigDecimal lowestDailyRevenue = null;
+        List<RevenueReport.DailyRevenue> dailyBreakdown = new ArrayList<>(days.size());
+        
+        for (DailyRevenueRollup day : days) {
+            totalRevenue = totalRevenue.add(day.getGrossRevenue());
+            totalRefunds = totalRefunds.add(day.getRefundAmount());
+            totalTransactions += day.getPaymentCount();
+            highestDailyRevenue = highestDailyRevenue == null ? day.getGrossRevenue() : highestDailyRevenue.max(day.getGrossRevenue());
+            lowestDailyRevenue = lowestDailyRevenue == null ? day.getGrossRevenue() : lowestDailyRevenue.min(day.getGrossRevenue());
+            
+            dailyBreakdown.add(RevenueReport.DailyRevenue.builder()
+                .date(day.getRevenueDate())
+                .revenue(day.getGrossRevenue())
+                .transactionCount(day.getPaymentCount())
+                .build());
+        }
         
-        long totalTransactions = paymentRepository.countCompletedPaymentsSince(startDateTime);
         BigDecimal averageTransactionValue = BigDecimal.ZERO;
-        if (totalTransactions > 0 && totalRevenue.signum() > 0) {
+        if (totalTransactions > 0) {
             averageTransactionValue = totalRevenue.divide(BigDecimal.valueOf(totalTransactions), 2, java.math.RoundingMode.HALF_UP);
         }
         
@@ -58,13 +73,15 @@ public class AdminReportService {
             .endDate(endDate)
             .period(period)
             .totalRevenue(totalRevenue)
-            .totalRefunds(BigDecimal.ZERO)
-            .netRevenue(totalRevenue)
+            .totalRefunds(totalRefunds)
+            .netRevenue(totalRevenue.subtract(totalRefunds))
             .totalTransactions(totalTransactions)
             .successfulTransactions(totalTransactions)
             .failedTransactions(0L)
             .averageTransactionValue(averageTransactionValue)
-            .dailyBreakdown(new ArrayList<>())
+            .highestDailyRevenue(highestDailyRevenue)
+            .lowestDailyRevenue(lowestDailyRevenue)
+            .dailyBreakdown(dailyBreakdown)
             .build();
     }
     
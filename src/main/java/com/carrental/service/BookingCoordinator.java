@@ -0,0 +1,147 @@
+package com.carrental.service;
+
+import com.carrental.exception.BookingConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes bookings per vehicle so the availability check and the insert cannot interleave
+ * with another booking for the same vehicle. Bookings for different vehicles proceed in parallel.
+ *
+ * In {@code local} mode a fixed set of striped locks guards a single node; in {@code advisory}
+ * mode a PostgreSQL transaction-scoped advisory lock guards every node sharing the database.
+ * Either way a booking waits at most lock-timeout-ms for the lock, and the lock is held until the
+ * surrounding transaction completes, so the next booking for the vehicle sees the committed row.
+ *
+ * When the rentals table carries the booking exclusion constraint, the database rejects overlaps
+ * on insert and callers can skip both the lock and the conflict query.
+ */
+@Component
+@Slf4j
+public class BookingCoordinator {
+
+    // Advisory lock namespace, so booking locks never collide with other advisory lock users
+    private static final int ADVISORY_LOCK_NAMESPACE = 0x52454E54;
+
+    private static final String TRY_ADVISORY_LOCK_SQL = "SELECT pg_try_advisory_xact_lock(?, ?)";
+
+    private static final long MAX_ADVISORY_RETRY_MILLIS = 50;
+
+    public enum LockMode {
+        LOCAL,
+        ADVISORY
+    }
+
+    private final LockMode lockMode;
+    private final long lockTimeoutMillis;
+    private final ReentrantLock[] stripes;
+    private final int stripeMask;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final boolean exclusionConstraintEnabled;
+
+    public BookingCoordinator(@Value("${carrental.booking.lock-mode:local}") String lockMode,
+                              @Value("${carrental.booking.lock-stripes:64}") int stripeCount,
+                              @Value("${carrental.booking.lock-timeout-ms:5000}") long lockTimeoutMillis,
+                              ObjectProvider<JdbcTemplate> jdbcTemplate,
+                              @Value("${carrental.booking.exclusion-constraint.enabled:false}") boolean exclusionConstraintEnabled) {
+        this.lockMode = LockMode.valueOf(lockMode.trim().toUpperCase(Locale.ROOT));
+        this.lockTimeoutMillis = lockTimeoutMillis;
+        this.jdbcTemplate = jdbcTemplate;
+        this.exclusionConstraintEnabled = exclusionConstraintEnabled;
+
+        // Round up to a power of two so a stripe is picked with a mask
+        int size = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.stripeMask = size - 1;
+
+        if (exclusionConstraintEnabled) {
+            log.info("Booking conflicts enforced by the rentals exclusion constraint");
+        } else {
+            log.info("Booking coordinator using {} locks ({} stripes)", this.lockMode, size);
+        }
+    }
+
+    /**
+     * Whether overlapping bookings are rejected by the database exclusion constraint
+     */
+    public boolean isExclusionConstraintEnabled() {
+        return exclusionConstraintEnabled;
+    }
+
+    /**
+     * Lock a vehicle for the rest of the current transaction
+     *
+     * @throws BookingConflictException if the lock cannot be acquired in time
+     * @throws IllegalStateException if called outside a transaction
+     */
+    public void lockVehicle(Long vehicleId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Vehicle booking locks require an active transaction");
+        }
+
+        if (lockMode == LockMode.ADVISORY) {
+            lockAdvisory(vehicleId);
+        } else {
+            lockLocal(vehicleId);
+        }
+    }
+
+    private void lockLocal(Long vehicleId) {
+        ReentrantLock lock = stripes[stripeFor(vehicleId)];
+        try {
+            if (!lock.tryLock(lockTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new BookingConflictException("Vehicle is being booked by another request, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BookingConflictException("Interrupted while waiting to book vehicle");
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    // pg_advisory_xact_lock waits without bound, so poll the non-blocking variant until the timeout
+    private void lockAdvisory(Long vehicleId) {
+        JdbcTemplate jdbc = jdbcTemplate.getObject();
+        int key = Long.hashCode(vehicleId);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lockTimeoutMillis);
+        long retryMillis = 1;
+        // Released by PostgreSQL at commit or rollback
+        while (!Boolean.TRUE.equals(
+                jdbc.queryForObject(TRY_ADVISORY_LOCK_SQL, Boolean.class, ADVISORY_LOCK_NAMESPACE, key))) {
+            long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMillis <= 0) {
+                throw new BookingConflictException("Vehicle is being booked by another request, please retry");
+            }
+            try {
+                Thread.sleep(Math.min(retryMillis, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BookingConflictException("Interrupted while waiting to book vehicle");
+            }
+            retryMillis = Math.min(retryMillis * 2, MAX_ADVISORY_RETRY_MILLIS);
+        }
+    }
+
+    int stripeFor(Long vehicleId) {
+        int h = Long.hashCode(vehicleId);
+        return (h ^ (h >>> 16)) & stripeMask;
+    }
+}
@@ -0,0 +1,103 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.DashboardMetrics;
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.entity.enums.RefundStatus;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.entity.enums.UserStatus;
+import com.carrental.entity.enums.VehicleStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable point-in-time view of the dashboard aggregates.
+ * Holds the per-status histograms read from the database; every KPI is derived from them.
+ */
+public record DashboardSnapshot(
+        Map<RentalStatus, Long> rentalsByStatus,
+        Map<VehicleStatus, Long> vehiclesByStatus,
+        Map<UserStatus, Long> usersByStatus,
+        long newUsersThisMonth,
+        Map<PaymentStatus, Long> paymentsByStatus,
+        BigDecimal monthlyRevenue,
+        long monthlyCompletedPayments,
+        BigDecimal dailyRevenue,
+        Map<ReviewStatus, Long> reviewsByStatus,
+        long approvedRatingSum,
+        Map<RefundStatus, Long> refundsByStatus,
+        BigDecimal completedRefundAmount,
+        LocalDateTime takenAt) {
+
+    public DashboardSnapshot {
+        rentalsByStatus = Map.copyOf(rentalsByStatus);
+        vehiclesByStatus = Map.copyOf(vehiclesByStatus);
+        usersByStatus = Map.copyOf(usersByStatus);
+        paymentsByStatus = Map.copyOf(paymentsByStatus);
+        reviewsByStatus = Map.copyOf(reviewsByStatus);
+        refundsByStatus = Map.copyOf(refundsByStatus);
+    }
+
+    /**
+     * Copy of this snapshot with live status counts in place of the ones read at snapshot time
+     */
+    public DashboardSnapshot withStatusCounts(Map<RentalStatus, Long> rentals,
+                                              Map<PaymentStatus, Long> payments,
+                                              Map<ReviewStatus, Long> reviews) {
+        return new DashboardSnapshot(rentals, vehiclesByStatus, usersByStatus, newUsersThisMonth,
+            payments, monthlyRevenue, monthlyCompletedPayments, dailyRevenue,
+            reviews, approvedRatingSum, refundsByStatus, completedRefundAmount, takenAt);
+    }
+
+    /**
+     * Build the dashboard response; a new instance each call so callers cannot alter the snapshot
+     */
+    public DashboardMetrics toMetrics() {
+        long totalVehicles = total(vehiclesByStatus);
+        long activeRentals = count(rentalsByStatus, RentalStatus.ACTIVE);
+        long approvedReviews = count(reviewsByStatus, ReviewStatus.APPROVED);
+
+        BigDecimal averageOrderValue = monthlyCompletedPayments > 0
+            ? monthlyRevenue.divide(BigDecimal.valueOf(monthlyCompletedPayments), 2, RoundingMode.HALF_UP)
+            : BigDecimal.ZERO;
+
+        return DashboardMetrics.builder()
+            .totalRentals(total(rentalsByStatus))
+            .activeRentals(activeRentals)
+            .completedRentals(count(rentalsByStatus, RentalStatus.COMPLETED))
+            .cancelledRentals(count(rentalsByStatus, RentalStatus.CANCELLED))
+            .totalRevenue(monthlyRevenue)
+            .dailyRevenue(dailyRevenue)
+            .monthlyRevenue(monthlyRevenue)
+            .averageOrderValue(averageOrderValue)
+            .totalVehicles(totalVehicles)
+            .availableVehicles(count(vehiclesByStatus, VehicleStatus.ACTIVE))
+            .maintenanceVehicles(count(vehiclesByStatus, VehicleStatus.MAINTENANCE))
+            .fleetUtilizationRate(totalVehicles > 0 ? (activeRentals * 100.0) / totalVehicles : 0.0)
+            .totalUsers(total(usersByStatus))
+            .activeUsers(count(usersByStatus, UserStatus.ACTIVE))
+            .newUsersThisMonth(newUsersThisMonth)
+            .totalPayments(total(paymentsByStatus))
+            .completedPayments(count(paymentsByStatus, PaymentStatus.COMPLETED))
+            .pendingPayments(count(paymentsByStatus, PaymentStatus.PENDING))
+            .failedPayments(count(paymentsByStatus, PaymentStatus.FAILED))
+            .totalReviews(total(reviewsByStatus))
+            .pendingReviews(count(reviewsByStatus, ReviewStatus.PENDING))
+            .averageRating(approvedReviews > 0 ? (double) approvedRatingSum / approvedReviews : 0.0)
+            .totalRefunds(total(refundsByStatus))
+            .totalRefundAmount(completedRefundAmount)
+            .lastUpdated(takenAt)
+            .build();
+    }
+
+    private static <E extends Enum<E>> long count(Map<E, Long> histogram, E status) {
+        return histogram.getOrDefault(status, 0L);
+    }
+
+    private static long total(Map<?, Long> histogram) {
+        return histogram.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,137 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.entity.enums.RefundStatus;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.entity.enums.UserStatus;
+import com.carrental.entity.enums.VehicleStatus;
+import com.carrental.repository.*;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Computes the dashboard snapshot with one grouped aggregate query per table
+ * and refreshes it on a fixed delay. Readers always get the last complete snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshotEngine {
+
+    private final RentalRepository rentalRepository;
+    private final PaymentRepository paymentRepository;
+    private final VehicleRepository vehicleRepository;
+    private final UserRepository userRepository;
+    private final ReviewRepository reviewRepository;
+    private final RefundRepository refundRepository;
+
+    private volatile DashboardSnapshot snapshot;
+
+    /**
+     * Latest snapshot, computed on first use if the scheduler has not run yet
+     */
+    public DashboardSnapshot current() {
+        DashboardSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            return snapshot != null ? snapshot : refresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${carrental.dashboard.snapshot-refresh-ms:30000}")
+    public void refreshSnapshot() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            // Keep serving the previous snapshot
+            log.warn("Dashboard snapshot refresh failed", ex);
+        }
+    }
+
+    synchronized DashboardSnapshot refresh() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfDay = now.toLocalDate().atStartOfDay();
+        LocalDateTime startOfMonth = now.toLocalDate().withDayOfMonth(1).atStartOfDay();
+
+        Map<RentalStatus, Long> rentals = new EnumMap<>(RentalStatus.class);
+        for (Object[] row : rentalRepository.countGroupedByStatus()) {
+            rentals.put((RentalStatus) row[0], toLong(row[1]));
+        }
+
+        Map<VehicleStatus, Long> vehicles = new EnumMap<>(VehicleStatus.class);
+        for (Object[] row : vehicleRepository.countGroupedByStatus()) {
+            vehicles.put((VehicleStatus) row[0], toLong(row[1]));
+        }
+
+        Map<UserStatus, Long> users = new EnumMap<>(UserStatus.class);
+        long newUsersThisMonth = 0;
+        for (Object[] row : userRepository.summarizeByStatus(startOfMonth)) {
+            users.put((UserStatus) row[0], toLong(row[1]));
+            newUsersThisMonth += toLong(row[2]);
+        }
+
+        Map<PaymentStatus, Long> payments = new EnumMap<>(PaymentStatus.class);
+        BigDecimal monthlyRevenue = BigDecimal.ZERO;
+        BigDecimal dailyRevenue = BigDecimal.ZERO;
+        long monthlyCompletedPayments = 0;
+        for (Object[] row : paymentRepository.summarizeByStatus(startOfMonth, startOfDay)) {
+            PaymentStatus status = (PaymentStatus) row[0];
+            payments.put(status, toLong(row[1]));
+            if (status == PaymentStatus.COMPLETED) {
+                monthlyRevenue = toBigDecimal(row[2]);
+                monthlyCompletedPayments = toLong(row[3]);
+                dailyRevenue = toBigDecimal(row[4]);
+            }
+        }
+
+        Map<ReviewStatus, Long> reviews = new EnumMap<>(ReviewStatus.class);
+        long approvedRatingSum = 0;
+        for (Object[] row : reviewRepository.summarizeByStatus()) {
+            ReviewStatus status = (ReviewStatus) row[0];
+            reviews.put(status, toLong(row[1]));
+            if (status == ReviewStatus.APPROVED) {
+                approvedRatingSum = toLong(row[2]);
+            }
+        }
+
+        Map<RefundStatus, Long> refunds = new EnumMap<>(RefundStatus.class);
+        BigDecimal completedRefundAmount = BigDecimal.ZERO;
+        for (Object[] row : refundRepository.summarizeByStatus()) {
+            RefundStatus status = (RefundStatus) row[0];
+            refunds.put(status, toLong(row[1]));
+            if (status == RefundStatus.COMPLETED) {
+                completedRefundAmount = toBigDecimal(row[2]);
+            }
+        }
+
+        DashboardSnapshot refreshed = new DashboardSnapshot(rentals, vehicles, users, newUsersThisMonth,
+            payments, monthlyRevenue, monthlyCompletedPayments, dailyRevenue,
+            reviews, approvedRatingSum, refunds, completedRefundAmount, now);
+        snapshot = refreshed;
+
+        log.debug("Dashboard snapshot refreshed in {} ms", (System.nanoTime() - started) / 1_000_000);
+        return refreshed;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : ((Number) value).longValue();
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,219 @@
+package com.carrental.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fleet availability calendar with one hourly bitset per vehicle over a rolling horizon.
+ * A set bit means the vehicle has a blocking booking somewhere in that hour, so a
+ * window with no bits set is guaranteed free; a set bit may be a partial-hour overlap
+ * and has to be confirmed against {@link VehicleAvailabilityIndex}.
+ * Rows are rendered from the availability index and replaced atomically, so reads never lock.
+ */
+@Component
+@Slf4j
+public class FleetAvailabilityCalendar {
+
+    private static final long SLOT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final int horizonDays;
+
+    private final Object writeLock = new Object();
+    private volatile CalendarState state;
+
+    public FleetAvailabilityCalendar(VehicleAvailabilityIndex availabilityIndex,
+                                     @Value("${carrental.availability.calendar.horizon-days:365}") int horizonDays) {
+        this.availabilityIndex = availabilityIndex;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Build the calendar once the availability index has been warmed
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * Roll the horizon forward to start at today
+     */
+    @Scheduled(cron = "${carrental.availability.calendar.roll-cron:0 5 0 * * *}")
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        long horizonStart = VehicleAvailabilityIndex.toMillis(LocalDate.now().atStartOfDay());
+        int slotCount = Math.toIntExact(TimeUnit.DAYS.toHours(horizonDays));
+
+        synchronized (writeLock) {
+            CalendarState rebuilt = new CalendarState(horizonStart, slotCount);
+            for (Long vehicleId : availabilityIndex.trackedVehicleIds()) {
+                render(rebuilt, vehicleId);
+            }
+            state = rebuilt;
+        }
+
+        log.info("Fleet availability calendar built for {} days in {} ms",
+            horizonDays, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Re-render a vehicle's row after the availability index has applied a committed change
+     */
+    @TransactionalEventListener
+    @Order(1)
+    public void onBookingChanged(RentalBookingChangedEvent event) {
+        synchronized (writeLock) {
+            if (state != null) {
+                render(state, event.getVehicleId());
+            }
+        }
+    }
+
+    /**
+     * Whether [startDate, endDate) lies inside the current horizon, so the calendar can answer for it
+     */
+    public boolean covers(LocalDateTime startDate, LocalDateTime endDate) {
+        CalendarState current = state;
+        if (current == null || !availabilityIndex.isReady() || !endDate.isAfter(startDate)) {
+            return false;
+        }
+        long start = VehicleAvailabilityIndex.toMillis(startDate);
+        long end = VehicleAvailabilityIndex.toMillis(endDate);
+        return start >= current.horizonStart && end <= current.horizonEnd();
+    }
+
+    /**
+     * Check that no hour touched by [startDate, endDate) holds a blocking booking.
+     * Callers must check {@link #covers} first.
+     *
+     * @return true if the vehicle is certainly free, false if it may be booked
+     */
+    public boolean isCertainlyFree(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        CalendarState current = state;
+        long[] row = current.rows.get(vehicleId);
+        return row == null || !current.window(startDate, endDate).anySet(row);
+    }
+
+    /**
+     * Vehicles among candidateIds with no blocking booking overlapping [startDate, endDate).
+     * One pass over the booked rows ORs each row's words for the window; a vehicle with a bit set is
+     * confirmed against {@link VehicleAvailabilityIndex}, since the bit may be a partial-hour overlap.
+     * Vehicles without a row are free. Callers must check {@link #covers} first.
+     */
+    public Set<Long> freeVehicleIds(Collection<Long> candidateIds, LocalDateTime startDate, LocalDateTime endDate) {
+        CalendarState current = state;
+        SlotWindow window = current.window(startDate, endDate);
+
+        Set<Long> booked = new HashSet<>();
+        for (Map.Entry<Long, long[]> row : current.rows.entrySet()) {
+            if (window.anySet(row.getValue())
+                    && !availabilityIndex.isAvailable(row.getKey(), startDate, endDate)) {
+                booked.add(row.getKey());
+            }
+        }
+
+        Set<Long> free = new HashSet<>(candidateIds);
+        free.removeAll(booked);
+        return free;
+    }
+
+    private void render(CalendarState target, Long vehicleId) {
+        long[] row = new long[(target.slotCount + 63) >>> 6];
+        boolean[] booked = {false};
+
+        availabilityIndex.forEachBooking(vehicleId, (rentalId, start, end) -> {
+            if (end < target.horizonStart || start >= target.horizonEnd()) {
+                return;
+            }
+            setRange(row, target.slotOf(Math.max(start, target.horizonStart)),
+                target.slotOf(Math.min(end, target.horizonEnd() - 1)));
+            booked[0] = true;
+        });
+
+        if (booked[0]) {
+            target.rows.put(vehicleId, row);
+        } else {
+            target.rows.remove(vehicleId);
+        }
+    }
+
+    private static void setRange(long[] words, int fromSlot, int toSlot) {
+        int firstWord = fromSlot >>> 6;
+        int lastWord = toSlot >>> 6;
+        long firstMask = -1L << (fromSlot & 63);
+        long lastMask = -1L >>> (63 - (toSlot & 63));
+
+        if (firstWord == lastWord) {
+            words[firstWord] |= firstMask & lastMask;
+            return;
+        }
+        words[firstWord] |= firstMask;
+        for (int i = firstWord + 1; i < lastWord; i++) {
+            words[i] = -1L;
+        }
+        words[lastWord] |= lastMask;
+    }
+
+    /**
+     * Slots [fromSlot, toSlot] as word indexes and edge masks, computed once per query
+     */
+    private record SlotWindow(int firstWord, int lastWord, long firstMask, long lastMask) {
+
+        private static SlotWindow of(int fromSlot, int toSlot) {
+            return new SlotWindow(fromSlot >>> 6, toSlot >>> 6,
+                -1L << (fromSlot & 63), -1L >>> (63 - (toSlot & 63)));
+        }
+
+        private boolean anySet(long[] words) {
+            if (firstWord == lastWord) {
+                return (words[firstWord] & firstMask & lastMask) != 0;
+            }
+            long bits = (words[firstWord] & firstMask) | (words[lastWord] & lastMask);
+            for (int i = firstWord + 1; i < lastWord && bits == 0; i++) {
+                bits |= words[i];
+            }
+            return bits != 0;
+        }
+    }
+
+    private static final class CalendarState {
+        private final long horizonStart;
+        private final int slotCount;
+        private final Map<Long, long[]> rows = new ConcurrentHashMap<>();
+
+        private CalendarState(long horizonStart, int slotCount) {
+            this.horizonStart = horizonStart;
+            this.slotCount = slotCount;
+        }
+
+        private long horizonEnd() {
+            return horizonStart + slotCount * SLOT_MILLIS;
+        }
+
+        private int slotOf(long millis) {
+            return (int) ((millis - horizonStart) / SLOT_MILLIS);
+        }
+
+        private SlotWindow window(LocalDateTime startDate, LocalDateTime endDate) {
+            return SlotWindow.of(slotOf(VehicleAvailabilityIndex.toMillis(startDate)),
+                slotOf(VehicleAvailabilityIndex.toMillis(endDate) - 1));
+        }
+    }
+}
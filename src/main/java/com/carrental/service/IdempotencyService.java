@@ -0,0 +1,245 @@
+package com.carrental.service;
+
+import com.carrental.entity.IdempotencyKey;
+import com.carrental.entity.enums.IdempotencyStatus;
+import com.carrental.exception.IdempotencyException;
+import com.carrental.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per Idempotency-Key and replays its response to retries.
+ * Responses are kept in an in-memory cache in front of the idempotency_keys table. Concurrent duplicates
+ * on this node wait for the one execution in flight; a duplicate on another node finds the key claimed
+ * in the table and is rejected until the first request finishes. The response is stored in the same
+ * transaction as the work it describes, so a committed request always has its response recorded.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyKeyRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate claimTransaction;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Duration staleClaimAfter;
+
+    public IdempotencyService(IdempotencyKeyRepository repository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${carrental.idempotency.ttl-hours:24}") long ttlHours,
+                              @Value("${carrental.idempotency.stale-claim-seconds:60}") long staleClaimSeconds,
+                              @Value("${carrental.idempotency.cache-max-size:10000}") long cacheMaxSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.claimTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.staleClaimAfter = Duration.ofSeconds(staleClaimSeconds);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "idempotencyResponses");
+    }
+
+    /**
+     * Response of an idempotent request; replayed is true when it was stored by an earlier attempt
+     */
+    public record Result<T>(T response, boolean replayed) {
+    }
+
+    record StoredResponse(String requestHash, String body) {
+    }
+
+    /**
+     * Run the action once for a key, or return the response it produced for an earlier attempt
+     *
+     * @param scope Namespace of the key, e.g. the endpoint and user, so clients cannot collide
+     * @param key Client-supplied Idempotency-Key
+     * @param request Request body; a retry must send the same one
+     * @param responseType Type the stored response is read back as
+     * @param action The request's work; it joins the transaction the response is stored in
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IdempotencyException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String scopedKey = scope + ":" + key;
+        String requestHash = hash(request);
+
+        StoredResponse cached = responses.getIfPresent(scopedKey);
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<StoredResponse> execution = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(scopedKey, execution);
+        if (running != null) {
+            log.debug("Waiting for in-flight request with idempotency key {}", scopedKey);
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            StoredResponse existing = claimOrLoad(scopedKey, requestHash);
+            if (existing != null) {
+                responses.put(scopedKey, existing);
+                execution.complete(existing);
+                return replay(existing, requestHash, responseType);
+            }
+
+            StoredResponse stored;
+            T response;
+            try {
+                Executed<T> executed = transactionTemplate.execute(status -> {
+                    T result = action.get();
+                    String body = write(result);
+                    if (repository.complete(scopedKey, body) == 0) {
+                        // Claim was taken over as stale while the action ran; roll the action back
+                        throw new ClaimLostException();
+                    }
+                    return new Executed<>(result, body);
+                });
+                response = executed.response();
+                stored = new StoredResponse(requestHash, executed.body());
+            } catch (ClaimLostException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                release(scopedKey);
+                throw e;
+            }
+
+            responses.put(scopedKey, stored);
+            execution.complete(stored);
+            return new Result<>(response, false);
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(scopedKey, execution);
+        }
+    }
+
+    /**
+     * Delete keys past their retention; retries after that run the request again
+     */
+    @Scheduled(cron = "${carrental.idempotency.purge-cron:0 30 * * * *}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteExpired(LocalDateTime.now()));
+        log.debug("Purged {} expired idempotency keys", deleted);
+    }
+
+    private record Executed<T>(T response, String body) {
+    }
+
+    private static final class ClaimLostException extends IdempotencyException {
+        ClaimLostException() {
+            super("Idempotency-Key claim was lost while processing, retry");
+        }
+    }
+
+    /**
+     * Claim the key in its own committed transaction, so other nodes see it while the request runs
+     *
+     * @return null if the key was claimed, otherwise the response already stored for it
+     */
+    private StoredResponse claimOrLoad(String key, String requestHash) {
+        return claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plus(ttl);
+            if (repository.insertClaim(key, requestHash, now, expiresAt) == 1
+                    || repository.reclaim(key, requestHash, now, now.minus(staleClaimAfter), expiresAt) == 1) {
+                return null;
+            }
+
+            IdempotencyKey existing = repository.findById(key)
+                    .orElseThrow(() -> new IdempotencyException("Idempotency-Key was released concurrently, retry"));
+            if (existing.getStatus() == IdempotencyStatus.IN_PROGRESS) {
+                throw new IdempotencyException("A request with this Idempotency-Key is still being processed");
+            }
+            return new StoredResponse(existing.getRequestHash(), existing.getResponseBody());
+        });
+    }
+
+    private void release(String key) {
+        try {
+            claimTransaction.executeWithoutResult(status -> repository.release(key));
+        } catch (RuntimeException e) {
+            // The claim goes stale and is taken over by the next retry
+            log.warn("Failed to release idempotency key {}", key, e);
+        }
+    }
+
+    private <T> Result<T> replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyException("Idempotency-Key was already used for a different request");
+        }
+        try {
+            return new Result<>(objectMapper.readValue(stored.body(), responseType), true);
+        } catch (JsonProcessingException e) {
+            throw new IdempotencyException("Stored response could not be read", e);
+        }
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            // The duplicate fails the same way as the execution it waited for
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IdempotencyException("Response could not be stored", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException e) {
+            throw new IdempotencyException("Request could not be hashed", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
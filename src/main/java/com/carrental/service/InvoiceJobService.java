@@ -0,0 +1,194 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.InvoiceJobResponse;
+import com.carrental.entity.InvoiceJob;
+import com.carrental.entity.enums.InvoiceJobStatus;
+import com.carrental.exception.PaymentException;
+import com.carrental.repository.InvoiceJobRepository;
+import com.carrental.repository.RentalRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable queue of invoice generation jobs and the worker pool that runs them.
+ * A job is queued in the same transaction that completes the rental, so it is never lost. Each poll
+ * claims only as many jobs as there are idle workers, locking them with SKIP LOCKED so several nodes
+ * can poll the same table. A failed attempt is retried with a growing delay up to max-attempts; a job
+ * whose worker died is claimed again once its lease runs out, or failed if that was its last attempt.
+ */
+@Service
+@Slf4j
+public class InvoiceJobService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final InvoiceJobRepository repository;
+    private final RentalRepository rentalRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final Semaphore idleWorkers;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public InvoiceJobService(InvoiceJobRepository repository,
+                             RentalRepository rentalRepository,
+                             PaymentService paymentService,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${carrental.invoices.jobs.concurrency:4}") int concurrency,
+                             @Value("${carrental.invoices.jobs.lease-seconds:300}") long leaseSeconds,
+                             @Value("${carrental.invoices.jobs.max-attempts:5}") int maxAttempts,
+                             @Value("${carrental.invoices.jobs.retry-backoff-seconds:30}") long retryBackoffSeconds) {
+        this.repository = repository;
+        this.rentalRepository = rentalRepository;
+        this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+        this.idleWorkers = new Semaphore(concurrency);
+        // Never queues more than concurrency tasks: a job is only submitted after taking an idle worker permit
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("invoice-job-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queue the rental's invoice; joins the caller's transaction, so the job commits or rolls back with it.
+     * A job that had given up is queued again.
+     */
+    public void enqueue(Long rentalId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (repository.insertIfAbsent(rentalId, now) == 0 && repository.requeueFailed(rentalId, now) == 1) {
+                log.info("Requeued failed invoice job for rental: {}", rentalId);
+            }
+        });
+    }
+
+    /**
+     * Queue the invoice of an existing rental, e.g. to retry one that failed
+     */
+    public InvoiceJobResponse requestInvoice(Long rentalId) {
+        if (!rentalRepository.existsById(rentalId)) {
+            throw new PaymentException("Rental not found");
+        }
+        enqueue(rentalId);
+        return getStatus(rentalId).orElseThrow();
+    }
+
+    public Optional<InvoiceJobResponse> getStatus(Long rentalId) {
+        return repository.findByRentalId(rentalId).map(InvoiceJobService::toResponse);
+    }
+
+    /**
+     * Claim runnable jobs for the idle workers and hand them over
+     */
+    @Scheduled(fixedDelayString = "${carrental.invoices.jobs.poll-ms:1000}")
+    public void poll() {
+        int idle = idleWorkers.availablePermits();
+        if (idle == 0 || executor.isShutdown()) {
+            return;
+        }
+
+        List<Long> claimed = transactionTemplate.execute(status -> claim(idle));
+        for (Long jobId : claimed) {
+            // Only this scheduled method takes permits, so the ones counted above are still free
+            idleWorkers.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        run(jobId);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            } catch (RuntimeException e) {
+                // Shutting down; the job is claimed again when its lease runs out
+                idleWorkers.release();
+                log.warn("Invoice job {} not started", jobId, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Invoice workers still running at shutdown; their jobs will be retried after the lease");
+        }
+    }
+
+    private List<Long> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        int abandoned = repository.failAbandoned(now, maxAttempts, "Worker stopped during the last allowed attempt");
+        if (abandoned > 0) {
+            log.warn("Failed {} invoice jobs abandoned on their last attempt", abandoned);
+        }
+        List<Long> ids = repository.lockRunnable(now, maxAttempts, limit);
+        if (!ids.isEmpty()) {
+            repository.markProcessing(ids, now, now.plus(lease));
+        }
+        return ids;
+    }
+
+    void run(Long jobId) {
+        InvoiceJob job = repository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                paymentService.generateInvoice(job.getRentalId());
+                if (finish(job, InvoiceJobStatus.COMPLETED, null, LocalDateTime.now()) == 0) {
+                    // Lease ran out and another worker took the job; roll back so it saves the only invoice
+                    status.setRollbackOnly();
+                    log.warn("Invoice job {} lost its lease, leaving it to the new owner", jobId);
+                }
+            });
+            log.debug("Invoice job {} completed for rental: {}", jobId, job.getRentalId());
+        } catch (RuntimeException e) {
+            boolean retry = job.getAttempts() < maxAttempts;
+            LocalDateTime now = LocalDateTime.now();
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            transactionTemplate.executeWithoutResult(status -> finish(job,
+                retry ? InvoiceJobStatus.PENDING : InvoiceJobStatus.FAILED,
+                error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error,
+                now.plus(retryBackoff.multipliedBy(job.getAttempts()))));
+            log.warn("Invoice job {} for rental {} failed on attempt {}{}", jobId, job.getRentalId(),
+                job.getAttempts(), retry ? ", will retry" : ", giving up", e);
+        }
+    }
+
+    private int finish(InvoiceJob job, InvoiceJobStatus status, String error, LocalDateTime availableAt) {
+        return repository.finish(job.getId(), job.getAttempts(), status, error, availableAt, LocalDateTime.now());
+    }
+
+    private static InvoiceJobResponse toResponse(InvoiceJob job) {
+        return InvoiceJobResponse.builder()
+            .rentalId(job.getRentalId())
+            .status(job.getStatus())
+            .attempts(job.getAttempts())
+            .lastError(job.getLastError())
+            .createdAt(job.getCreatedAt())
+            .updatedAt(job.getUpdatedAt())
+            .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.carrental.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out invoice numbers of the form INV-yyyyMMdd-nnnnnnnnnnnn.
+ * Sequence values are reserved in blocks from invoice_number_seq, whose increment is the block size,
+ * so each node draws from its own range and only goes to the database once per block. Within a block a
+ * number costs one atomic increment. Numbers increase on each node and sort by date then sequence;
+ * a block left unused when the node stops is skipped, so there can be gaps but never duplicates.
+ */
+@Component
+@Slf4j
+public class InvoiceNumberGenerator {
+
+    private static final String PREFIX = "INV-";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('invoice_number_seq')";
+    private static final String SEQUENCE_INCREMENT_SQL =
+        "SELECT increment_by FROM pg_sequences WHERE sequencename = 'invoice_number_seq'";
+
+    private final LongSupplier blockAllocator;
+    private final int blockSize;
+    private final Object refillLock = new Object();
+
+    private volatile Block block = new Block(0, 0);
+    private volatile DatePrefix datePrefix = new DatePrefix(LocalDate.MIN, "");
+
+    @Autowired
+    public InvoiceNumberGenerator(JdbcTemplate jdbcTemplate,
+                                  @Value("${carrental.invoices.number-block-size:100}") int blockSize) {
+        this(() -> jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class), blockSize);
+        String database = jdbcTemplate.execute(
+            (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            checkSequenceIncrement(
+                DataAccessUtils.singleResult(jdbcTemplate.queryForList(SEQUENCE_INCREMENT_SQL, Long.class)), blockSize);
+        }
+    }
+
+    /**
+     * @param blockAllocator First value of a newly reserved block; consecutive calls must return
+     *                       values at least blockSize apart
+     */
+    public InvoiceNumberGenerator(LongSupplier blockAllocator, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Invoice number block size must be positive");
+        }
+        this.blockAllocator = blockAllocator;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Fail at startup rather than hand out duplicate numbers: with an increment smaller than the block
+     * size, blocks reserved by different nodes would overlap, and with a larger one numbers are wasted
+     *
+     * @param incrementBy INCREMENT BY of invoice_number_seq, or null if the sequence does not exist
+     */
+    static void checkSequenceIncrement(Long incrementBy, int blockSize) {
+        if (incrementBy == null) {
+            throw new IllegalStateException(
+                "invoice_number_seq does not exist; apply db/postgres/invoice-number-sequence.sql");
+        }
+        if (incrementBy != blockSize) {
+            throw new IllegalStateException("invoice_number_seq increments by " + incrementBy
+                + " but carrental.invoices.number-block-size is " + blockSize + "; they must be equal");
+        }
+    }
+
+    private static final class Block {
+        final AtomicLong next;
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+
+    private record DatePrefix(LocalDate date, String text) {
+    }
+
+    /**
+     * Next invoice number, dated today
+     */
+    public String next() {
+        return format(LocalDate.now(), nextSequence());
+    }
+
+    /**
+     * Next sequence value; lock-free except when a block runs out
+     */
+    long nextSequence() {
+        while (true) {
+            Block current = block;
+            long value = current.next.getAndIncrement();
+            if (value < current.end) {
+                return value;
+            }
+            refill(current);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        synchronized (refillLock) {
+            // Another thread already moved on to a new block
+            if (block != exhausted) {
+                return;
+            }
+            long start = blockAllocator.getAsLong();
+            log.debug("Reserved invoice numbers {} to {}", start, start + blockSize - 1);
+            block = new Block(start, start + blockSize);
+        }
+    }
+
+    private String format(LocalDate date, long sequence) {
+        DatePrefix prefix = datePrefix;
+        if (!prefix.date().equals(date)) {
+            prefix = new DatePrefix(date, PREFIX + DATE_FORMAT.format(date) + "-");
+            datePrefix = prefix;
+        }
+        String digits = Long.toString(sequence);
+        StringBuilder number = new StringBuilder(prefix.text().length() + 12);
+        number.append(prefix.text());
+        for (int i = digits.length(); i < 12; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package com.carrental.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Payment processor used to send refunds back to the customer.
+ * The refund ID is passed as the processor's idempotency key: a refund retried after its worker
+ * stopped mid-call must not be paid out twice.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Refund part or all of a captured payment
+     *
+     * @param refundId Refund being paid out, unique per refund
+     * @param paymentTransactionId Processor transaction ID of the original payment
+     * @param amount Amount to refund
+     */
+    RefundResult refund(Long refundId, String paymentTransactionId, BigDecimal amount);
+
+    /**
+     * Outcome of a refund call. A retryable failure, such as a timeout or rate limit, is tried again later;
+     * any other failure is final.
+     */
+    record RefundResult(boolean succeeded, boolean retryable, String reference, String error) {
+
+        public static RefundResult succeeded(String reference) {
+            return new RefundResult(true, false, reference, null);
+        }
+
+        public static RefundResult declined(String error) {
+            return new RefundResult(false, false, null, error);
+        }
+
+        public static RefundResult retryLater(String error) {
+            return new RefundResult(false, true, null, error);
+        }
+    }
+}
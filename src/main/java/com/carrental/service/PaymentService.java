@@ -2,6 +2,7 @@ package com.carrental.service;
 
 import com.carrental.dto.request.CreatePaymentRequest;
 import com.carrental.dto.request.ProcessRefundRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.InvoiceResponse;
 import com.carrental.dto.response.PaymentResponse;
 import com.carrental.dto.response.RefundResponse;
@@ -11,18 +12,20 @@ import com.carrental.exception.PaymentException;
 import com.carrental.mapper.InvoiceMapper;
 import com.carrental.mapper.PaymentMapper;
 import com.carrental.repository.*;
+import com.carrental.util.PageCursor;
 import com.carrental.util.PaymentUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -37,9 +40,9 @@ public class PaymentService {
     private final UserRepository userRepository;
     private final PaymentMapper paymentMapper;
     private final InvoiceMapper invoiceMapper;
-    
-    // Tax rate (can be made configurable)
-    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.10);
+    private final StatusCounterRegistry statusCounters;
+    private final RevenueRollupService revenueRollup;
+    private final InvoiceNumberGenerator invoiceNumbers;
     
     /**
      * Process a payment for a rental
@@ -88,6 +91,8 @@ public class PaymentService {
             .build();
         
         Payment savedPayment = paymentRepository.save(payment);
+        statusCounters.paymentTransitioned(null, savedPayment.getStatus());
+        revenueRollup.recordPayment(savedPayment.getCreatedAt(), savedPayment.getAmount());
         log.info("Payment processed successfully with ID: {}", savedPayment.getId());
         
         return paymentMapper.toResponse(savedPayment);
@@ -129,6 +134,23 @@ public class PaymentService {
             .map(paymentMapper::toResponse);
     }
     
+    /**
+     * Get a keyset page of a user's payments, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> getUserPayments(Long userId, String cursor, int size) {
+        log.debug("Fetching payments for user: {} after cursor: {}", userId, cursor);
+        
+        int limit = CursorPage.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable fetch = PageRequest.ofSize(limit + 1);
+        List<Payment> rows = after == null
+            ? paymentRepository.findFirstPageByUserId(userId, fetch)
+            : paymentRepository.findPageByUserIdAfter(userId, after.sortKey(), after.id(), fetch);
+        
+        return CursorPage.of(rows, limit, p -> new PageCursor(p.getCreatedAt(), p.getId()), paymentMapper::toResponse);
+    }
+    
     /**
      * Process refund for a payment
      */
@@ -174,6 +196,8 @@ public class PaymentService {
         
         payment.setRefundedAmount(newRefundedAmount);
         paymentRepository.save(payment);
+        statusCounters.paymentTransitioned(PaymentStatus.COMPLETED, payment.getStatus());
+        revenueRollup.recordRefund(savedRefund.getCreatedAt(), savedRefund.getAmount());
         
         log.info("Refund created successfully with ID: {}", savedRefund.getId());
         
@@ -189,16 +213,50 @@ public class PaymentService {
     }
     
     /**
-     * Generate invoice for a rental
+     * Undo what refundPayment applied for a refund the gateway did not pay out:
+     * the payment's refunded amount and status, and the refund in the daily revenue rollup
+     */
+    public void reverseFailedRefund(Long paymentId, BigDecimal amount, LocalDateTime issuedAt) {
+        log.info("Reversing failed refund of {} for payment: {}", amount, paymentId);
+        
+        Payment payment = paymentRepository.findById(paymentId)
+            .orElseThrow(() -> new PaymentException("Payment not found"));
+        
+        PaymentStatus before = payment.getStatus();
+        BigDecimal refundedAmount = (payment.getRefundedAmount() == null ? BigDecimal.ZERO : payment.getRefundedAmount())
+            .subtract(amount)
+            .max(BigDecimal.ZERO);
+        payment.setRefundedAmount(refundedAmount);
+        if (before == PaymentStatus.REFUNDED || before == PaymentStatus.PARTIALLY_REFUNDED) {
+            payment.setStatus(refundedAmount.signum() == 0 ? PaymentStatus.COMPLETED : PaymentStatus.PARTIALLY_REFUNDED);
+        }
+        
+        paymentRepository.save(payment);
+        if (payment.getStatus() != before) {
+            statusCounters.paymentTransitioned(before, payment.getStatus());
+        }
+        revenueRollup.reverseRefund(issuedAt, amount);
+    }
+    
+    /**
+     * Invoice of a rental if it has been generated
+     */
+    @Transactional(readOnly = true)
+    public Optional<InvoiceResponse> findInvoice(Long rentalId) {
+        return invoiceRepository.findWithRentalByRentalId(rentalId).map(invoiceMapper::toResponse);
+    }
+    
+    /**
+     * Generate invoice for a rental; run by InvoiceJobService rather than on a request thread
      */
     public InvoiceResponse generateInvoice(Long rentalId) {
         log.info("Generating invoice for rental: {}", rentalId);
         
         // Check if invoice already exists
-        if (invoiceRepository.findByRentalId(rentalId).isPresent()) {
+        Optional<Invoice> existingInvoice = invoiceRepository.findByRentalId(rentalId);
+        if (existingInvoice.isPresent()) {
             log.warn("Invoice already exists for rental: {}", rentalId);
-            Invoice existingInvoice = invoiceRepository.findByRentalId(rentalId).get();
-            return invoiceMapper.toResponse(existingInvoice);
+            return invoiceMapper.toResponse(existingInvoice.get());
         }
         
         // Fetch rental
@@ -207,14 +265,14 @@ public class PaymentService {
         
         // Calculate amounts
         BigDecimal subtotal = rental.getTotalCost();
-        BigDecimal taxes = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal taxes = PaymentUtil.calculateTaxes(subtotal);
         BigDecimal discount = BigDecimal.ZERO; // Can be enhanced with discount codes
         BigDecimal totalAmount = subtotal.add(taxes).subtract(discount);
         
         // Create invoice
         Invoice invoice = Invoice.builder()
             .rental(rental)
-            .invoiceNumber(PaymentUtil.generateInvoiceNumber())
+            .invoiceNumber(invoiceNumbers.next())
             .subtotal(subtotal)
             .taxes(taxes)
             .discount(discount)
@@ -240,7 +298,7 @@ public class PaymentService {
         
         BigDecimal baseCost = rental.getTotalCost();
         BigDecimal additionalFees = rental.getAdditionalFees() != null ? rental.getAdditionalFees() : BigDecimal.ZERO;
-        BigDecimal taxes = baseCost.add(additionalFees).multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal taxes = PaymentUtil.calculateTaxes(baseCost.add(additionalFees));
         
         return baseCost.add(additionalFees).add(taxes);
     }
@@ -262,20 +320,4 @@ public class PaymentService {
         LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
         return paymentRepository.calculateTotalRevenueFrom(startOfMonth);
     }
-    
-    /**
-     * Process pending refunds (scheduled task)
-     */
-    public void processPendingRefunds() {
-        log.info("Processing pending refunds");
-        
-        List<Refund> refunds = refundRepository.findStuckProcessingRefunds(
-            LocalDateTime.now().minusHours(24)
-        );
-        
-        for (Refund refund : refunds) {
-            log.warn("Refund stuck in processing: {}", refund.getId());
-            // Could send notification or escalate
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.carrental.service;
+
+import com.carrental.util.ProfanityMatcher;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Review moderation word list, matched with an Aho-Corasick automaton.
+ * Dictionaries are UTF-8 files with one word or phrase per line and # comments, typically one per locale.
+ * They are checked for changes periodically; a changed set is compiled into a new matcher and swapped in
+ * whole, so a check runs against either the old or the new dictionary, never a mix.
+ */
+@Component
+@Slf4j
+public class ProfanityFilter {
+
+    private final ResourceLoader resourceLoader;
+    private final List<String> locations;
+
+    private volatile ProfanityMatcher matcher;
+    private volatile List<Long> lastModified = List.of();
+
+    public ProfanityFilter(ResourceLoader resourceLoader,
+                           @Value("${carrental.reviews.moderation.dictionaries:classpath:moderation/profanity.txt}")
+                           String[] locations) {
+        this.resourceLoader = resourceLoader;
+        this.locations = Arrays.asList(locations);
+    }
+
+    /**
+     * Whether any of the texts contains a listed word or phrase; null texts are skipped
+     */
+    public boolean containsProfanity(String... texts) {
+        return matcher.matches(texts);
+    }
+
+    @PostConstruct
+    public void load() {
+        reload();
+    }
+
+    /**
+     * Compile the dictionaries and swap the new matcher in.
+     * On failure the current matcher stays in place; at startup, when there is none, the error propagates.
+     */
+    public synchronized void reload() {
+        List<Long> modified = lastModifiedTimes();
+        List<String> words = new ArrayList<>();
+        try {
+            for (String location : locations) {
+                readWords(resourceLoader.getResource(location), words);
+            }
+        } catch (IOException e) {
+            if (matcher == null) {
+                throw new UncheckedIOException("Failed to load moderation dictionaries " + locations, e);
+            }
+            log.error("Failed to reload moderation dictionaries {}, keeping current list", locations, e);
+            return;
+        }
+
+        matcher = ProfanityMatcher.of(words);
+        lastModified = modified;
+        log.info("Moderation dictionary loaded: {} entries from {}", matcher.size(), locations);
+    }
+
+    @Scheduled(fixedDelayString = "${carrental.reviews.moderation.reload-check-ms:60000}",
+               initialDelayString = "${carrental.reviews.moderation.reload-check-ms:60000}")
+    public void reloadIfChanged() {
+        if (!lastModifiedTimes().equals(lastModified)) {
+            reload();
+        }
+    }
+
+    private List<Long> lastModifiedTimes() {
+        List<Long> times = new ArrayList<>(locations.size());
+        for (String location : locations) {
+            try {
+                times.add(resourceLoader.getResource(location).lastModified());
+            } catch (IOException e) {
+                // Not a file, e.g. inside the application jar: it cannot change while running
+                times.add(0L);
+            }
+        }
+        return times;
+    }
+
+    private static void readWords(Resource resource, List<String> words) throws IOException {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String word = line.strip();
+                if (!word.isEmpty() && !word.startsWith("#")) {
+                    words.add(word);
+                }
+            }
+        }
+    }
+}
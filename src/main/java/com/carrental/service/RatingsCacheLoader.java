@@ -0,0 +1,43 @@
+package com.carrental.service;
+
+import com.carrental.config.CacheConfig;
+import com.carrental.config.RefreshingCacheLoader;
+import com.carrental.dto.response.RatingDistribution;
+import com.carrental.entity.VehicleRatingStats;
+import com.carrental.repository.VehicleRatingStatsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes entries of the ratings cache in the background when they are due for refresh.
+ * Keys are "distribution:{vehicleId}", read from the vehicle's row in vehicle_rating_stats.
+ */
+@Component
+@RequiredArgsConstructor
+public class RatingsCacheLoader implements RefreshingCacheLoader {
+
+    static final String DISTRIBUTION_PREFIX = "distribution:";
+
+    private final VehicleRatingStatsRepository statsRepository;
+
+    static String cacheKey(Long vehicleId) {
+        return DISTRIBUTION_PREFIX + vehicleId;
+    }
+
+    @Override
+    public String cacheName() {
+        return CacheConfig.RATINGS;
+    }
+
+    @Override
+    public Object load(Object key) {
+        String cacheKey = key.toString();
+        if (cacheKey.startsWith(DISTRIBUTION_PREFIX)) {
+            Long vehicleId = Long.valueOf(cacheKey.substring(DISTRIBUTION_PREFIX.length()));
+            return statsRepository.findById(vehicleId)
+                .map(VehicleRatingStats::toDistribution)
+                .orElseGet(() -> RatingDistribution.empty(vehicleId));
+        }
+        throw new IllegalArgumentException("Unknown ratings cache key: " + key);
+    }
+}
@@ -0,0 +1,237 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.RefundStatus;
+import com.carrental.repository.RefundClaimRow;
+import com.carrental.repository.RefundRepository;
+import com.carrental.service.PaymentGateway.RefundResult;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pays out refunds through the PaymentGateway, moving them from INITIATED through PROCESSING to
+ * COMPLETED or FAILED. Each batch is claimed in a short transaction with FOR UPDATE SKIP LOCKED, so
+ * nodes draining the queue at the same time take disjoint batches. Gateway calls run outside any
+ * transaction and their outcomes are written back with one JDBC batch. A refund whose worker stopped
+ * is claimed again once its lease runs out, or failed if that was its last allowed attempt; a retryable
+ * failure is tried again after a growing delay.
+ * A refund that fails for good has its amount given back to the payment and taken out of the revenue rollup.
+ */
+@Component
+@Slf4j
+public class RefundWorker {
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    // The attempts check skips a refund whose lease ran out and was claimed again meanwhile
+    private static final String RECORD_SQL =
+        "UPDATE refunds SET status = ?, claimed_until = ?, gateway_reference = ?, failure_reason = ?, " +
+        "processed_at = ? WHERE id = ? AND status = 'PROCESSING' AND attempts = ?";
+
+    private final RefundRepository refundRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentService paymentService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer completionLatency;
+
+    public RefundWorker(RefundRepository refundRepository,
+                        PaymentGateway paymentGateway,
+                        PaymentService paymentService,
+                        JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${carrental.refunds.worker.batch-size:50}") int batchSize,
+                        @Value("${carrental.refunds.worker.lease-seconds:300}") long leaseSeconds,
+                        @Value("${carrental.refunds.worker.max-attempts:5}") int maxAttempts,
+                        @Value("${carrental.refunds.worker.retry-backoff-seconds:60}") long retryBackoffSeconds) {
+        this.refundRepository = refundRepository;
+        this.paymentGateway = paymentGateway;
+        this.paymentService = paymentService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = Duration.ofSeconds(retryBackoffSeconds);
+
+        Gauge.builder("refunds.queue.depth", queueDepth, AtomicLong::get)
+            .description("Refunds INITIATED or PROCESSING, as of the last drain")
+            .register(meterRegistry);
+        this.completionLatency = Timer.builder("refunds.completion.latency")
+            .description("Time from refund request to gateway confirmation")
+            .register(meterRegistry);
+    }
+
+    private record Outcome(RefundClaimRow refund, RefundStatus status, LocalDateTime claimedUntil,
+                           String reference, String failureReason, LocalDateTime processedAt) {
+    }
+
+    /**
+     * Process batches until the queue has no refund ready for a gateway call
+     */
+    @Scheduled(fixedDelayString = "${carrental.refunds.worker.poll-ms:5000}")
+    public void drain() {
+        failAbandoned();
+        int processed;
+        do {
+            processed = processBatch();
+        } while (processed == batchSize);
+        queueDepth.set(refundRepository.countQueued());
+    }
+
+    /**
+     * Claim one batch, call the gateway for each refund and record the outcomes
+     *
+     * @return number of refunds claimed
+     */
+    int processBatch() {
+        List<RefundClaimRow> claimed = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> ids = refundRepository.lockClaimable(now, maxAttempts, batchSize);
+            if (ids.isEmpty()) {
+                return List.<RefundClaimRow>of();
+            }
+            refundRepository.markProcessing(ids, now.plus(lease));
+            return refundRepository.findClaimRows(ids);
+        });
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Outcome> outcomes = new ArrayList<>(claimed.size());
+        for (RefundClaimRow refund : claimed) {
+            outcomes.add(outcome(refund, callGateway(refund), LocalDateTime.now()));
+        }
+        record(outcomes);
+        return claimed.size();
+    }
+
+    /**
+     * Fail refunds whose worker stopped during their last allowed attempt, which would otherwise
+     * stay PROCESSING for good
+     */
+    private void failAbandoned() {
+        List<RefundClaimRow> abandoned = transactionTemplate.execute(status -> {
+            List<Long> ids = refundRepository.lockAbandoned(LocalDateTime.now(), maxAttempts, batchSize);
+            return ids.isEmpty() ? List.<RefundClaimRow>of() : refundRepository.findClaimRows(ids);
+        });
+        if (abandoned.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Outcome> outcomes = new ArrayList<>(abandoned.size());
+        for (RefundClaimRow refund : abandoned) {
+            log.warn("Refund {} abandoned by its worker on attempt {}, failing it", refund.getId(), refund.getAttempts());
+            outcomes.add(new Outcome(refund, RefundStatus.FAILED, null, null,
+                "Worker stopped during the last allowed attempt", now));
+        }
+        record(outcomes);
+    }
+
+    private RefundResult callGateway(RefundClaimRow refund) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RefundResult result;
+        try {
+            result = paymentGateway.refund(refund.getId(), refund.getPaymentTransactionId(), refund.getAmount());
+        } catch (RuntimeException e) {
+            log.warn("Gateway call failed for refund {}", refund.getId(), e);
+            result = RefundResult.retryLater(e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+        String outcome = result.succeeded() ? "succeeded" : result.retryable() ? "retry" : "declined";
+        sample.stop(Timer.builder("refunds.gateway.latency")
+            .description("Payment gateway refund call time")
+            .tag("outcome", outcome)
+            .register(meterRegistry));
+        return result;
+    }
+
+    private Outcome outcome(RefundClaimRow refund, RefundResult result, LocalDateTime now) {
+        if (result.succeeded()) {
+            return new Outcome(refund, RefundStatus.COMPLETED, null, result.reference(), null, now);
+        }
+        String reason = truncate(result.error());
+        if (result.retryable() && refund.getAttempts() < maxAttempts) {
+            LocalDateTime retryAt = now.plus(retryBackoff.multipliedBy(refund.getAttempts()));
+            return new Outcome(refund, RefundStatus.INITIATED, retryAt, null, reason, null);
+        }
+        log.warn("Refund {} failed after {} attempts: {}", refund.getId(), refund.getAttempts(), reason);
+        return new Outcome(refund, RefundStatus.FAILED, null, null, reason, now);
+    }
+
+    private void record(List<Outcome> outcomes) {
+        boolean[] recorded = transactionTemplate.execute(status -> {
+            int[][] updated = jdbcTemplate.batchUpdate(RECORD_SQL, outcomes, outcomes.size(), (ps, outcome) -> {
+                ps.setString(1, outcome.status().name());
+                ps.setTimestamp(2, timestamp(outcome.claimedUntil()));
+                ps.setString(3, outcome.reference());
+                ps.setString(4, outcome.failureReason());
+                ps.setTimestamp(5, timestamp(outcome.processedAt()));
+                ps.setLong(6, outcome.refund().getId());
+                ps.setInt(7, outcome.refund().getAttempts());
+            });
+
+            // One batch of outcomes.size() statements, so counts line up with outcomes; drivers that
+            // cannot report per-statement counts return SUCCESS_NO_INFO (-2)
+            int[] counts = updated.length > 0 ? updated[0] : new int[0];
+            boolean[] applied = new boolean[outcomes.size()];
+            for (int i = 0; i < outcomes.size(); i++) {
+                applied[i] = i >= counts.length || counts[i] != 0;
+                Outcome outcome = outcomes.get(i);
+                if (applied[i] && outcome.status() == RefundStatus.FAILED) {
+                    // Not paid out, so give the amount back to the payment in the same transaction
+                    paymentService.reverseFailedRefund(outcome.refund().getPaymentId(),
+                        outcome.refund().getAmount(), outcome.refund().getCreatedAt());
+                }
+            }
+            return applied;
+        });
+
+        int lost = 0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            Outcome outcome = outcomes.get(i);
+            if (!recorded[i]) {
+                lost++;
+            } else if (outcome.status() == RefundStatus.COMPLETED && outcome.refund().getCreatedAt() != null) {
+                completionLatency.record(Duration.between(outcome.refund().getCreatedAt(), outcome.processedAt()));
+            }
+        }
+        if (lost > 0) {
+            log.warn("{} of {} refund outcomes not recorded; their leases ran out and they were claimed again",
+                lost, outcomes.size());
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private static String truncate(String reason) {
+        if (reason == null || reason.length() <= MAX_REASON_LENGTH) {
+            return reason;
+        }
+        return reason.substring(0, MAX_REASON_LENGTH);
+    }
+}
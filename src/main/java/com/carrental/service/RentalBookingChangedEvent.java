@@ -0,0 +1,31 @@
+package com.carrental.service;
+
+import com.carrental.entity.Rental;
+import com.carrental.entity.enums.RentalStatus;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by RentalService whenever a rental's booking window or status changes.
+ * Listeners that keep in-memory booking state run after the transaction commits.
+ */
+@Value
+public class RentalBookingChangedEvent {
+
+    Long rentalId;
+    Long vehicleId;
+    LocalDateTime pickupDate;
+    LocalDateTime returnDate;
+    RentalStatus status;
+
+    public static RentalBookingChangedEvent of(Rental rental) {
+        return new RentalBookingChangedEvent(
+            rental.getId(),
+            rental.getVehicle().getId(),
+            rental.getPickupDate(),
+            rental.getReturnDate(),
+            rental.getStatus()
+        );
+    }
+}
@@ -1,7 +1,9 @@
 package com.carrental.service;
 
+import com.carrental.config.CacheConfig;
 import com.carrental.dto.request.CreateRentalRequest;
 import com.carrental.dto.request.UpdateRentalRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.RentalResponse;
 import com.carrental.entity.Rental;
 import com.carrental.entity.User;
@@ -11,18 +13,26 @@ import com.carrental.exception.BookingConflictException;
 import com.carrental.exception.RentalException;
 import com.carrental.mapper.RentalMapper;
 import com.carrental.repository.RentalRepository;
+import com.carrental.repository.RentalSummary;
 import com.carrental.repository.UserRepository;
 import com.carrental.repository.VehicleRepository;
+import com.carrental.util.PageCursor;
+import com.carrental.util.RentalUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
 import java.util.Arrays;
 import java.util.List;
 
@@ -36,10 +46,20 @@ public class RentalService {
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final RentalMapper rentalMapper;
+    private final VehicleAvailabilityIndex availabilityIndex;
+    private final BookingCoordinator bookingCoordinator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StatusCounterRegistry statusCounters;
+    private final InvoiceJobService invoiceJobs;
     
     private static final List<RentalStatus> BLOCKING_STATUSES = 
         Arrays.asList(RentalStatus.PENDING, RentalStatus.CONFIRMED, RentalStatus.ACTIVE);
     
+    private static final String BOOKING_CONFLICT_MESSAGE = "Vehicle is not available for the selected dates";
+    
+    // PostgreSQL exclusion_violation
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    
     public RentalResponse createRental(Long userId, CreateRentalRequest request) {
         log.info("Creating rental for user: {}, vehicle: {}", userId, request.getVehicleId());
         
@@ -55,11 +75,11 @@ public class RentalService {
             .orElseThrow(() -> new RentalException("Vehicle not found"));
         
         // Check vehicle availability
-        checkVehicleAvailability(vehicle.getId(), request.getPickupDate(), request.getReturnDate());
+        reserveBookingWindow(vehicle.getId(), request.getPickupDate(), request.getReturnDate(), null);
         
         // Calculate rental cost
-        long rentalDays = calculateRentalDays(request.getPickupDate(), request.getReturnDate());
-        BigDecimal totalCost = calculateTotalCost(vehicle.getDailyRate(), rentalDays);
+        long rentalDays = RentalUtil.calculateRentalDays(request.getPickupDate(), request.getReturnDate());
+        BigDecimal totalCost = RentalUtil.calculateTotalCost(vehicle.getDailyRate(), rentalDays);
         
         // Create rental
         Rental rental = Rental.builder()
@@ -75,13 +95,16 @@ public class RentalService {
             .status(RentalStatus.PENDING)
             .build();
         
-        Rental savedRental = rentalRepository.save(rental);
+        Rental savedRental = saveBooking(rental);
+        eventPublisher.publishEvent(RentalBookingChangedEvent.of(savedRental));
+        statusCounters.rentalTransitioned(null, RentalStatus.PENDING);
         log.info("Rental created successfully with ID: {}", savedRental.getId());
         
         return rentalMapper.toResponse(savedRental);
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse getRentalById(Long rentalId) {
         log.debug("Fetching rental: {}", rentalId);
         
@@ -95,18 +118,33 @@ public class RentalService {
     public Page<RentalResponse> getUserRentals(Long userId, Pageable pageable) {
         log.debug("Fetching rentals for user: {}", userId);
         
-        return rentalRepository.findByUserId(userId, pageable)
+        return rentalRepository.findSummariesByUserId(userId, pageable)
             .map(rentalMapper::toResponse);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPage<RentalResponse> getUserRentals(Long userId, String cursor, int size) {
+        log.debug("Fetching rentals for user: {} after cursor: {}", userId, cursor);
+        
+        int limit = CursorPage.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable fetch = PageRequest.ofSize(limit + 1);
+        List<RentalSummary> rows = after == null
+            ? rentalRepository.findFirstPageByUserId(userId, fetch)
+            : rentalRepository.findPageByUserIdAfter(userId, after.sortKey(), after.id(), fetch);
+        
+        return CursorPage.of(rows, limit, r -> new PageCursor(r.getCreatedAt(), r.getId()), rentalMapper::toResponse);
+    }
+    
     @Transactional(readOnly = true)
     public Page<RentalResponse> getUserRentalsByStatus(Long userId, RentalStatus status, Pageable pageable) {
         log.debug("Fetching rentals for user: {} with status: {}", userId, status);
         
-        return rentalRepository.findByUserIdAndStatus(userId, status, pageable)
+        return rentalRepository.findSummariesByUserIdAndStatus(userId, status, pageable)
             .map(rentalMapper::toResponse);
     }
     
+    @CacheEvict(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse updateRental(Long rentalId, Long userId, UpdateRentalRequest request) {
         log.info("Updating rental: {} for user: {}", rentalId, userId);
         
@@ -125,17 +163,14 @@ public class RentalService {
             throw new RentalException("Cannot modify rental less than 24 hours before pickup");
         }
         
-        // Update fields if provided
-        if (request.getPickupDate() != null) {
-            validateDates(request.getPickupDate(), request.getReturnDate() != null ? request.getReturnDate() : rental.getReturnDate());
-            checkVehicleAvailability(rental.getVehicle().getId(), request.getPickupDate(), 
-                                    request.getReturnDate() != null ? request.getReturnDate() : rental.getReturnDate());
-            rental.setPickupDate(request.getPickupDate());
-        }
-        
-        if (request.getReturnDate() != null) {
-            validateDates(request.getPickupDate() != null ? request.getPickupDate() : rental.getPickupDate(), request.getReturnDate());
-            rental.setReturnDate(request.getReturnDate());
+        // Update booking window if provided; the rental's own booking never conflicts with itself
+        if (request.getPickupDate() != null || request.getReturnDate() != null) {
+            LocalDateTime newPickupDate = request.getPickupDate() != null ? request.getPickupDate() : rental.getPickupDate();
+            LocalDateTime newReturnDate = request.getReturnDate() != null ? request.getReturnDate() : rental.getReturnDate();
+            validateDates(newPickupDate, newReturnDate);
+            reserveBookingWindow(rental.getVehicle().getId(), newPickupDate, newReturnDate, rental.getId());
+            rental.setPickupDate(newPickupDate);
+            rental.setReturnDate(newReturnDate);
         }
         
         if (request.getPickupLocation() != null) {
@@ -151,16 +186,18 @@ public class RentalService {
         }
         
         // Recalculate total cost
-        long rentalDays = calculateRentalDays(rental.getPickupDate(), rental.getReturnDate());
-        BigDecimal newTotalCost = calculateTotalCost(rental.getDailyRate(), rentalDays);
+        long rentalDays = RentalUtil.calculateRentalDays(rental.getPickupDate(), rental.getReturnDate());
+        BigDecimal newTotalCost = RentalUtil.calculateTotalCost(rental.getDailyRate(), rentalDays);
         rental.setTotalCost(newTotalCost);
         
-        Rental updatedRental = rentalRepository.save(rental);
+        Rental updatedRental = saveBooking(rental);
+        eventPublisher.publishEvent(RentalBookingChangedEvent.of(updatedRental));
         log.info("Rental updated successfully: {}", rentalId);
         
         return rentalMapper.toResponse(updatedRental);
     }
     
+    @CacheEvict(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse cancelRental(Long rentalId, Long userId) {
         log.info("Cancelling rental: {} for user: {}", rentalId, userId);
         
@@ -179,13 +216,17 @@ public class RentalService {
             throw new RentalException("Cannot cancel an active rental. Please return the vehicle first.");
         }
         
+        RentalStatus previousStatus = rental.getStatus();
         rental.setStatus(RentalStatus.CANCELLED);
         Rental cancelledRental = rentalRepository.save(rental);
+        eventPublisher.publishEvent(RentalBookingChangedEvent.of(cancelledRental));
+        statusCounters.rentalTransitioned(previousStatus, RentalStatus.CANCELLED);
         log.info("Rental cancelled successfully: {}", rentalId);
         
         return rentalMapper.toResponse(cancelledRental);
     }
     
+    @CacheEvict(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse confirmRental(Long rentalId) {
         log.info("Confirming rental: {}", rentalId);
         
@@ -198,11 +239,13 @@ public class RentalService {
         
         rental.setStatus(RentalStatus.CONFIRMED);
         Rental confirmedRental = rentalRepository.save(rental);
+        statusCounters.rentalTransitioned(RentalStatus.PENDING, RentalStatus.CONFIRMED);
         log.info("Rental confirmed successfully: {}", rentalId);
         
         return rentalMapper.toResponse(confirmedRental);
     }
     
+    @CacheEvict(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse activateRental(Long rentalId) {
         log.info("Activating rental: {}", rentalId);
         
@@ -215,11 +258,13 @@ public class RentalService {
         
         rental.setStatus(RentalStatus.ACTIVE);
         Rental activeRental = rentalRepository.save(rental);
+        statusCounters.rentalTransitioned(RentalStatus.CONFIRMED, RentalStatus.ACTIVE);
         log.info("Rental activated successfully: {}", rentalId);
         
         return rentalMapper.toResponse(activeRental);
     }
     
+    @CacheEvict(value = CacheConfig.RENTALS, key = "#rentalId")
     public RentalResponse completeRental(Long rentalId) {
         log.info("Completing rental: {}", rentalId);
         
@@ -232,6 +277,9 @@ public class RentalService {
         
         rental.setStatus(RentalStatus.COMPLETED);
         Rental completedRental = rentalRepository.save(rental);
+        eventPublisher.publishEvent(RentalBookingChangedEvent.of(completedRental));
+        statusCounters.rentalTransitioned(RentalStatus.ACTIVE, RentalStatus.COMPLETED);
+        invoiceJobs.enqueue(rentalId);
         log.info("Rental completed successfully: {}", rentalId);
         
         return rentalMapper.toResponse(completedRental);
@@ -243,19 +291,42 @@ public class RentalService {
         }
     }
     
-    private void checkVehicleAvailability(Long vehicleId, LocalDateTime pickupDate, LocalDateTime returnDate) {
-        List<Rental> conflicts = rentalRepository.findConflictingRentals(vehicleId, pickupDate, returnDate, BLOCKING_STATUSES);
+    private void reserveBookingWindow(Long vehicleId, LocalDateTime pickupDate, LocalDateTime returnDate,
+                                      Long excludeRentalId) {
+        // The exclusion constraint rejects overlaps atomically when the booking is flushed
+        if (bookingCoordinator.isExclusionConstraintEnabled()) {
+            return;
+        }
+        
+        // Held until commit so a concurrent booking for the vehicle cannot slip in after the check
+        bookingCoordinator.lockVehicle(vehicleId);
         
-        if (!conflicts.isEmpty()) {
-            throw new BookingConflictException("Vehicle is not available for the selected dates");
+        // Single node: bookings reach the index after commit and before the vehicle lock is released,
+        // so under the lock a miss is authoritative and saves the conflict query. A hit may be a rental
+        // released a moment ago and is confirmed against the database.
+        if (availabilityIndex.isComplete()
+                && !availabilityIndex.hasConflict(vehicleId, pickupDate, returnDate, excludeRentalId)) {
+            return;
+        }
+        if (rentalRepository.existsConflictingRental(vehicleId, pickupDate, returnDate, BLOCKING_STATUSES, excludeRentalId)) {
+            throw new BookingConflictException(BOOKING_CONFLICT_MESSAGE);
         }
     }
     
-    private long calculateRentalDays(LocalDateTime pickupDate, LocalDateTime returnDate) {
-        return ChronoUnit.DAYS.between(pickupDate, returnDate);
-    }
-    
-    private BigDecimal calculateTotalCost(BigDecimal dailyRate, long rentalDays) {
-        return dailyRate.multiply(BigDecimal.valueOf(rentalDays));
+    private Rental saveBooking(Rental rental) {
+        if (!bookingCoordinator.isExclusionConstraintEnabled()) {
+            return rentalRepository.save(rental);
+        }
+        
+        try {
+            return rentalRepository.saveAndFlush(rental);
+        } catch (DataIntegrityViolationException e) {
+            Throwable cause = e.getMostSpecificCause();
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                throw new BookingConflictException(BOOKING_CONFLICT_MESSAGE);
+            }
+            throw e;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.carrental.service;
+
+import com.carrental.entity.DailyRevenueRollup;
+import com.carrental.repository.PaymentExportRow;
+import com.carrental.repository.PaymentRepository;
+import com.carrental.repository.RentalExportRow;
+import com.carrental.repository.RentalRepository;
+import com.carrental.repository.UserExportRow;
+import com.carrental.repository.UserRepository;
+import com.carrental.repository.VehicleExportRow;
+import com.carrental.repository.VehicleRepository;
+import com.carrental.util.CsvWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Writes report exports as CSV directly to an output stream.
+ * Rows are read through forward-only, read-only result streams with a JDBC fetch size,
+ * so memory use stays constant however many rows an export covers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+public class ReportExportService {
+    
+    private final PaymentRepository paymentRepository;
+    private final RentalRepository rentalRepository;
+    private final VehicleRepository vehicleRepository;
+    private final UserRepository userRepository;
+    private final RevenueRollupService revenueRollup;
+    private final EntityManager entityManager;
+    
+    /**
+     * Export daily revenue totals for a date range
+     */
+    public void exportRevenue(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.row("date", "gross_revenue", "payments", "refunds", "refund_count", "net_revenue");
+            for (DailyRevenueRollup day : revenueRollup.getDailyTotals(startDate, endDate)) {
+                csv.row(day.getRevenueDate(), day.getGrossRevenue(), day.getPaymentCount(),
+                    day.getRefundAmount(), day.getRefundCount(), day.getNetRevenue());
+            }
+        }
+    }
+    
+    /**
+     * Export payments created in a date range
+     */
+    public void exportPayments(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out);
+             Stream<PaymentExportRow> rows = paymentRepository.streamForExport(
+                 startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            csv.row("id", "created_at", "rental_id", "user_id", "amount", "refunded_amount",
+                "payment_method", "status", "transaction_id");
+            long count = write(rows, row -> csv.row(row.getId(), row.getCreatedAt(), row.getRentalId(),
+                row.getUserId(), row.getAmount(), row.getRefundedAmount(), row.getPaymentMethod(),
+                row.getStatus(), row.getTransactionId()));
+            log.info("Exported {} payments from {} to {}", count, startDate, endDate);
+        }
+    }
+    
+    /**
+     * Export rentals created in a date range
+     */
+    public void exportRentals(LocalDate startDate, LocalDate endDate, OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out);
+             Stream<RentalExportRow> rows = rentalRepository.streamForExport(
+                 startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay())) {
+            csv.row("id", "created_at", "user_id", "vehicle_id", "pickup_date", "return_date", "status", "total_cost");
+            long count = write(rows, row -> csv.row(row.getId(), row.getCreatedAt(), row.getUserId(),
+                row.getVehicleId(), row.getPickupDate(), row.getReturnDate(), row.getStatus(), row.getTotalCost()));
+            log.info("Exported {} rentals from {} to {}", count, startDate, endDate);
+        }
+    }
+    
+    /**
+     * Export the whole fleet
+     */
+    public void exportVehicles(OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out);
+             Stream<VehicleExportRow> rows = vehicleRepository.streamForExport()) {
+            csv.row("id", "license_plate", "vin", "make", "model", "year", "type", "status", "daily_rate", "mileage");
+            long count = write(rows, row -> csv.row(row.getId(), row.getLicensePlate(), row.getVin(), row.getMake(),
+                row.getModel(), row.getYear(), row.getType(), row.getStatus(), row.getDailyRate(), row.getMileage()));
+            log.info("Exported {} vehicles", count);
+        }
+    }
+    
+    /**
+     * Export all users, without credentials
+     */
+    public void exportUsers(OutputStream out) throws IOException {
+        try (CsvWriter csv = new CsvWriter(out);
+             Stream<UserExportRow> rows = userRepository.streamForExport()) {
+            csv.row("id", "email", "first_name", "last_name", "role", "status", "created_at");
+            long count = write(rows, row -> csv.row(row.getId(), row.getEmail(), row.getFirstName(),
+                row.getLastName(), row.getRole(), row.getStatus(), row.getCreatedAt()));
+            log.info("Exported {} users", count);
+        }
+    }
+    
+    private <T> long write(Stream<T> rows, RowWriter<T> writer) throws IOException {
+        long[] count = {0};
+        try {
+            rows.forEach(row -> {
+                try {
+                    writer.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                // Projections are not managed, but drop anything else the session picked up
+                if (++count[0] % 10_000 == 0) {
+                    entityManager.clear();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+    
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
@@ -0,0 +1,247 @@
+package com.carrental.service;
+
+import com.carrental.entity.DailyRevenueRollup;
+import com.carrental.repository.DailyRevenueRollupRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains daily_revenue_rollup, one row of payment and refund totals per day.
+ * Payments and refunds only add to an in-memory delta for their day once their transaction commits,
+ * so they never wait on the day's row lock; the scheduler writes the deltas as relative updates, so
+ * totals lag by up to one flush interval. A nightly backfill rebuilds recent days from the payments
+ * and refunds tables, which also repairs deltas lost when a node stops without flushing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class RevenueRollupService {
+
+    private final DailyRevenueRollupRepository rollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    // Merged and removed atomically per day, so a delta added during a flush is never lost
+    private final Map<LocalDate, DayDelta> pending = new ConcurrentHashMap<>();
+
+    @Value("${carrental.revenue-rollup.backfill-days:7}")
+    private int backfillDays;
+
+    @Value("${carrental.revenue-rollup.initial-backfill-days:366}")
+    private int initialBackfillDays;
+
+    /**
+     * Add a payment to the totals of the day it was taken
+     */
+    public void recordPayment(LocalDateTime takenAt, BigDecimal amount) {
+        addAfterCommit(dateOf(takenAt), new DayDelta(amount, 1, BigDecimal.ZERO, 0));
+    }
+
+    /**
+     * Add several payments taken on one day, e.g. from a settlement import
+     */
+    public void recordPayments(LocalDate date, BigDecimal amount, long count) {
+        addAfterCommit(date, new DayDelta(amount, count, BigDecimal.ZERO, 0));
+    }
+
+    /**
+     * Add a refund to the totals of the day it was issued
+     */
+    public void recordRefund(LocalDateTime issuedAt, BigDecimal amount) {
+        addAfterCommit(dateOf(issuedAt), new DayDelta(BigDecimal.ZERO, 0, amount, 1));
+    }
+
+    /**
+     * Take a refund that failed back out of the totals of the day it was issued
+     */
+    public void reverseRefund(LocalDateTime issuedAt, BigDecimal amount) {
+        addAfterCommit(dateOf(issuedAt), new DayDelta(BigDecimal.ZERO, 0, amount.negate(), -1));
+    }
+
+    /**
+     * Write the accumulated deltas, one relative update per day in a single transaction;
+     * if it fails they are put back for the next run
+     *
+     * @return number of days updated
+     */
+    @Scheduled(fixedDelayString = "${carrental.revenue-rollup.flush-interval-ms:5000}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public synchronized int flush() {
+        Map<LocalDate, DayDelta> drained = new TreeMap<>();
+        for (LocalDate date : pending.keySet()) {
+            DayDelta delta = pending.remove(date);
+            if (delta != null) {
+                drained.put(date, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> drained.forEach(this::write));
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush revenue rollup for {} days, retrying next run", drained.size(), e);
+            drained.forEach(this::add);
+            return 0;
+        }
+        log.debug("Flushed revenue rollup for {} days", drained.size());
+        return drained.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * Daily totals for a date range, with a zero row for every day that had no activity
+     */
+    @Transactional(readOnly = true)
+    public List<DailyRevenueRollup> getDailyTotals(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, DailyRevenueRollup> stored = rollupRepository
+            .findByRevenueDateBetweenOrderByRevenueDate(startDate, endDate).stream()
+            .collect(Collectors.toMap(DailyRevenueRollup::getRevenueDate, Function.identity()));
+
+        List<DailyRevenueRollup> days = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            DailyRevenueRollup day = stored.get(date);
+            days.add(day != null ? day : emptyDay(date));
+        }
+        return days;
+    }
+
+    /**
+     * Rebuild the rollup rows for a date range from the payments and refunds tables
+     *
+     * @return number of days that had activity
+     */
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        log.info("Backfilling daily revenue rollup from {} to {}", startDate, endDate);
+
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+
+        Map<LocalDate, DailyRevenueRollup> days = new TreeMap<>();
+        for (Object[] row : rollupRepository.sumPaymentsByDay(from, to)) {
+            DailyRevenueRollup day = days.computeIfAbsent(toLocalDate(row[0]), RevenueRollupService::emptyDay);
+            day.setGrossRevenue(toBigDecimal(row[1]));
+            day.setPaymentCount(((Number) row[2]).longValue());
+        }
+        for (Object[] row : rollupRepository.sumRefundsByDay(from, to)) {
+            DailyRevenueRollup day = days.computeIfAbsent(toLocalDate(row[0]), RevenueRollupService::emptyDay);
+            day.setRefundAmount(toBigDecimal(row[1]));
+            day.setRefundCount(((Number) row[2]).longValue());
+        }
+
+        rollupRepository.deleteRange(startDate, endDate);
+        rollupRepository.saveAll(days.values());
+
+        log.info("Daily revenue rollup backfilled: {} days with activity", days.size());
+        return days.size();
+    }
+
+    /**
+     * Rebuild recent completed days; today is left to the incremental updates
+     */
+    @Scheduled(cron = "${carrental.revenue-rollup.backfill-cron:0 15 0 * * *}")
+    public void backfillRecentDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        backfill(yesterday.minusDays(backfillDays - 1L), yesterday);
+    }
+
+    /**
+     * Populate an empty rollup table on first start so reports have history
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            LocalDate today = LocalDate.now();
+            backfill(today.minusDays(initialBackfillDays), today);
+        }
+    }
+
+    private void addAfterCommit(LocalDate date, DayDelta delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(date, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(date, delta);
+            }
+        });
+    }
+
+    private void add(LocalDate date, DayDelta delta) {
+        pending.merge(date, delta, DayDelta::plus);
+    }
+
+    private void write(LocalDate date, DayDelta delta) {
+        if (addTotals(date, delta) == 0) {
+            // First activity of the day
+            rollupRepository.insertEmptyDay(date);
+            addTotals(date, delta);
+        }
+    }
+
+    private int addTotals(LocalDate date, DayDelta delta) {
+        return rollupRepository.addTotals(date, delta.grossRevenue(), delta.paymentCount(),
+            delta.refundAmount(), delta.refundCount());
+    }
+
+    private record DayDelta(BigDecimal grossRevenue, long paymentCount, BigDecimal refundAmount, long refundCount) {
+
+        private DayDelta plus(DayDelta other) {
+            return new DayDelta(grossRevenue.add(other.grossRevenue), paymentCount + other.paymentCount,
+                refundAmount.add(other.refundAmount), refundCount + other.refundCount);
+        }
+    }
+
+    private static DailyRevenueRollup emptyDay(LocalDate date) {
+        return DailyRevenueRollup.builder()
+            .revenueDate(date)
+            .grossRevenue(BigDecimal.ZERO)
+            .paymentCount(0L)
+            .refundAmount(BigDecimal.ZERO)
+            .refundCount(0L)
+            .updatedAt(LocalDateTime.now())
+            .build();
+    }
+
+    private static LocalDate dateOf(LocalDateTime timestamp) {
+        return timestamp != null ? timestamp.toLocalDate() : LocalDate.now();
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -2,6 +2,7 @@ package com.carrental.service;
 
 import com.carrental.dto.request.CreateReviewRequest;
 import com.carrental.dto.request.UpdateReviewRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.RatingDistribution;
 import com.carrental.dto.response.ReviewResponse;
 import com.carrental.entity.Review;
@@ -17,10 +18,13 @@ import com.carrental.repository.ReviewRepository;
 import com.carrental.repository.RentalRepository;
 import com.carrental.repository.UserRepository;
 import com.carrental.repository.VehicleRepository;
+import com.carrental.service.VehicleRatingStatsService.Contribution;
+import com.carrental.util.PageCursor;
 import com.carrental.util.ReviewUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +32,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +45,10 @@ public class ReviewService {
     private final UserRepository userRepository;
     private final VehicleRepository vehicleRepository;
     private final ReviewMapper reviewMapper;
+    private final StatusCounterRegistry statusCounters;
+    private final ReviewVoteAccumulator voteAccumulator;
+    private final VehicleRatingStatsService ratingStats;
+    private final ProfanityFilter profanityFilter;
     
     private static final long REVIEW_SUBMISSION_DEADLINE_DAYS = 30;
     
@@ -80,7 +89,7 @@ public class ReviewService {
         }
         
         // Check for profanity
-        if (ReviewUtil.containsProfanity(request.getTitle()) || ReviewUtil.containsProfanity(request.getContent())) {
+        if (profanityFilter.containsProfanity(request.getTitle(), request.getContent())) {
             throw new ReviewException("Review contains inappropriate content");
         }
         
@@ -110,6 +119,7 @@ public class ReviewService {
             .build();
         
         Review savedReview = reviewRepository.save(review);
+        statusCounters.reviewTransitioned(null, ReviewStatus.PENDING);
         log.info("Review submitted successfully with ID: {}", savedReview.getId());
         
         return reviewMapper.toResponse(savedReview);
@@ -122,8 +132,25 @@ public class ReviewService {
     public Page<ReviewResponse> getVehicleReviews(Long vehicleId, Pageable pageable) {
         log.debug("Fetching reviews for vehicle: {}", vehicleId);
         
-        return reviewRepository.findByVehicleIdAndStatus(vehicleId, ReviewStatus.APPROVED, pageable)
-            .map(reviewMapper::toResponse);
+        return reviewRepository.findResponsesByVehicleIdAndStatus(vehicleId, ReviewStatus.APPROVED, pageable);
+    }
+    
+    /**
+     * Get a keyset page of approved reviews for a vehicle, newest first
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewResponse> getVehicleReviews(Long vehicleId, String cursor, int size) {
+        log.debug("Fetching reviews for vehicle: {} after cursor: {}", vehicleId, cursor);
+        
+        int limit = CursorPage.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        Pageable fetch = PageRequest.ofSize(limit + 1);
+        List<ReviewResponse> rows = after == null
+            ? reviewRepository.findFirstPageByVehicleIdAndStatus(vehicleId, ReviewStatus.APPROVED, fetch)
+            : reviewRepository.findPageByVehicleIdAndStatusAfter(
+                vehicleId, ReviewStatus.APPROVED, after.sortKey(), after.id(), fetch);
+        
+        return CursorPage.of(rows, limit, r -> new PageCursor(r.getCreatedAt(), r.getId()), Function.identity());
     }
     
     /**
@@ -133,8 +160,7 @@ public class ReviewService {
     public Page<ReviewResponse> getMostHelpfulReviews(Long vehicleId, Pageable pageable) {
         log.debug("Fetching most helpful reviews for vehicle: {}", vehicleId);
         
-        return reviewRepository.findMostHelpfulReviewsByVehicle(vehicleId, pageable)
-            .map(reviewMapper::toResponse);
+        return reviewRepository.findMostHelpfulResponsesByVehicle(vehicleId, pageable);
     }
     
     /**
@@ -144,8 +170,7 @@ public class ReviewService {
     public Page<ReviewResponse> getRecentReviews(Long vehicleId, Pageable pageable) {
         log.debug("Fetching recent reviews for vehicle: {}", vehicleId);
         
-        return reviewRepository.findRecentReviewsByVehicle(vehicleId, pageable)
-            .map(reviewMapper::toResponse);
+        return reviewRepository.findRecentResponsesByVehicle(vehicleId, pageable);
     }
     
     /**
@@ -190,20 +215,22 @@ public class ReviewService {
             throw new ReviewException("Cannot update a deleted review");
         }
         
+        Contribution before = Contribution.of(review);
+        
         // Update fields if provided
         if (request.getRating() != null) {
             review.setRating(request.getRating());
         }
         
         if (request.getTitle() != null) {
-            if (ReviewUtil.containsProfanity(request.getTitle())) {
+            if (profanityFilter.containsProfanity(request.getTitle())) {
                 throw new ReviewException("Updated title contains inappropriate content");
             }
             review.setTitle(ReviewUtil.sanitizeContent(request.getTitle()));
         }
         
         if (request.getContent() != null) {
-            if (ReviewUtil.containsProfanity(request.getContent())) {
+            if (profanityFilter.containsProfanity(request.getContent())) {
                 throw new ReviewException("Updated content contains inappropriate content");
             }
             review.setContent(ReviewUtil.sanitizeContent(request.getContent()));
@@ -226,9 +253,12 @@ public class ReviewService {
         }
         
         // Reset status to pending after update
+        ReviewStatus previousStatus = review.getStatus();
         review.setStatus(ReviewStatus.PENDING);
         
         Review updatedReview = reviewRepository.save(review);
+        statusCounters.reviewTransitioned(previousStatus, ReviewStatus.PENDING);
+        ratingStats.reviewChanged(review.getVehicle().getId(), before, Contribution.of(updatedReview));
         log.info("Review updated successfully: {}", reviewId);
         
         return reviewMapper.toResponse(updatedReview);
@@ -247,10 +277,40 @@ public class ReviewService {
             throw new ReviewException("Unauthorized: Cannot delete review belonging to another user");
         }
         
+        Contribution before = Contribution.of(review);
+        ReviewStatus previousStatus = review.getStatus();
         review.setStatus(ReviewStatus.DELETED);
         reviewRepository.save(review);
+        statusCounters.reviewTransitioned(previousStatus, ReviewStatus.DELETED);
+        ratingStats.reviewChanged(review.getVehicle().getId(), before, null);
+        
+        log.info("Review deleted successfully: {}", reviewId);
+    }
+    
+    /**
+     * Flag a review for moderation
+     */
+    public ReviewResponse flagReview(Long reviewId, String reason) {
+        log.info("Flagging review: {} with reason: {}", reviewId, reason);
         
+        Review review = reviewRepository.findById(reviewId)
+            .orElseThrow(() -> new ReviewException("Review not found"));
+        
+        if (review.getStatus() == ReviewStatus.DELETED) {
+            throw new ReviewException("Cannot flag a deleted review");
+        }
+        
+        Contribution before = Contribution.of(review);
+        ReviewStatus previousStatus = review.getStatus();
+        review.setStatus(ReviewStatus.FLAGGED);
+        review.setFlagReason(reason);
+        
+        Review flaggedReview = reviewRepository.save(review);
+        statusCounters.reviewTransitioned(previousStatus, ReviewStatus.FLAGGED);
+        ratingStats.reviewChanged(review.getVehicle().getId(), before, Contribution.of(flaggedReview));
         log.info("Review flagged successfully: {}", reviewId);
+        
+        return reviewMapper.toResponse(flaggedReview);
     }
     
     /**
@@ -266,10 +326,14 @@ public class ReviewService {
             throw new ReviewException("Cannot approve a deleted review");
         }
         
+        Contribution before = Contribution.of(review);
+        ReviewStatus previousStatus = review.getStatus();
         review.setStatus(ReviewStatus.APPROVED);
         review.setFlagReason(null);
         
         Review approvedReview = reviewRepository.save(review);
+        statusCounters.reviewTransitioned(previousStatus, ReviewStatus.APPROVED);
+        ratingStats.reviewChanged(review.getVehicle().getId(), before, Contribution.of(approvedReview));
         log.info("Review approved successfully: {}", reviewId);
         
         return reviewMapper.toResponse(approvedReview);
@@ -284,39 +348,65 @@ public class ReviewService {
         Review review = reviewRepository.findById(reviewId)
             .orElseThrow(() -> new ReviewException("Review not found"));
         
+        Contribution before = Contribution.of(review);
+        ReviewStatus previousStatus = review.getStatus();
         review.setStatus(ReviewStatus.REJECTED);
         review.setFlagReason(reason);
         
         Review rejectedReview = reviewRepository.save(review);
+        statusCounters.reviewTransitioned(previousStatus, ReviewStatus.REJECTED);
+        ratingStats.reviewChanged(review.getVehicle().getId(), before, Contribution.of(rejectedReview));
         log.info("Review rejected successfully: {}", reviewId);
         
         return reviewMapper.toResponse(rejectedReview);
     }
     
+    /**
+     * Get average approved rating for a vehicle
+     */
+    @Transactional(readOnly = true)
+    public Double getAverageRating(Long vehicleId) {
+        log.debug("Fetching average rating for vehicle: {}", vehicleId);
+        
+        return ratingStats.getDistribution(vehicleId).getAverageRating();
+    }
+    
+    /**
+     * Get approved rating distribution for a vehicle
+     */
+    @Transactional(readOnly = true)
+    public RatingDistribution getRatingDistribution(Long vehicleId) {
+        log.debug("Fetching rating distribution for vehicle: {}", vehicleId);
+        
+        return ratingStats.getDistribution(vehicleId);
+    }
+    
     /**
      * Mark review as helpful
      */
+    @Transactional(readOnly = true)
     public void markAsHelpful(Long reviewId) {
         log.debug("Marking review {} as helpful", reviewId);
         
-        Review review = reviewRepository.findById(reviewId)
-            .orElseThrow(() -> new ReviewException("Review not found"));
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ReviewException("Review not found");
+        }
         
-        review.setHelpfulCount(review.getHelpfulCount() + 1);
-        reviewRepository.save(review);
+        voteAccumulator.recordHelpful(reviewId);
     }
     
     /**
      * Mark review as unhelpful
      */
+    @Transactional(readOnly = true)
     public void markAsUnhelpful(Long reviewId) {
         log.debug("Marking review {} as unhelpful", reviewId);
         
-        Review review = reviewRepository.findById(reviewId)
-            .orElseThrow(() -> new ReviewException("Review not found"));
+        if (!reviewRepository.existsById(reviewId)) {
+            throw new ReviewException("Review not found");
+        }
         
-        review.setUnhelpfulCount(review.getUnhelpfulCount() + 1);
-        reviewRepository.save(review);
+        voteAccumulator.recordUnhelpful(reviewId);
     }
     
     /**
@@ -0,0 +1,110 @@
+package com.carrental.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces helpful/unhelpful votes in memory and writes them as relative updates.
+ * A vote is an atomic in-memory merge, so concurrent clicks on a popular review neither contend
+ * on a row lock nor fail optimistic locking. The scheduler removes each review's deltas and applies
+ * them in one JDBC batch of {@code helpful_count = helpful_count + ?} updates; a final flush runs on shutdown.
+ *
+ * Votes reach the database within one flush interval. Since votes and the flush only touch an entry
+ * through atomic map operations, a vote either lands in the removed delta or starts a new one, and
+ * the map only holds reviews voted on since the last flush.
+ */
+@Component
+@Slf4j
+public class ReviewVoteAccumulator {
+
+    static final String FLUSH_SQL =
+        "UPDATE reviews SET helpful_count = helpful_count + ?, unhelpful_count = unhelpful_count + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final Map<Long, VoteCounts> pending = new ConcurrentHashMap<>();
+
+    private static final VoteCounts HELPFUL = new VoteCounts(1, 0);
+    private static final VoteCounts UNHELPFUL = new VoteCounts(0, 1);
+
+    public ReviewVoteAccumulator(JdbcTemplate jdbcTemplate,
+                                 @Value("${carrental.reviews.votes.flush-batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public void recordHelpful(Long reviewId) {
+        add(reviewId, HELPFUL);
+    }
+
+    public void recordUnhelpful(Long reviewId) {
+        add(reviewId, UNHELPFUL);
+    }
+
+    /**
+     * Write all accumulated votes; deltas that fail to write are put back for the next run
+     *
+     * @return number of reviews updated
+     */
+    @Scheduled(fixedDelayString = "${carrental.reviews.votes.flush-interval-ms:5000}")
+    public synchronized int flush() {
+        List<Object[]> updates = new ArrayList<>();
+        for (Long reviewId : pending.keySet()) {
+            VoteCounts counts = pending.remove(reviewId);
+            if (counts != null && (counts.helpful() != 0 || counts.unhelpful() != 0)) {
+                updates.add(new Object[]{counts.helpful(), counts.unhelpful(), reviewId});
+            }
+        }
+        if (updates.isEmpty()) {
+            return 0;
+        }
+
+        for (int from = 0; from < updates.size(); from += batchSize) {
+            List<Object[]> batch = updates.subList(from, Math.min(from + batchSize, updates.size()));
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            } catch (RuntimeException e) {
+                log.warn("Failed to flush {} review vote updates, retrying next run", batch.size(), e);
+                batch.forEach(this::restore);
+            }
+        }
+        log.debug("Flushed votes for {} reviews", updates.size());
+        return updates.size();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        if (flushed > 0) {
+            log.info("Flushed pending votes for {} reviews on shutdown", flushed);
+        }
+    }
+
+    int pendingReviews() {
+        return pending.size();
+    }
+
+    private void add(Long reviewId, VoteCounts counts) {
+        pending.merge(reviewId, counts, VoteCounts::plus);
+    }
+
+    private void restore(Object[] update) {
+        add((Long) update[2], new VoteCounts((Long) update[0], (Long) update[1]));
+    }
+
+    private record VoteCounts(long helpful, long unhelpful) {
+
+        private VoteCounts plus(VoteCounts other) {
+            return new VoteCounts(helpful + other.helpful, unhelpful + other.unhelpful);
+        }
+    }
+}
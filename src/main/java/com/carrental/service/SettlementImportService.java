@@ -0,0 +1,346 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.SettlementImportReport;
+import com.carrental.dto.response.SettlementImportReport.Discrepancy;
+import com.carrental.dto.response.SettlementImportReport.Outcome;
+import com.carrental.entity.enums.PaymentMethod;
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.exception.PaymentException;
+import com.carrental.repository.PaymentRepository;
+import com.carrental.repository.RentalRepository;
+import com.carrental.util.CsvReader;
+import com.carrental.util.PaymentUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records captured payments from a processor settlement file.
+ * The CSV is parsed as it streams in and handled in chunks: each chunk resolves its rentals, known
+ * transaction IDs and already-paid rentals with one IN query apiece, validates amounts in memory and
+ * inserts its payments with one JDBC batch, all in its own transaction. Rows that are not recorded
+ * are returned as discrepancies rather than failing the file.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SettlementImportService {
+
+    private static final List<String> COLUMNS = List.of(
+        "transactionid", "rentalid", "amount", "paymentmethod", "capturedat", "description");
+    private static final List<String> OPTIONAL_COLUMNS = List.of("capturedat", "description");
+
+    private static final String INSERT_SQL =
+        "INSERT INTO payments (rental_id, user_id, amount, refunded_amount, payment_method, transaction_id, " +
+        "status, description, created_at, updated_at, version) VALUES (?, ?, ?, 0, ?, ?, 'COMPLETED', ?, ?, ?, 0)";
+
+    private final RentalRepository rentalRepository;
+    private final PaymentRepository paymentRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StatusCounterRegistry statusCounters;
+    private final RevenueRollupService revenueRollup;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${carrental.payments.settlement.chunk-size:1000}")
+    private int chunkSize;
+
+    private record SettlementRow(int row, String transactionId, Long rentalId, BigDecimal amount,
+                                 PaymentMethod paymentMethod, LocalDateTime capturedAt, String description) {
+    }
+
+    private record Accepted(SettlementRow row, Long userId) {
+    }
+
+    /**
+     * Running totals for one file; only updated once a chunk has committed
+     */
+    private static final class Reconciliation {
+        int totalRows;
+        int created;
+        int duplicates;
+        int rejected;
+        BigDecimal settledAmount = BigDecimal.ZERO;
+        BigDecimal createdAmount = BigDecimal.ZERO;
+        final List<Discrepancy> discrepancies = new ArrayList<>();
+        final Set<String> transactionIds = new HashSet<>();
+        final Set<Long> paidRentalIds = new HashSet<>();
+
+        void add(Discrepancy discrepancy) {
+            discrepancies.add(discrepancy);
+            if (discrepancy.getOutcome() == Outcome.DUPLICATE) {
+                duplicates++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+
+    /**
+     * Import a settlement file with a header row naming transactionId, rentalId, amount and paymentMethod
+     * (any case, with or without underscores, any order), plus optional capturedAt and description.
+     *
+     * @param in CSV body; read to the end but not closed
+     * @return Reconciliation of the file against recorded payments
+     */
+    public SettlementImportReport importSettlement(InputStream in) throws IOException {
+        long startedAt = System.nanoTime();
+        CsvReader reader = new CsvReader(in);
+        List<String> headerRecord = reader.next();
+        if (headerRecord == null || CsvReader.isBlank(headerRecord)) {
+            throw new PaymentException("Settlement CSV header is required");
+        }
+        Map<String, Integer> header = parseHeader(headerRecord);
+
+        Reconciliation reconciliation = new Reconciliation();
+        List<SettlementRow> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (CsvReader.isBlank(record)) {
+                continue;
+            }
+            int row = ++reconciliation.totalRows;
+            SettlementRow parsed = parseRow(record, header, row, reconciliation);
+            if (parsed != null) {
+                chunk.add(parsed);
+            }
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, reconciliation);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, reconciliation);
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        long rowsPerSecond = elapsedNanos > 0 ? reconciliation.totalRows * 1_000_000_000L / elapsedNanos : 0;
+        recordMetrics(reconciliation, elapsedNanos);
+        log.info("Settlement import finished: {} rows, {} created, {} duplicate, {} rejected in {} ms ({} rows/s)",
+            reconciliation.totalRows, reconciliation.created, reconciliation.duplicates, reconciliation.rejected,
+            elapsedMillis, rowsPerSecond);
+
+        return SettlementImportReport.builder()
+            .totalRows(reconciliation.totalRows)
+            .createdCount(reconciliation.created)
+            .duplicateCount(reconciliation.duplicates)
+            .rejectedCount(reconciliation.rejected)
+            .settledAmount(reconciliation.settledAmount)
+            .createdAmount(reconciliation.createdAmount)
+            .elapsedMillis(elapsedMillis)
+            .rowsPerSecond(rowsPerSecond)
+            .discrepancies(reconciliation.discrepancies)
+            .build();
+    }
+
+    private void processChunk(List<SettlementRow> chunk, Reconciliation reconciliation) {
+        List<Accepted> accepted = new ArrayList<>(chunk.size());
+        List<Discrepancy> discrepancies = new ArrayList<>();
+        Set<String> chunkTransactionIds = new HashSet<>();
+        Set<Long> chunkPaidRentalIds = new HashSet<>();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> rentalIds = new HashSet<>();
+                Set<String> transactionIds = new HashSet<>();
+                for (SettlementRow row : chunk) {
+                    rentalIds.add(row.rentalId());
+                    transactionIds.add(row.transactionId());
+                }
+
+                // rentalId -> (rentalId, userId, totalCost)
+                Map<Long, Object[]> rentals = new HashMap<>();
+                for (Object[] rental : rentalRepository.findSettlementTargets(rentalIds)) {
+                    rentals.put((Long) rental[0], rental);
+                }
+                Set<String> recorded = new HashSet<>(paymentRepository.findExistingTransactionIds(transactionIds));
+                Set<Long> paid = new HashSet<>(paymentRepository.findRentalIdsWithStatus(rentalIds, PaymentStatus.COMPLETED));
+
+                for (SettlementRow row : chunk) {
+                    Object[] rental = rentals.get(row.rentalId());
+                    BigDecimal expected = rental != null ? (BigDecimal) rental[2] : null;
+                    if (recorded.contains(row.transactionId())
+                            || reconciliation.transactionIds.contains(row.transactionId())
+                            || !chunkTransactionIds.add(row.transactionId())) {
+                        discrepancies.add(discrepancy(row, expected, Outcome.DUPLICATE, "Transaction ID already recorded"));
+                    } else if (rental == null) {
+                        discrepancies.add(discrepancy(row, null, Outcome.REJECTED, "Rental not found"));
+                    } else if (row.amount().compareTo(expected) != 0) {
+                        discrepancies.add(discrepancy(row, expected, Outcome.REJECTED, "Amount does not match rental total cost"));
+                    } else if (paid.contains(row.rentalId())
+                            || reconciliation.paidRentalIds.contains(row.rentalId())
+                            || !chunkPaidRentalIds.add(row.rentalId())) {
+                        discrepancies.add(discrepancy(row, expected, Outcome.REJECTED, "Rental already has a completed payment"));
+                    } else {
+                        accepted.add(new Accepted(row, (Long) rental[1]));
+                    }
+                }
+
+                insert(accepted);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            // e.g. a payment recorded concurrently through POST /payments; report the chunk and carry on
+            log.warn("Settlement chunk of {} rows starting at row {} failed", chunk.size(), chunk.get(0).row(), e);
+            for (SettlementRow row : chunk) {
+                reconciliation.add(discrepancy(row, null, Outcome.REJECTED,
+                    "Chunk could not be written: " + e.getMostSpecificCause().getMessage()));
+            }
+            return;
+        }
+
+        reconciliation.transactionIds.addAll(chunkTransactionIds);
+        reconciliation.paidRentalIds.addAll(chunkPaidRentalIds);
+        discrepancies.forEach(reconciliation::add);
+        for (Accepted payment : accepted) {
+            reconciliation.created++;
+            reconciliation.createdAmount = reconciliation.createdAmount.add(payment.row().amount());
+        }
+    }
+
+    // One JDBC batch per chunk; payments use IDENTITY keys, which Hibernate cannot batch
+    private void insert(List<Accepted> accepted) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, accepted, accepted.size(), (ps, payment) -> {
+            SettlementRow row = payment.row();
+            LocalDateTime createdAt = row.capturedAt() != null ? row.capturedAt() : now;
+            ps.setLong(1, row.rentalId());
+            ps.setLong(2, payment.userId());
+            ps.setBigDecimal(3, row.amount());
+            ps.setString(4, row.paymentMethod().name());
+            ps.setString(5, row.transactionId());
+            ps.setString(6, row.description());
+            ps.setTimestamp(7, Timestamp.valueOf(createdAt));
+            ps.setTimestamp(8, Timestamp.valueOf(now));
+        });
+
+        // One rollup update per day instead of per payment
+        Map<LocalDate, BigDecimal> amountByDay = new TreeMap<>();
+        Map<LocalDate, Long> countByDay = new HashMap<>();
+        for (Accepted payment : accepted) {
+            SettlementRow row = payment.row();
+            LocalDate day = (row.capturedAt() != null ? row.capturedAt() : now).toLocalDate();
+            amountByDay.merge(day, row.amount(), BigDecimal::add);
+            countByDay.merge(day, 1L, Long::sum);
+            statusCounters.paymentTransitioned(null, PaymentStatus.COMPLETED);
+        }
+        amountByDay.forEach((day, amount) -> revenueRollup.recordPayments(day, amount, countByDay.get(day)));
+    }
+
+    private SettlementRow parseRow(List<String> record, Map<String, Integer> header, int row,
+                                   Reconciliation reconciliation) {
+        String transactionId = field(record, header, "transactionid");
+        String rentalId = field(record, header, "rentalid");
+        String amount = field(record, header, "amount");
+        String paymentMethod = field(record, header, "paymentmethod");
+
+        String error = null;
+        SettlementRow parsed = null;
+        if (transactionId == null || rentalId == null || amount == null || paymentMethod == null) {
+            error = "Missing transactionId, rentalId, amount or paymentMethod";
+        } else {
+            try {
+                String capturedAt = field(record, header, "capturedat");
+                parsed = new SettlementRow(row, transactionId, Long.valueOf(rentalId), new BigDecimal(amount),
+                    PaymentMethod.valueOf(paymentMethod.toUpperCase(Locale.ROOT)),
+                    capturedAt != null ? LocalDateTime.parse(capturedAt) : null,
+                    field(record, header, "description"));
+                if (!PaymentUtil.isValidAmount(parsed.amount())) {
+                    error = "Invalid payment amount";
+                }
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                error = "Malformed row: " + e.getMessage();
+            }
+        }
+
+        if (parsed != null) {
+            reconciliation.settledAmount = reconciliation.settledAmount.add(parsed.amount());
+        }
+        if (error != null) {
+            reconciliation.add(Discrepancy.builder()
+                .row(row)
+                .transactionId(transactionId)
+                .settledAmount(parsed != null ? parsed.amount() : null)
+                .outcome(Outcome.REJECTED)
+                .reason(error)
+                .build());
+            return null;
+        }
+        return parsed;
+    }
+
+    private static Discrepancy discrepancy(SettlementRow row, BigDecimal expected, Outcome outcome, String reason) {
+        return Discrepancy.builder()
+            .row(row.row())
+            .transactionId(row.transactionId())
+            .rentalId(row.rentalId())
+            .settledAmount(row.amount())
+            .expectedAmount(expected)
+            .outcome(outcome)
+            .reason(reason)
+            .build();
+    }
+
+    private void recordMetrics(Reconciliation reconciliation, long elapsedNanos) {
+        Timer.builder("payments.settlement.import")
+            .description("Time to import one settlement file")
+            .register(meterRegistry)
+            .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("payments.settlement.rows", "outcome", "created").increment(reconciliation.created);
+        meterRegistry.counter("payments.settlement.rows", "outcome", "duplicate").increment(reconciliation.duplicates);
+        meterRegistry.counter("payments.settlement.rows", "outcome", "rejected").increment(reconciliation.rejected);
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> names) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).replace("_", "").trim().toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(name)) {
+                header.put(name, i);
+            }
+        }
+        for (String column : COLUMNS) {
+            if (!OPTIONAL_COLUMNS.contains(column) && !header.containsKey(column)) {
+                throw new PaymentException("Settlement CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static String field(List<String> record, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,162 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.repository.PaymentRepository;
+import com.carrental.repository.RentalRepository;
+import com.carrental.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Live per-status counts of rentals, payments and reviews.
+ * Seeded from the database at startup, moved by each committed state transition,
+ * and periodically reconciled against grouped counts to correct any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatusCounterRegistry {
+
+    private final RentalRepository rentalRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReviewRepository reviewRepository;
+
+    private final StatusCounters<RentalStatus> rentals = new StatusCounters<>(RentalStatus.class);
+    private final StatusCounters<PaymentStatus> payments = new StatusCounters<>(PaymentStatus.class);
+    private final StatusCounters<ReviewStatus> reviews = new StatusCounters<>(ReviewStatus.class);
+
+    private volatile boolean seeded;
+
+    public void rentalTransitioned(RentalStatus from, RentalStatus to) {
+        afterCommit(() -> rentals.transition(from, to));
+    }
+
+    public void paymentTransitioned(PaymentStatus from, PaymentStatus to) {
+        afterCommit(() -> payments.transition(from, to));
+    }
+
+    public void reviewTransitioned(ReviewStatus from, ReviewStatus to) {
+        afterCommit(() -> reviews.transition(from, to));
+    }
+
+    public Map<RentalStatus, Long> rentalCounts() {
+        return rentals.snapshot();
+    }
+
+    public Map<PaymentStatus, Long> paymentCounts() {
+        return payments.snapshot();
+    }
+
+    public Map<ReviewStatus, Long> reviewCounts() {
+        return reviews.snapshot();
+    }
+
+    /**
+     * Whether the counters have been loaded from the database at least once
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+        log.info("Status counters seeded: rentals={}, payments={}, reviews={}",
+            rentals.snapshot(), payments.snapshot(), reviews.snapshot());
+    }
+
+    @Scheduled(fixedDelayString = "${carrental.dashboard.counter-reconcile-ms:300000}",
+               initialDelayString = "${carrental.dashboard.counter-reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        rentals.reconcile(rentalRepository::countGroupedByStatus);
+        payments.reconcile(paymentRepository::countGroupedByStatus);
+        reviews.reconcile(reviewRepository::countGroupedByStatus);
+        seeded = true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static final class StatusCounters<E extends Enum<E>> {
+
+        private final Class<E> type;
+        private final Map<E, LongAdder> counts;
+
+        StatusCounters(Class<E> type) {
+            this.type = type;
+            this.counts = new EnumMap<>(type);
+            for (E status : type.getEnumConstants()) {
+                counts.put(status, new LongAdder());
+            }
+        }
+
+        // from is null for a newly created row
+        void transition(E from, E to) {
+            if (from == to) {
+                return;
+            }
+            if (from != null) {
+                counts.get(from).decrement();
+            }
+            if (to != null) {
+                counts.get(to).increment();
+            }
+        }
+
+        Map<E, Long> snapshot() {
+            Map<E, Long> snapshot = new EnumMap<>(type);
+            counts.forEach((status, count) -> snapshot.put(status, count.sum()));
+            return snapshot;
+        }
+
+        /**
+         * Correct each counter by its difference from the database count. A status whose counter moved
+         * while the query ran is left alone, since the commit may or may not be in the result;
+         * the next run picks it up.
+         */
+        void reconcile(Supplier<List<Object[]>> query) {
+            Map<E, Long> before = snapshot();
+            Map<E, Long> actual = new EnumMap<>(type);
+            for (Object[] row : query.get()) {
+                actual.put(type.cast(row[0]), ((Number) row[1]).longValue());
+            }
+            Map<E, Long> after = snapshot();
+
+            counts.forEach((status, count) -> {
+                long live = after.get(status);
+                if (live != before.get(status)) {
+                    return;
+                }
+                long drift = actual.getOrDefault(status, 0L) - live;
+                if (drift != 0) {
+                    count.add(drift);
+                    log.debug("{} {} counter corrected by {}", type.getSimpleName(), status, drift);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.carrental.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Local stand-in for a payment processor: approves every refund after a configurable delay.
+ * Active unless carrental.payments.gateway names another implementation.
+ */
+@Component
+@ConditionalOnProperty(name = "carrental.payments.gateway", havingValue = "stub", matchIfMissing = true)
+@Slf4j
+public class StubPaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+
+    public StubPaymentGateway(@Value("${carrental.payments.stub-gateway.latency-ms:0}") long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    @Override
+    public RefundResult refund(Long refundId, String paymentTransactionId, BigDecimal amount) {
+        if (latencyMs > 0) {
+            try {
+                Thread.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return RefundResult.retryLater("Interrupted");
+            }
+        }
+        log.debug("Stub gateway refunded {} of transaction {} for refund {}", amount, paymentTransactionId, refundId);
+        // Derived from the refund ID, so a repeated call returns the same reference
+        return RefundResult.succeeded("stub-refund-" + refundId);
+    }
+}
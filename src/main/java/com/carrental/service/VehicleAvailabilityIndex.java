@@ -0,0 +1,194 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.repository.RentalBookingWindow;
+import com.carrental.repository.RentalRepository;
+import com.carrental.util.IntervalTree;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of blocking rentals (PENDING, CONFIRMED, ACTIVE), one interval tree per vehicle.
+ * Warmed from the database at startup and kept current from committed booking changes,
+ * so availability checks are answered without a database round trip.
+ * The index is local to the node: bookings changed on other nodes never reach it. It is only complete
+ * in single-node (local lock mode) deployments; elsewhere its answers are hints to be confirmed against
+ * the database, which remains the source of truth.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VehicleAvailabilityIndex {
+
+    private static final List<RentalStatus> BLOCKING_STATUSES =
+        Arrays.asList(RentalStatus.PENDING, RentalStatus.CONFIRMED, RentalStatus.ACTIVE);
+
+    private final RentalRepository rentalRepository;
+
+    private final Map<Long, IntervalTree> timelines = new ConcurrentHashMap<>();
+    private final Map<Long, BookingWindow> windowsByRental = new ConcurrentHashMap<>();
+
+    // Rentals changed while warming up; the startup snapshot may be older than these changes
+    private final Set<Long> changedDuringWarmUp = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean ready;
+
+    // Advisory locks and the exclusion constraint exist for several nodes sharing the database
+    @Value("${carrental.booking.lock-mode:local}")
+    private String lockMode;
+
+    @Value("${carrental.booking.exclusion-constraint.enabled:false}")
+    private boolean exclusionConstraintEnabled;
+
+    /**
+     * Load all blocking rentals once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(0)
+    @Transactional(readOnly = true)
+    public void warmUp() {
+        log.info("Warming up vehicle availability index");
+        long started = System.currentTimeMillis();
+
+        List<RentalBookingWindow> windows = rentalRepository.findBookingWindows(BLOCKING_STATUSES);
+        for (RentalBookingWindow window : windows) {
+            if (!changedDuringWarmUp.contains(window.getId())) {
+                track(window.getId(), window.getVehicleId(), window.getPickupDate(), window.getReturnDate());
+            }
+        }
+
+        ready = true;
+        changedDuringWarmUp.clear();
+        log.info("Vehicle availability index ready with {} bookings across {} vehicles in {} ms",
+            windowsByRental.size(), timelines.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Apply a committed booking change
+     */
+    @TransactionalEventListener
+    @Order(0)
+    public void onBookingChanged(RentalBookingChangedEvent event) {
+        if (!ready) {
+            changedDuringWarmUp.add(event.getRentalId());
+        }
+
+        untrack(event.getRentalId());
+        if (event.getStatus() != null && event.getStatus().isBlocking()) {
+            track(event.getRentalId(), event.getVehicleId(), event.getPickupDate(), event.getReturnDate());
+        }
+    }
+
+    /**
+     * Whether the index has been loaded and can answer queries
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Whether the index is loaded and sees every booking, i.e. this is the only node
+     */
+    public boolean isComplete() {
+        return ready && "local".equalsIgnoreCase(lockMode.trim()) && !exclusionConstraintEnabled;
+    }
+
+    /**
+     * Check whether a booking window collides with a blocking rental.
+     * Windows that touch at an endpoint count as a conflict, matching the booking query.
+     * Always returns false until the index is ready, so callers fall back to the database.
+     *
+     * @param excludeRentalId rental to ignore (the one being modified), or null
+     */
+    public boolean hasConflict(Long vehicleId, LocalDateTime pickupDate, LocalDateTime returnDate, Long excludeRentalId) {
+        if (!ready) {
+            return false;
+        }
+        IntervalTree timeline = timelines.get(vehicleId);
+        if (timeline == null) {
+            return false;
+        }
+        long exclude = excludeRentalId != null ? excludeRentalId : IntervalTree.NO_EXCLUSION;
+        synchronized (timeline) {
+            return timeline.overlaps(toMillis(pickupDate), toMillis(returnDate), true, exclude);
+        }
+    }
+
+    /**
+     * Check whether a vehicle is free for [startDate, endDate).
+     * Rentals that end exactly when the window starts do not make the vehicle unavailable.
+     */
+    public boolean isAvailable(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
+        IntervalTree timeline = timelines.get(vehicleId);
+        if (timeline == null) {
+            return true;
+        }
+        synchronized (timeline) {
+            return !timeline.overlaps(toMillis(startDate), toMillis(endDate), false, IntervalTree.NO_EXCLUSION);
+        }
+    }
+
+    /**
+     * IDs of vehicles that currently have at least one blocking booking tracked
+     */
+    public Set<Long> trackedVehicleIds() {
+        return Set.copyOf(timelines.keySet());
+    }
+
+    /**
+     * Visit the blocking booking windows currently held for a vehicle
+     */
+    public void forEachBooking(Long vehicleId, IntervalTree.IntervalVisitor visitor) {
+        IntervalTree timeline = timelines.get(vehicleId);
+        if (timeline == null) {
+            return;
+        }
+        synchronized (timeline) {
+            timeline.forEach(visitor);
+        }
+    }
+
+    static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private void track(Long rentalId, Long vehicleId, LocalDateTime pickupDate, LocalDateTime returnDate) {
+        BookingWindow window = new BookingWindow(vehicleId, toMillis(pickupDate), toMillis(returnDate));
+        IntervalTree timeline = timelines.computeIfAbsent(vehicleId, id -> new IntervalTree());
+        synchronized (timeline) {
+            timeline.insert(rentalId, window.start, window.end);
+        }
+        windowsByRental.put(rentalId, window);
+    }
+
+    private void untrack(Long rentalId) {
+        BookingWindow previous = windowsByRental.remove(rentalId);
+        if (previous == null) {
+            return;
+        }
+        IntervalTree timeline = timelines.get(previous.vehicleId);
+        if (timeline != null) {
+            synchronized (timeline) {
+                timeline.remove(rentalId, previous.start);
+            }
+        }
+    }
+
+    private record BookingWindow(Long vehicleId, long start, long end) {
+    }
+}
@@ -0,0 +1,208 @@
+package com.carrental.service;
+
+import com.carrental.config.CacheConfig;
+import com.carrental.dto.response.VehicleDTO;
+import com.carrental.entity.enums.VehicleStatus;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Vehicle lookups and the listings derived from them: by ID, by type, by price range and the active fleet.
+ * A write only touches the entries it can affect: the vehicle itself, listings for its old and new type,
+ * price ranges containing its old or new rate, and its slot in the active fleet.
+ * Changes are applied after the surrounding transaction commits so a rollback never leaves stale entries.
+ */
+@Component
+public class VehicleCache {
+
+    private static final String ACTIVE_FLEET_KEY = "active";
+
+    private final Cache vehicles;
+    private final Cache typeListings;
+    private final Cache priceListings;
+    private final Cache activeVehicles;
+
+    public VehicleCache(CacheManager cacheManager) {
+        this.vehicles = cacheManager.getCache(CacheConfig.VEHICLES);
+        this.typeListings = cacheManager.getCache(CacheConfig.VEHICLE_TYPE_LISTINGS);
+        this.priceListings = cacheManager.getCache(CacheConfig.VEHICLE_PRICE_LISTINGS);
+        this.activeVehicles = cacheManager.getCache(CacheConfig.ACTIVE_VEHICLES);
+    }
+
+    public VehicleDTO getById(Long id, Supplier<VehicleDTO> loader) {
+        return getOrLoad(vehicles, id, loader);
+    }
+
+    public Page<VehicleDTO> getByType(String type, Pageable pageable, Supplier<Page<VehicleDTO>> loader) {
+        return getOrLoad(typeListings, new TypeListingKey(type, pageable), loader);
+    }
+
+    public Page<VehicleDTO> getByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable,
+                                            Supplier<Page<VehicleDTO>> loader) {
+        return getOrLoad(priceListings, new PriceListingKey(minPrice, maxPrice, pageable), loader);
+    }
+
+    /**
+     * Every ACTIVE vehicle, used as the candidate set for availability searches
+     */
+    public List<VehicleDTO> getActiveVehicles(Supplier<List<VehicleDTO>> loader) {
+        return getOrLoad(activeVehicles, ACTIVE_FLEET_KEY, () -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Write new vehicles through and drop only the listings they belong to
+     */
+    public void vehiclesCreated(Collection<VehicleDTO> created) {
+        if (created.isEmpty()) {
+            return;
+        }
+        List<VehicleDTO> snapshot = List.copyOf(created);
+        afterCommit(() -> {
+            for (VehicleDTO vehicle : snapshot) {
+                vehicles.put(vehicle.getId(), vehicle);
+            }
+            evictListings(snapshot);
+            updateActiveFleet(snapshot);
+        });
+    }
+
+    public void vehicleCreated(VehicleDTO created) {
+        vehiclesCreated(List.of(created));
+    }
+
+    /**
+     * Replace a changed vehicle and drop the listings it was in before or is in now
+     */
+    public void vehicleUpdated(VehicleDTO before, VehicleDTO after) {
+        afterCommit(() -> {
+            vehicles.put(after.getId(), after);
+            evictListings(List.of(before, after));
+            updateActiveFleet(List.of(after));
+        });
+    }
+
+    private void evictListings(List<VehicleDTO> changed) {
+        evictIf(typeListings, key -> key instanceof TypeListingKey listing
+                && changed.stream().anyMatch(listing::contains));
+        evictIf(priceListings, key -> key instanceof PriceListingKey listing
+                && changed.stream().anyMatch(listing::contains));
+    }
+
+    // Serialized so two concurrent commits cannot drop each other's change to the shared list
+    private synchronized void updateActiveFleet(List<VehicleDTO> changed) {
+        Cache.ValueWrapper cached = activeVehicles.get(ACTIVE_FLEET_KEY);
+        if (cached == null) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<VehicleDTO> current = (List<VehicleDTO>) cached.get();
+        List<Long> changedIds = changed.stream().map(VehicleDTO::getId).toList();
+
+        List<VehicleDTO> updated = new ArrayList<>(current.size() + changed.size());
+        for (VehicleDTO vehicle : current) {
+            if (!changedIds.contains(vehicle.getId())) {
+                updated.add(vehicle);
+            }
+        }
+        for (VehicleDTO vehicle : changed) {
+            if (vehicle.getStatus() == VehicleStatus.ACTIVE) {
+                updated.add(vehicle);
+            }
+        }
+        activeVehicles.put(ACTIVE_FLEET_KEY, List.copyOf(updated));
+    }
+
+    // Loader exceptions propagate unwrapped, unlike Cache.get(key, Callable)
+    @SuppressWarnings("unchecked")
+    private static <T> T getOrLoad(Cache cache, Object key, Supplier<T> loader) {
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value = loader.get();
+        cache.put(key, value);
+        return value;
+    }
+
+    private static void evictIf(Cache cache, Predicate<Object> affected) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            caffeine.asMap().keySet().removeIf(affected);
+        } else {
+            cache.clear();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    record TypeListingKey(String type, int page, int size, String sort) {
+
+        TypeListingKey(String type, Pageable pageable) {
+            this(type, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        }
+
+        boolean contains(VehicleDTO vehicle) {
+            return vehicle.getType() != null && vehicle.getType().name().equalsIgnoreCase(type);
+        }
+    }
+
+    record PriceListingKey(BigDecimal minPrice, BigDecimal maxPrice, int page, int size, String sort) {
+
+        PriceListingKey(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+            this(minPrice, maxPrice, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        }
+
+        boolean contains(VehicleDTO vehicle) {
+            BigDecimal rate = vehicle.getDailyRate();
+            return rate != null
+                    && (minPrice == null || rate.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || rate.compareTo(maxPrice) <= 0);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof PriceListingKey key
+                    && compare(minPrice, key.minPrice) && compare(maxPrice, key.maxPrice)
+                    && page == key.page && size == key.size && sort.equals(key.sort);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(strip(minPrice), strip(maxPrice), page, size, sort);
+        }
+
+        // 50 and 50.00 are the same range bound
+        private static boolean compare(BigDecimal a, BigDecimal b) {
+            return a == null ? b == null : b != null && a.compareTo(b) == 0;
+        }
+
+        private static BigDecimal strip(BigDecimal value) {
+            return value == null ? null : value.stripTrailingZeros();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.carrental.service;
+
+import com.carrental.config.CacheConfig;
+import com.carrental.dto.response.RatingDistribution;
+import com.carrental.entity.Review;
+import com.carrental.entity.VehicleRatingStats;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.repository.ReviewRepository;
+import com.carrental.repository.VehicleRatingStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains vehicle_rating_stats, the per-vehicle totals behind rating averages and distributions.
+ * Each review change applies the difference between what the review contributed before and after it,
+ * so reads never aggregate over reviews. Distributions are served from the ratings cache, and a
+ * vehicle's entry is dropped once a change to it commits.
+ */
+@Service
+@Slf4j
+@Transactional
+public class VehicleRatingStatsService {
+
+    private final VehicleRatingStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final Cache ratings;
+
+    public VehicleRatingStatsService(VehicleRatingStatsRepository statsRepository,
+                                     ReviewRepository reviewRepository,
+                                     CacheManager cacheManager) {
+        this.statsRepository = statsRepository;
+        this.reviewRepository = reviewRepository;
+        this.ratings = cacheManager.getCache(CacheConfig.RATINGS);
+    }
+
+    /**
+     * Ratings a review adds to its vehicle's totals; only approved reviews count
+     */
+    public record Contribution(int rating, Integer vehicleCondition, Integer cleanliness,
+                               Integer pickupProcess, Integer returnProcess) {
+
+        /**
+         * @return the review's contribution, or null if it is not approved
+         */
+        public static Contribution of(Review review) {
+            if (review.getStatus() != ReviewStatus.APPROVED) {
+                return null;
+            }
+            return new Contribution(review.getRating(), review.getVehicleConditionRating(),
+                review.getCleanlinessRating(), review.getPickupProcessRating(), review.getReturnProcessRating());
+        }
+    }
+
+    /**
+     * Move a vehicle's totals from one contribution of a review to another; either may be null
+     */
+    public void reviewChanged(Long vehicleId, Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        statsRepository.insertIfAbsent(vehicleId);
+        VehicleRatingStats stats = statsRepository.findForUpdate(vehicleId)
+            .orElseThrow(() -> new IllegalStateException("Rating stats row missing for vehicle " + vehicleId));
+        if (before != null) {
+            apply(stats, before, -1);
+        }
+        if (after != null) {
+            apply(stats, after, 1);
+        }
+        stats.setUpdatedAt(LocalDateTime.now());
+
+        String key = RatingsCacheLoader.cacheKey(vehicleId);
+        afterCommit(() -> ratings.evict(key));
+    }
+
+    @Transactional(readOnly = true)
+    public RatingDistribution getDistribution(Long vehicleId) {
+        String key = RatingsCacheLoader.cacheKey(vehicleId);
+        RatingDistribution cached = ratings.get(key, RatingDistribution.class);
+        if (cached != null) {
+            return cached;
+        }
+        RatingDistribution loaded = statsRepository.findById(vehicleId)
+            .map(VehicleRatingStats::toDistribution)
+            .orElseGet(() -> RatingDistribution.empty(vehicleId));
+        ratings.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Distributions for several vehicles; cache misses are read in a single query
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, RatingDistribution> getDistributions(Collection<Long> vehicleIds) {
+        Map<Long, RatingDistribution> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long vehicleId : vehicleIds) {
+            RatingDistribution cached = peek(vehicleId);
+            if (cached != null) {
+                result.put(vehicleId, cached);
+            } else {
+                missing.add(vehicleId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        for (VehicleRatingStats stats : statsRepository.findAllById(missing)) {
+            result.put(stats.getVehicleId(), stats.toDistribution());
+        }
+        for (Long vehicleId : missing) {
+            RatingDistribution loaded = result.computeIfAbsent(vehicleId, RatingDistribution::empty);
+            ratings.put(RatingsCacheLoader.cacheKey(vehicleId), loaded);
+        }
+        return result;
+    }
+
+    /**
+     * Recompute every vehicle's totals from the approved reviews
+     *
+     * @return number of vehicles with approved reviews
+     */
+    public int rebuild() {
+        log.info("Rebuilding vehicle rating stats from approved reviews");
+
+        List<VehicleRatingStats> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : reviewRepository.summarizeApprovedByVehicle()) {
+            rows.add(VehicleRatingStats.builder()
+                .vehicleId((Long) row[0])
+                .reviewCount(longValue(row[1]))
+                .ratingSum(longValue(row[2]))
+                .oneStarCount(longValue(row[3]))
+                .twoStarCount(longValue(row[4]))
+                .threeStarCount(longValue(row[5]))
+                .fourStarCount(longValue(row[6]))
+                .fiveStarCount(longValue(row[7]))
+                .vehicleConditionSum(longValue(row[8]))
+                .vehicleConditionCount(longValue(row[9]))
+                .cleanlinessSum(longValue(row[10]))
+                .cleanlinessCount(longValue(row[11]))
+                .pickupProcessSum(longValue(row[12]))
+                .pickupProcessCount(longValue(row[13]))
+                .returnProcessSum(longValue(row[14]))
+                .returnProcessCount(longValue(row[15]))
+                .updatedAt(now)
+                .build());
+        }
+
+        statsRepository.deleteAllInBatch();
+        statsRepository.saveAll(rows);
+        afterCommit(ratings::clear);
+
+        log.info("Vehicle rating stats rebuilt for {} vehicles", rows.size());
+        return rows.size();
+    }
+
+    /**
+     * Populate an empty stats table on first start from the reviews already approved
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (statsRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    private static void apply(VehicleRatingStats stats, Contribution contribution, int sign) {
+        stats.apply(contribution.rating(), contribution.vehicleCondition(), contribution.cleanliness(),
+            contribution.pickupProcess(), contribution.returnProcess(), sign);
+    }
+
+    // Present entries only; a plain Cache.get would load each miss on its own
+    private RatingDistribution peek(Long vehicleId) {
+        Object nativeCache = ratings.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            @SuppressWarnings("unchecked")
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache =
+                (com.github.benmanes.caffeine.cache.Cache<Object, Object>) caffeine;
+            return (RatingDistribution) cache.getIfPresent(RatingsCacheLoader.cacheKey(vehicleId));
+        }
+        return ratings.get(RatingsCacheLoader.cacheKey(vehicleId), RatingDistribution.class);
+    }
+
+    private static long longValue(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
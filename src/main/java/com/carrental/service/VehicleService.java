@@ -3,25 +3,41 @@ package com.carrental.service;
 
 import com.carrental.dto.request.CreateVehicleRequest;
 import com.carrental.dto.request.UpdateVehicleRequest;
+import com.carrental.dto.response.CursorPage;
+import com.carrental.dto.response.RatingDistribution;
 import com.carrental.dto.response.VehicleDTO;
+import com.carrental.dto.response.VehicleImportReport;
 import com.carrental.entity.Vehicle;
 import com.carrental.entity.enums.VehicleStatus;
 import com.carrental.exception.ResourceNotFoundException;
 import com.carrental.exception.ValidationException;
 import com.carrental.mapper.VehicleMapper;
 import com.carrental.repository.VehicleRepository;
+import com.carrental.util.PageCursor;
+import com.carrental.util.VehicleCsvParser;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -40,6 +56,30 @@ public class VehicleService {
     @Autowired
     private VehicleMapper vehicleMapper;
 
+    @Autowired
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    @Autowired
+    private FleetAvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private VehicleCache vehicleCache;
+
+    @Autowired
+    private VehicleRatingStatsService ratingStats;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${carrental.vehicles.import.max-rows:10000}")
+    private int importMaxRows;
+
+    @Value("${carrental.vehicles.import.chunk-size:50}")
+    private int importChunkSize;
+
     /**
      * Get all vehicles with pagination
      * 
@@ -50,8 +90,29 @@ public class VehicleService {
         logger.debug("Fetching all vehicles with pagination: page={}, size={}", 
             pageable.getPageNumber(), pageable.getPageSize());
         
-        return vehicleRepository.findAll(pageable)
-                .map(vehicleMapper::toDTO);
+        return withRatings(vehicleRepository.findAll(pageable)
+                .map(vehicleMapper::toDTO));
+    }
+
+    /**
+     * Get a keyset page of vehicles ordered by ID
+     * Cost does not grow with depth and no total count is computed
+     * 
+     * @param cursor Cursor from the previous page, null for the first page
+     * @param size Page size
+     * @return Page of vehicle DTOs with the cursor of the next page
+     */
+    public CursorPage<VehicleDTO> getAllVehicles(String cursor, int size) {
+        logger.debug("Fetching vehicles after cursor: {}", cursor);
+
+        int limit = CursorPage.clampSize(size);
+        PageCursor after = PageCursor.decode(cursor);
+        List<Vehicle> rows = vehicleRepository.findByIdGreaterThanOrderByIdAsc(
+            after != null ? after.id() : 0L, PageRequest.ofSize(limit + 1));
+
+        CursorPage<VehicleDTO> page = CursorPage.of(rows, limit, v -> PageCursor.of(v.getId()), vehicleMapper::toDTO);
+        page.setItems(withRatings(page.getItems()));
+        return page;
     }
 
     /**
@@ -61,14 +122,13 @@ public class VehicleService {
      * @return Vehicle DTO
      * @throws ResourceNotFoundException if vehicle not found
      */
-    @Cacheable(value = "vehicles", key = "#id")
     public VehicleDTO getVehicleById(Long id) {
         logger.debug("Fetching vehicle with ID: {}", id);
         
-        Vehicle vehicle = vehicleRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id));
-        
-        return vehicleMapper.toDTO(vehicle);
+        VehicleDTO vehicle = vehicleCache.getById(id, () -> vehicleRepository.findById(id)
+                .map(vehicleMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id)));
+        return withRating(vehicle, ratingStats.getDistribution(id));
     }
 
     /**
@@ -78,7 +138,6 @@ public class VehicleService {
      * @return Created vehicle DTO
      * @throws ValidationException if license plate or VIN already exists
      */
-    @CacheEvict(value = "vehicles", allEntries = true)
     public VehicleDTO createVehicle(CreateVehicleRequest request) {
         logger.info("Creating new vehicle with license plate: {}", request.getLicensePlate());
 
@@ -110,7 +169,193 @@ public class VehicleService {
         Vehicle savedVehicle = vehicleRepository.save(vehicle);
         logger.info("Vehicle created successfully with ID: {}", savedVehicle.getId());
 
-        return vehicleMapper.toDTO(savedVehicle);
+        // Write the new vehicle through instead of flushing every cached vehicle
+        VehicleDTO created = vehicleMapper.toDTO(savedVehicle);
+        vehicleCache.vehicleCreated(created);
+        return created;
+    }
+
+    /**
+     * Import vehicles in bulk
+     * Rows are validated individually and checked for duplicate license plates and VINs,
+     * both within the submission and against existing vehicles, with a single query.
+     * Accepted rows are inserted with JDBC batching and committed chunk by chunk, so the import
+     * does not hold one transaction open; rejected rows are reported, not thrown.
+     * 
+     * @param requests Vehicles to create, in submission order
+     * @return Per-row import report
+     * @throws ValidationException if the submission exceeds the import row limit
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public VehicleImportReport importVehicles(List<CreateVehicleRequest> requests) {
+        return importRows(requests, null);
+    }
+
+    /**
+     * Import vehicles in bulk from parsed CSV rows
+     * A row with fields that could not be parsed is rejected with those errors.
+     * 
+     * @param rows Parsed CSV rows, in file order
+     * @return Per-row import report
+     * @throws ValidationException if the file exceeds the import row limit
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public VehicleImportReport importCsvRows(List<VehicleCsvParser.ParsedRow> rows) {
+        List<CreateVehicleRequest> requests = rows.stream().map(VehicleCsvParser.ParsedRow::request).toList();
+        List<List<String>> parseErrors = rows.stream().map(VehicleCsvParser.ParsedRow::errors).toList();
+        return importRows(requests, parseErrors);
+    }
+
+    private VehicleImportReport importRows(List<CreateVehicleRequest> requests, List<List<String>> parseErrors) {
+        if (requests.size() > importMaxRows) {
+            throw new ValidationException("Import is limited to " + importMaxRows + " vehicles per request");
+        }
+        logger.info("Importing {} vehicles", requests.size());
+
+        List<VehicleImportReport.RowResult> results = new ArrayList<>(requests.size());
+        List<VehicleImportReport.RowResult> accepted = new ArrayList<>();
+        Set<String> licensePlates = new HashSet<>();
+        Set<String> vins = new HashSet<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            CreateVehicleRequest request = requests.get(i);
+            List<String> errors = new ArrayList<>();
+            if (request == null) {
+                errors.add("Row is empty");
+            } else if (parseErrors != null && !parseErrors.get(i).isEmpty()) {
+                // Unparsed fields are null, so skip validation rather than also report them as missing
+                errors.addAll(parseErrors.get(i));
+            } else {
+                validator.validate(request).forEach(violation -> errors.add(violation.getMessage()));
+                if (request.getLicensePlate() != null && !licensePlates.add(request.getLicensePlate())) {
+                    errors.add("License plate appears more than once in this import: " + request.getLicensePlate());
+                }
+                if (request.getVin() != null && !vins.add(request.getVin())) {
+                    errors.add("VIN appears more than once in this import: " + request.getVin());
+                }
+            }
+
+            VehicleImportReport.RowResult result = VehicleImportReport.RowResult.builder()
+                    .row(i + 1)
+                    .licensePlate(request != null ? request.getLicensePlate() : null)
+                    .vin(request != null ? request.getVin() : null)
+                    .status(errors.isEmpty() ? VehicleImportReport.RowStatus.CREATED : VehicleImportReport.RowStatus.REJECTED)
+                    .errors(errors)
+                    .build();
+            results.add(result);
+            if (errors.isEmpty()) {
+                accepted.add(result);
+            }
+        }
+
+        rejectExisting(accepted);
+        List<VehicleDTO> created = insertAccepted(requests, accepted);
+
+        logger.info("Vehicle import finished: {} created, {} rejected",
+            created.size(), requests.size() - created.size());
+
+        return VehicleImportReport.builder()
+                .totalRows(requests.size())
+                .createdCount(created.size())
+                .rejectedCount(requests.size() - created.size())
+                .rows(results)
+                .build();
+    }
+
+    // Single set-based lookup instead of two exists queries per row
+    private void rejectExisting(List<VehicleImportReport.RowResult> accepted) {
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<String> existingPlates = new HashSet<>();
+        Set<String> existingVins = new HashSet<>();
+        List<String> plates = accepted.stream().map(VehicleImportReport.RowResult::getLicensePlate).toList();
+        List<String> vinNumbers = accepted.stream().map(VehicleImportReport.RowResult::getVin).toList();
+        for (Object[] row : vehicleRepository.findExistingIdentifiers(plates, vinNumbers)) {
+            existingPlates.add((String) row[0]);
+            existingVins.add((String) row[1]);
+        }
+
+        accepted.removeIf(result -> {
+            if (existingPlates.contains(result.getLicensePlate())) {
+                result.getErrors().add("License plate already exists: " + result.getLicensePlate());
+            }
+            if (existingVins.contains(result.getVin())) {
+                result.getErrors().add("VIN already exists: " + result.getVin());
+            }
+            if (result.getErrors().isEmpty()) {
+                return false;
+            }
+            result.setStatus(VehicleImportReport.RowStatus.REJECTED);
+            return true;
+        });
+    }
+
+    // Each chunk commits on its own, so a plate or VIN taken by a concurrent import after rejectExisting
+    // only rejects the rows that hit it rather than failing the whole import
+    private List<VehicleDTO> insertAccepted(List<CreateVehicleRequest> requests,
+                                            List<VehicleImportReport.RowResult> accepted) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        List<VehicleDTO> created = new ArrayList<>(accepted.size());
+        for (int from = 0; from < accepted.size(); from += importChunkSize) {
+            List<VehicleImportReport.RowResult> chunk =
+                    accepted.subList(from, Math.min(from + importChunkSize, accepted.size()));
+            try {
+                created.addAll(saveChunk(chunkTransaction, requests, chunk));
+            } catch (DataIntegrityViolationException ex) {
+                logger.warn("Vehicle import chunk at row {} hit an existing plate or VIN, retrying row by row",
+                    chunk.get(0).getRow());
+                for (VehicleImportReport.RowResult result : chunk) {
+                    try {
+                        created.addAll(saveChunk(chunkTransaction, requests, List.of(result)));
+                    } catch (DataIntegrityViolationException rowEx) {
+                        result.getErrors().add("License plate or VIN already exists: "
+                            + result.getLicensePlate() + " / " + result.getVin());
+                        result.setStatus(VehicleImportReport.RowStatus.REJECTED);
+                    }
+                }
+            }
+        }
+        return created;
+    }
+
+    private List<VehicleDTO> saveChunk(TransactionTemplate chunkTransaction, List<CreateVehicleRequest> requests,
+                                       List<VehicleImportReport.RowResult> chunkResults) {
+        List<VehicleDTO> created = chunkTransaction.execute(status -> {
+            List<Vehicle> chunk = new ArrayList<>(chunkResults.size());
+            for (VehicleImportReport.RowResult result : chunkResults) {
+                chunk.add(newVehicle(requests.get(result.getRow() - 1)));
+            }
+            List<VehicleDTO> saved = vehicleRepository.saveAllAndFlush(chunk).stream()
+                    .map(vehicleMapper::toDTO)
+                    .toList();
+            vehicleCache.vehiclesCreated(saved);
+            return saved;
+        });
+
+        for (int i = 0; i < created.size(); i++) {
+            chunkResults.get(i).setVehicleId(created.get(i).getId());
+        }
+        return created;
+    }
+
+    private static Vehicle newVehicle(CreateVehicleRequest request) {
+        return Vehicle.builder()
+                .licensePlate(request.getLicensePlate())
+                .vin(request.getVin())
+                .make(request.getMake())
+                .model(request.getModel())
+                .year(request.getYear())
+                .color(request.getColor())
+                .transmission(request.getTransmission())
+                .dailyRate(request.getDailyRate())
+                .type(request.getType())
+                .status(VehicleStatus.ACTIVE)
+                .mileage(0)
+                .build();
     }
 
     /**
@@ -121,12 +366,12 @@ public class VehicleService {
      * @return Updated vehicle DTO
      * @throws ResourceNotFoundException if vehicle not found
      */
-    @CacheEvict(value = "vehicles", key = "#id")
     public VehicleDTO updateVehicle(Long id, UpdateVehicleRequest request) {
         logger.info("Updating vehicle with ID: {}", id);
 
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id));
+        VehicleDTO before = vehicleMapper.toDTO(vehicle);
 
         // Update allowed fields
         if (request.getColor() != null && !request.getColor().isEmpty()) {
@@ -148,7 +393,9 @@ public class VehicleService {
         Vehicle updatedVehicle = vehicleRepository.save(vehicle);
         logger.info("Vehicle updated successfully with ID: {}", id);
 
-        return vehicleMapper.toDTO(updatedVehicle);
+        VehicleDTO updated = vehicleMapper.toDTO(updatedVehicle);
+        vehicleCache.vehicleUpdated(before, updated);
+        return updated;
     }
 
     /**
@@ -157,15 +404,16 @@ public class VehicleService {
      * @param id Vehicle ID
      * @throws ResourceNotFoundException if vehicle not found
      */
-    @CacheEvict(value = "vehicles", key = "#id")
     public void deleteVehicle(Long id) {
         logger.info("Deleting vehicle with ID: {}", id);
 
         Vehicle vehicle = vehicleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + id));
+        VehicleDTO before = vehicleMapper.toDTO(vehicle);
 
         vehicle.setStatus(VehicleStatus.INACTIVE);
-        vehicleRepository.save(vehicle);
+        Vehicle deletedVehicle = vehicleRepository.save(vehicle);
+        vehicleCache.vehicleUpdated(before, vehicleMapper.toDTO(deletedVehicle));
 
         logger.info("Vehicle soft-deleted with ID: {}", id);
     }
@@ -180,11 +428,24 @@ public class VehicleService {
     public List<VehicleDTO> getAvailableVehicles(LocalDateTime startDate, LocalDateTime endDate) {
         logger.debug("Fetching available vehicles from {} to {}", startDate, endDate);
 
-        List<Vehicle> availableVehicles = vehicleRepository.findAvailableVehicles(startDate, endDate);
-        
-        return availableVehicles.stream()
+        // The calendar and index only see this node's bookings
+        if (availabilityIndex.isComplete() && availabilityCalendar.covers(startDate, endDate)) {
+            // One word-wise scan of the calendar rows finds the free vehicles without touching rentals
+            List<VehicleDTO> activeVehicles = vehicleCache.getActiveVehicles(() ->
+                    vehicleRepository.findAllByStatus(VehicleStatus.ACTIVE).stream()
+                            .map(vehicleMapper::toDTO)
+                            .collect(Collectors.toList()));
+            Set<Long> freeIds = availabilityCalendar.freeVehicleIds(
+                    activeVehicles.stream().map(VehicleDTO::getId).toList(), startDate, endDate);
+
+            return withRatings(activeVehicles.stream()
+                    .filter(vehicle -> freeIds.contains(vehicle.getId()))
+                    .collect(Collectors.toList()));
+        }
+
+        return withRatings(vehicleRepository.findAvailableVehicles(startDate, endDate).stream()
                 .map(vehicleMapper::toDTO)
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -198,6 +459,11 @@ public class VehicleService {
     public boolean isVehicleAvailable(Long vehicleId, LocalDateTime startDate, LocalDateTime endDate) {
         logger.debug("Checking availability for vehicle ID: {} from {} to {}", vehicleId, startDate, endDate);
 
+        // The index only answers alone when no other node can book the vehicle
+        if (availabilityIndex.isComplete()) {
+            return availabilityIndex.isAvailable(vehicleId, startDate, endDate);
+        }
+
         return vehicleRepository.isVehicleAvailable(vehicleId, startDate, endDate);
     }
 
@@ -211,8 +477,8 @@ public class VehicleService {
     public Page<VehicleDTO> getVehiclesByType(String type, Pageable pageable) {
         logger.debug("Fetching vehicles by type: {}", type);
 
-        return vehicleRepository.findByType(type, pageable)
-                .map(vehicleMapper::toDTO);
+        return withRatings(vehicleCache.getByType(type, pageable, () -> vehicleRepository.findByType(type, pageable)
+                .map(vehicleMapper::toDTO)));
     }
 
     /**
@@ -226,8 +492,9 @@ public class VehicleService {
     public Page<VehicleDTO> getVehiclesByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         logger.debug("Fetching vehicles by price range: {} - {}", minPrice, maxPrice);
 
-        return vehicleRepository.findByDailyRateBetween(minPrice, maxPrice, pageable)
-                .map(vehicleMapper::toDTO);
+        return withRatings(vehicleCache.getByPriceRange(minPrice, maxPrice, pageable,
+                () -> vehicleRepository.findByDailyRateBetween(minPrice, maxPrice, pageable)
+                        .map(vehicleMapper::toDTO)));
     }
 
     /**
@@ -237,15 +504,16 @@ public class VehicleService {
      * @param status New status
      * @throws ResourceNotFoundException if vehicle not found
      */
-    @CacheEvict(value = "vehicles", key = "#vehicleId")
     public void updateVehicleStatus(Long vehicleId, VehicleStatus status) {
         logger.info("Updating vehicle status for ID: {} to {}", vehicleId, status);
 
         Vehicle vehicle = vehicleRepository.findById(vehicleId)
                 .orElseThrow(() -> new ResourceNotFoundException("Vehicle not found with ID: " + vehicleId));
+        VehicleDTO before = vehicleMapper.toDTO(vehicle);
 
         vehicle.setStatus(status);
-        vehicleRepository.save(vehicle);
+        Vehicle updatedVehicle = vehicleRepository.save(vehicle);
+        vehicleCache.vehicleUpdated(before, vehicleMapper.toDTO(updatedVehicle));
 
         logger.info("Vehicle status updated successfully");
     }
@@ -280,4 +548,36 @@ public class VehicleService {
     public boolean vinExists(String vin) {
         return vehicleRepository.existsByVin(vin);
     }
-}
\ No newline at end of file
+
+    /**
+     * Copy of a page with each vehicle's rating filled in
+     * 
+     * @param page Page of vehicle DTOs
+     * @return Page of vehicle DTOs with ratings
+     */
+    private Page<VehicleDTO> withRatings(Page<VehicleDTO> page) {
+        return new PageImpl<>(withRatings(page.getContent()), page.getPageable(), page.getTotalElements());
+    }
+
+    /**
+     * Copies of vehicles with their ratings filled in
+     * DTOs may be shared through the vehicle cache, so they are copied rather than modified
+     * 
+     * @param vehicles Vehicle DTOs
+     * @return Vehicle DTOs with ratings
+     */
+    private List<VehicleDTO> withRatings(List<VehicleDTO> vehicles) {
+        Map<Long, RatingDistribution> ratings = ratingStats.getDistributions(
+                vehicles.stream().map(VehicleDTO::getId).collect(Collectors.toSet()));
+        return vehicles.stream()
+                .map(vehicle -> withRating(vehicle, ratings.get(vehicle.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private static VehicleDTO withRating(VehicleDTO vehicle, RatingDistribution rating) {
+        return vehicle.toBuilder()
+                .averageRating(rating.getAverageRating())
+                .reviewCount(rating.getTotalReviews())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.carrental.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader that parses one record at a time from the underlying stream,
+ * so files of any size are read in constant memory. Quoted fields may contain commas,
+ * "" escapes and line breaks; a leading byte order mark is skipped. The caller owns the stream.
+ */
+public class CsvReader {
+    
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private boolean started;
+    private int recordNumber;
+    
+    public CsvReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 16 * 1024);
+    }
+    
+    /**
+     * Read the next record
+     *
+     * @return the record's fields, or null at end of input
+     */
+    public List<String> next() throws IOException {
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+        
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in CSV record " + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    c = reader.read();
+                    if (c != '"') {
+                        quoted = false;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                fields.add(field.toString());
+                recordNumber++;
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+    
+    /**
+     * Number of records read so far
+     */
+    public int recordNumber() {
+        return recordNumber;
+    }
+    
+    /**
+     * Whether a record has no content, e.g. a blank line
+     */
+    public static boolean isBlank(List<String> record) {
+        return record.size() == 1 && record.get(0).isBlank();
+    }
+}
@@ -0,0 +1,65 @@
+package com.carrental.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal RFC 4180 writer that emits each row straight to the underlying stream.
+ * Text that a spreadsheet would read as a formula is prefixed with a quote so it is shown as text.
+ */
+public class CsvWriter implements AutoCloseable {
+    
+    private final Writer writer;
+    
+    public CsvWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+    
+    public void row(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+    
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        // Numbers are left alone so negative amounts stay numeric
+        if (!(value instanceof Number) && startsFormula(text)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private static boolean startsFormula(String text) {
+        if (text.isEmpty()) {
+            return false;
+        }
+        char first = text.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+    
+    /**
+     * Flush buffered rows; the caller owns the underlying stream
+     */
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+}
@@ -0,0 +1,213 @@
+package com.carrental.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Interval tree over [start, end] pairs of epoch millis, keyed by an owner ID.
+ * Implemented as a treap ordered by (start, id) and augmented with the maximum
+ * end of each subtree, so overlap queries prune whole branches.
+ * Not thread-safe; callers synchronize on the instance.
+ */
+public class IntervalTree {
+
+    /**
+     * Sentinel for overlap queries that should not exclude any interval
+     */
+    public static final long NO_EXCLUSION = Long.MIN_VALUE;
+
+    private Node root;
+    private int size;
+
+    /**
+     * Insert an interval owned by the given ID
+     */
+    public void insert(long id, long start, long end) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end must not be before its start");
+        }
+        root = insert(root, new Node(id, start, end, ThreadLocalRandom.current().nextInt()));
+        size++;
+    }
+
+    /**
+     * Remove the interval owned by the given ID that starts at the given instant
+     *
+     * @return true if an interval was removed
+     */
+    public boolean remove(long id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    /**
+     * Check whether any stored interval overlaps [from, to]
+     *
+     * @param inclusive true if intervals that only touch at an endpoint count as overlapping
+     * @param excludeId owner ID to ignore, or {@link #NO_EXCLUSION}
+     */
+    public boolean overlaps(long from, long to, boolean inclusive, long excludeId) {
+        return overlaps(root, from, to, inclusive, excludeId);
+    }
+
+    /**
+     * Visit every stored interval in start order
+     */
+    public void forEach(IntervalVisitor visitor) {
+        forEach(root, visitor);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @FunctionalInterface
+    public interface IntervalVisitor {
+        void visit(long id, long start, long end);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private boolean overlaps(Node node, long from, long to, boolean inclusive, long excludeId) {
+        if (node == null) {
+            return false;
+        }
+        // Nothing in this subtree ends late enough to reach the query window
+        if (inclusive ? node.maxEnd < from : node.maxEnd <= from) {
+            return false;
+        }
+        if (overlaps(node.left, from, to, inclusive, excludeId)) {
+            return true;
+        }
+        if (node.id != excludeId && intersects(node, from, to, inclusive)) {
+            return true;
+        }
+        // Right subtree only holds intervals starting at or after this one
+        if (inclusive ? node.start > to : node.start >= to) {
+            return false;
+        }
+        return overlaps(node.right, from, to, inclusive, excludeId);
+    }
+
+    private void forEach(Node node, IntervalVisitor visitor) {
+        if (node == null) {
+            return;
+        }
+        forEach(node.left, visitor);
+        visitor.visit(node.id, node.start, node.end);
+        forEach(node.right, visitor);
+    }
+
+    private static boolean intersects(Node node, long from, long to, boolean inclusive) {
+        return inclusive
+            ? node.start <= to && node.end >= from
+            : node.start < to && node.end > from;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        update(node);
+        pivot.right = node;
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        update(node);
+        pivot.left = node;
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd > maxEnd) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > maxEnd) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long start;
+        private final long end;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.carrental.util;
+
+import com.carrental.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: its sort key and id.
+ * Handed to clients as an opaque URL-safe token so the encoding can change without breaking them.
+ *
+ * @param sortKey sort column value of the last row, null when a listing is ordered by id alone
+ * @param id      id of the last row, the tie-breaker for equal sort keys
+ */
+public record PageCursor(LocalDateTime sortKey, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public String encode() {
+        String raw = sortKey != null ? sortKey.toString() + SEPARATOR + id : String.valueOf(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a client-supplied token
+     *
+     * @return the cursor, or null for a missing token, meaning the first page
+     * @throws ValidationException if the token was not produced by {@link #encode()}
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return of(Long.parseLong(raw));
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new ValidationException("Invalid page cursor");
+        }
+    }
+}
@@ -1,22 +1,14 @@
 package com.carrental.util;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.UUID;
 
 public class PaymentUtil {
     
-    private static final String INVOICE_PREFIX = "INV";
-    
-    /**
-     * Generate unique invoice number
-     */
-    public static String generateInvoiceNumber() {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String randomPart = UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        return INVOICE_PREFIX + "-" + timestamp + "-" + randomPart;
-    }
+    // Tax rate (can be made configurable)
+    private static final BigDecimal TAX_RATE = BigDecimal.valueOf(0.10);
     
     /**
      * Calculate cancellation refund based on policy
@@ -49,6 +41,13 @@ public class PaymentUtil {
         return hourlyRate.multiply(BigDecimal.valueOf(hoursLate));
     }
     
+    /**
+     * Calculate taxes on an amount, rounded to cents
+     */
+    public static BigDecimal calculateTaxes(BigDecimal taxableAmount) {
+        return taxableAmount.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+    }
+    
     /**
      * Validate payment amount
      */
@@ -0,0 +1,243 @@
+package com.carrental.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Immutable Aho-Corasick automaton over a dictionary of words and phrases.
+ * Text and dictionary entries go through the same normalization: lower case, diacritics removed
+ * (precomposed or as combining marks), invisible format characters dropped, common leetspeak digits
+ * and symbols read as letters, and every run of other characters read as a single space. Entries are padded with a space on each side, so they only match whole words, as the
+ * regex \b did. Matching is one table lookup per character whatever the dictionary size.
+ */
+public final class ProfanityMatcher {
+
+    private static final char SEPARATOR = ' ';
+
+    // Folded form of characters skipped entirely, so "ba\u0308dword" reads as "badword"
+    private static final char IGNORED = '\uFFFF';
+
+    // Folded form of each char below LATIN_LIMIT, 0 for a separator
+    private static final int LATIN_LIMIT = 0x250;
+    private static final char[] FOLD = buildFoldTable();
+
+    private final int[] classOf;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final boolean[] accepting;
+    private final int wordCount;
+
+    private ProfanityMatcher(int[] classOf, int alphabetSize, int[] transitions, boolean[] accepting, int wordCount) {
+        this.classOf = classOf;
+        this.alphabetSize = alphabetSize;
+        this.transitions = transitions;
+        this.accepting = accepting;
+        this.wordCount = wordCount;
+    }
+
+    /**
+     * Build a matcher for a dictionary; blank entries are ignored
+     */
+    public static ProfanityMatcher of(Collection<String> words) {
+        List<String> entries = new ArrayList<>(words.size());
+        for (String word : words) {
+            String entry = normalize(word);
+            if (!entry.isBlank()) {
+                entries.add(SEPARATOR + entry.strip() + SEPARATOR);
+            }
+        }
+
+        // Class 0 is any character no entry uses; it always leads back to the root
+        int[] classOf = new int[Character.MAX_VALUE + 1];
+        int alphabetSize = 1;
+        for (String entry : entries) {
+            for (int i = 0; i < entry.length(); i++) {
+                char c = entry.charAt(i);
+                if (classOf[c] == 0) {
+                    classOf[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // Trie, one row of child states per state; 0 means no child (the root is never a child)
+        List<int[]> children = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        children.add(new int[alphabetSize]);
+        terminal.add(false);
+        for (String entry : entries) {
+            int state = 0;
+            for (int i = 0; i < entry.length(); i++) {
+                int symbol = classOf[entry.charAt(i)];
+                int next = children.get(state)[symbol];
+                if (next == 0) {
+                    next = children.size();
+                    children.add(new int[alphabetSize]);
+                    terminal.add(false);
+                    children.get(state)[symbol] = next;
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+
+        // Breadth-first over the trie, filling missing transitions from each state's failure link
+        int stateCount = children.size();
+        int[] transitions = new int[stateCount * alphabetSize];
+        boolean[] accepting = new boolean[stateCount];
+        int[] failure = new int[stateCount];
+        Deque<Integer> queue = new ArrayDeque<>();
+
+        int[] rootChildren = children.get(0);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int child = rootChildren[symbol];
+            transitions[symbol] = child;
+            if (child != 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            accepting[state] = terminal.get(state) || accepting[failure[state]];
+            int[] row = children.get(state);
+            int base = state * alphabetSize;
+            int failureBase = failure[state] * alphabetSize;
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int child = row[symbol];
+                if (child != 0) {
+                    failure[child] = transitions[failureBase + symbol];
+                    transitions[base + symbol] = child;
+                    queue.add(child);
+                } else {
+                    transitions[base + symbol] = transitions[failureBase + symbol];
+                }
+            }
+        }
+
+        return new ProfanityMatcher(classOf, alphabetSize, transitions, accepting, entries.size());
+    }
+
+    /**
+     * Whether any of the texts contains a dictionary entry; null texts are skipped.
+     * Texts are scanned in one pass and an entry never spans two of them.
+     */
+    public boolean matches(String... texts) {
+        if (wordCount == 0) {
+            return false;
+        }
+
+        int separator = classOf[SEPARATOR];
+        int state = transitions[separator];
+        boolean afterSeparator = true;
+        for (String text : texts) {
+            if (text == null) {
+                continue;
+            }
+            for (int i = 0; i < text.length(); i++) {
+                char c = fold(text.charAt(i));
+                if (c == IGNORED) {
+                    continue;
+                }
+                if (c == 0) {
+                    if (afterSeparator) {
+                        continue;
+                    }
+                    afterSeparator = true;
+                    state = transitions[state * alphabetSize + separator];
+                } else {
+                    afterSeparator = false;
+                    state = transitions[state * alphabetSize + classOf[c]];
+                }
+                if (accepting[state]) {
+                    return true;
+                }
+            }
+            if (!afterSeparator && accepting[transitions[state * alphabetSize + separator]]) {
+                return true;
+            }
+            state = transitions[separator];
+            afterSeparator = true;
+        }
+        return false;
+    }
+
+    /**
+     * Number of entries in the dictionary
+     */
+    public int size() {
+        return wordCount;
+    }
+
+    /**
+     * Normalized form of a text, the same one matching uses
+     */
+    public static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean afterSeparator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == IGNORED) {
+                continue;
+            }
+            if (c == 0) {
+                if (!afterSeparator) {
+                    normalized.append(SEPARATOR);
+                    afterSeparator = true;
+                }
+            } else {
+                normalized.append(c);
+                afterSeparator = false;
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static char fold(char c) {
+        if (c < LATIN_LIMIT) {
+            return FOLD[c];
+        }
+        if (Character.isLetterOrDigit(c)) {
+            return Character.toLowerCase(c);
+        }
+        return isIgnorable(c) ? IGNORED : 0;
+    }
+
+    // Combining accents and invisible characters such as the soft hyphen or zero width space
+    private static boolean isIgnorable(char c) {
+        int type = Character.getType(c);
+        return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK || type == Character.FORMAT;
+    }
+
+    private static char[] buildFoldTable() {
+        char[] fold = new char[LATIN_LIMIT];
+        for (char c = 0; c < LATIN_LIMIT; c++) {
+            if (!Character.isLetterOrDigit(c)) {
+                fold[c] = isIgnorable(c) ? IGNORED : 0;
+                continue;
+            }
+            // Base letter of an accented one: é decomposes to e followed by a combining accent
+            char base = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD).charAt(0);
+            fold[c] = Character.toLowerCase(base);
+        }
+        fold['ø'] = 'o';
+        fold['Ø'] = 'o';
+        fold['ł'] = 'l';
+        fold['Ł'] = 'l';
+        fold['đ'] = 'd';
+        fold['Đ'] = 'd';
+        fold['ı'] = 'i';
+
+        fold['0'] = 'o';
+        fold['1'] = 'i';
+        fold['3'] = 'e';
+        fold['4'] = 'a';
+        fold['5'] = 's';
+        fold['7'] = 't';
+        fold['@'] = 'a';
+        fold['$'] = 's';
+        return fold;
+    }
+}
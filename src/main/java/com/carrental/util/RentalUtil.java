@@ -0,0 +1,22 @@
+package com.carrental.util;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public class RentalUtil {
+    
+    /**
+     * Number of whole days between pickup and return
+     */
+    public static long calculateRentalDays(LocalDateTime pickupDate, LocalDateTime returnDate) {
+        return ChronoUnit.DAYS.between(pickupDate, returnDate);
+    }
+    
+    /**
+     * Base rental cost for a number of days at a daily rate
+     */
+    public static BigDecimal calculateTotalCost(BigDecimal dailyRate, long rentalDays) {
+        return dailyRate.multiply(BigDecimal.valueOf(rentalDays));
+    }
+}
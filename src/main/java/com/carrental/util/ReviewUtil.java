@@ -1,24 +1,7 @@
 package com.carrental.util;
 
-import java.util.regex.Pattern;
-
 public class ReviewUtil {
     
-    private static final Pattern PROFANITY_PATTERN = Pattern.compile(
-        "\\b(badword1|badword2|badword3)\\b",
-        Pattern.CASE_INSENSITIVE
-    );
-    
-    /**
-     * Check if review contains profanity
-     */
-    public static boolean containsProfanity(String content) {
-        if (content == null) {
-            return false;
-        }
-        return PROFANITY_PATTERN.matcher(content).find();
-    }
-    
     /**
      * Clean review content of special characters
      */
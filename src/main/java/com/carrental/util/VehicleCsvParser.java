@@ -0,0 +1,115 @@
+package com.carrental.util;
+
+import com.carrental.dto.request.CreateVehicleRequest;
+import com.carrental.entity.enums.TransmissionType;
+import com.carrental.entity.enums.VehicleType;
+import com.carrental.exception.ValidationException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+public class VehicleCsvParser {
+
+    private static final List<String> COLUMNS = List.of(
+        "licenseplate", "vin", "make", "model", "year", "color", "transmission", "dailyrate", "type");
+
+    /**
+     * One data row: the request built from the fields that parsed, and an error for each field that did not
+     */
+    public record ParsedRow(CreateVehicleRequest request, List<String> errors) {
+    }
+
+    /**
+     * Parse a CSV body into vehicle requests.
+     * The header names the columns (licensePlate or license_plate, any case, any order);
+     * color is optional. Quoted fields may span lines. A field that is not a valid number or enum value
+     * is reported on its row rather than failing the file; other validation is left to the caller.
+     * Reading stops as soon as the file has more than maxRows data rows.
+     *
+     * @throws ValidationException if the header is missing or incomplete, or there are more than maxRows rows
+     * @throws IOException if the body cannot be read or ends inside a quoted field
+     */
+    public static List<ParsedRow> parse(InputStream in, int maxRows) throws IOException {
+        CsvReader reader = new CsvReader(in);
+        List<String> headerRecord = reader.next();
+        if (headerRecord == null || CsvReader.isBlank(headerRecord)) {
+            throw new ValidationException("CSV header is required");
+        }
+
+        Map<String, Integer> header = parseHeader(headerRecord);
+        List<ParsedRow> rows = new ArrayList<>();
+        List<String> record;
+        while ((record = reader.next()) != null) {
+            if (!CsvReader.isBlank(record)) {
+                if (rows.size() == maxRows) {
+                    throw new ValidationException("Import is limited to " + maxRows + " vehicles per request");
+                }
+                rows.add(toRow(record, header));
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> names) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).replace("_", "").trim().toLowerCase(Locale.ROOT);
+            if (COLUMNS.contains(name)) {
+                header.put(name, i);
+            }
+        }
+        for (String column : COLUMNS) {
+            if (!column.equals("color") && !header.containsKey(column)) {
+                throw new ValidationException("CSV header is missing column: " + column);
+            }
+        }
+        return header;
+    }
+
+    private static ParsedRow toRow(List<String> fields, Map<String, Integer> header) {
+        List<String> errors = new ArrayList<>();
+        CreateVehicleRequest request = CreateVehicleRequest.builder()
+            .licensePlate(field(fields, header, "licenseplate"))
+            .vin(field(fields, header, "vin"))
+            .make(field(fields, header, "make"))
+            .model(field(fields, header, "model"))
+            .year(parse(field(fields, header, "year"), "year", Integer::valueOf, errors))
+            .color(field(fields, header, "color"))
+            .transmission(parse(field(fields, header, "transmission"), "transmission",
+                value -> TransmissionType.valueOf(value.toUpperCase(Locale.ROOT)), errors))
+            .dailyRate(parse(field(fields, header, "dailyrate"), "daily rate", BigDecimal::new, errors))
+            .type(parse(field(fields, header, "type"), "type",
+                value -> VehicleType.valueOf(value.toUpperCase(Locale.ROOT)), errors))
+            .build();
+        return new ParsedRow(request, errors);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // NumberFormatException and an unknown enum constant are both IllegalArgumentExceptions
+    private static <T> T parse(String value, String label, Function<String, T> parser, List<String> errors) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException ex) {
+            errors.add("Invalid " + label + ": " + value);
+            return null;
+        }
+    }
+}
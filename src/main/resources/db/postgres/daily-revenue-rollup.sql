@@ -0,0 +1,11 @@
+-- One row of payment and refund totals per day, kept up to date by RevenueRollupService.
+-- Apply before deploying. The primary key is required: insertEmptyDay relies on ON CONFLICT DO NOTHING.
+
+CREATE TABLE IF NOT EXISTS daily_revenue_rollup (
+    revenue_date  DATE           PRIMARY KEY,
+    gross_revenue NUMERIC(14, 2) NOT NULL,
+    payment_count BIGINT         NOT NULL,
+    refund_amount NUMERIC(14, 2) NOT NULL,
+    refund_count  BIGINT         NOT NULL,
+    updated_at    TIMESTAMP      NOT NULL
+);
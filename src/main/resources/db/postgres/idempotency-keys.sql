@@ -0,0 +1,12 @@
+-- Idempotency-Key claims and stored responses; rows past expires_at are purged hourly.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(200) PRIMARY KEY,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    response_body   TEXT,
+    claimed_at      TIMESTAMP    NOT NULL,
+    expires_at      TIMESTAMP    NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_expires ON idempotency_keys (expires_at);
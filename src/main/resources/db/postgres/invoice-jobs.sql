@@ -0,0 +1,25 @@
+-- Invoice generation queue, one job per rental; workers claim batches with FOR UPDATE SKIP LOCKED.
+
+CREATE TABLE IF NOT EXISTS invoice_jobs (
+    id           BIGSERIAL     PRIMARY KEY,
+    rental_id    BIGINT        NOT NULL,
+    status       VARCHAR(20)   NOT NULL,
+    attempts     INTEGER       NOT NULL,
+    last_error   VARCHAR(1000),
+    available_at TIMESTAMP     NOT NULL,
+    locked_until TIMESTAMP,
+    created_at   TIMESTAMP     NOT NULL,
+    updated_at   TIMESTAMP     NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_invoice_jobs_rental ON invoice_jobs (rental_id);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_jobs_status_available ON invoice_jobs (status, available_at);
+
+-- Queue an invoice for rentals completed before the queue existed
+INSERT INTO invoice_jobs (rental_id, status, attempts, available_at, created_at, updated_at)
+SELECT r.id, 'PENDING', 0, now(), now(), now()
+FROM rentals r
+WHERE r.status = 'COMPLETED'
+  AND NOT EXISTS (SELECT 1 FROM invoices i WHERE i.rental_id = r.id)
+ON CONFLICT DO NOTHING;
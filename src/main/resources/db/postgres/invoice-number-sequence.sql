@@ -0,0 +1,7 @@
+-- Invoice numbers are drawn from this sequence in blocks; each node reserves a block with one nextval
+-- and hands out its values from memory. INCREMENT BY must equal carrental.invoices.number-block-size.
+-- Apply before deploying.
+
+CREATE SEQUENCE IF NOT EXISTS invoice_number_seq START WITH 1 INCREMENT BY 100;
+
+ALTER SEQUENCE invoice_number_seq INCREMENT BY 100;
@@ -0,0 +1,12 @@
+-- Composite indexes backing the cursor listings: each matches the listing's filter columns
+-- followed by its (created_at, id) ordering, so a page is a single index range scan.
+-- CONCURRENTLY cannot run inside a transaction; apply these statements one at a time.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_rentals_user_created
+    ON rentals (user_id, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_payments_user_created
+    ON payments (user_id, created_at DESC, id DESC);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_reviews_vehicle_status_created
+    ON reviews (vehicle_id, status, created_at DESC, id DESC);
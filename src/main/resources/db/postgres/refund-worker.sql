@@ -0,0 +1,10 @@
+-- Columns used by the refund worker; refunds are claimed in batches with FOR UPDATE SKIP LOCKED.
+-- Apply before deploying.
+
+ALTER TABLE refunds ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE refunds ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMP;
+ALTER TABLE refunds ADD COLUMN IF NOT EXISTS gateway_reference VARCHAR(100);
+ALTER TABLE refunds ADD COLUMN IF NOT EXISTS failure_reason VARCHAR(500);
+ALTER TABLE refunds ADD COLUMN IF NOT EXISTS processed_at TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_refund_status_claimed ON refunds (status, claimed_until);
@@ -0,0 +1,19 @@
+-- Booking exclusion constraint for rentals (carrental.booking.exclusion-constraint.enabled=true).
+-- Safe to re-run; applied at startup before the application accepts bookings.
+--
+-- pickup_date/return_date are TIMESTAMP WITHOUT TIME ZONE, so the period is a tsrange.
+-- Bounds are inclusive to match the existing conflict query, where touching windows conflict.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE rentals ADD COLUMN IF NOT EXISTS booking_period tsrange
+    GENERATED ALWAYS AS (tsrange(pickup_date, return_date, '[]')) STORED;
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'ex_rentals_vehicle_booking_period') THEN
+        ALTER TABLE rentals ADD CONSTRAINT ex_rentals_vehicle_booking_period
+            EXCLUDE USING gist (vehicle_id WITH =, booking_period WITH &&)
+            WHERE (status IN ('PENDING', 'CONFIRMED', 'ACTIVE'));
+    END IF;
+END $$;
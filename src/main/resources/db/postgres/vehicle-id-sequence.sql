@@ -0,0 +1,15 @@
+-- Vehicle IDs come from a sequence allocated in blocks of 50 so Hibernate can batch inserts.
+-- Apply before deploying; Hibernate rejects a sequence whose increment differs from allocationSize.
+
+-- An identity column owns its sequence and would drop it here; a serial column keeps it
+ALTER TABLE vehicles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS vehicles_id_seq;
+
+ALTER SEQUENCE vehicles_id_seq INCREMENT BY 50 OWNED BY vehicles.id;
+
+ALTER TABLE vehicles ALTER COLUMN id SET DEFAULT nextval('vehicles_id_seq');
+
+-- Hibernate's pooled optimizer reads each nextval as the top of a block of allocationSize (50 in Vehicle)
+-- and hands out the 49 values below it as well, so the first value must be MAX(id) + 50
+SELECT setval('vehicles_id_seq', COALESCE((SELECT MAX(id) FROM vehicles), 0) + 50, false);
@@ -0,0 +1,22 @@
+-- Per-vehicle totals of approved reviews, maintained incrementally by review moderation.
+-- The application fills an empty table from the reviews table on startup.
+
+CREATE TABLE IF NOT EXISTS vehicle_rating_stats (
+    vehicle_id              BIGINT    PRIMARY KEY REFERENCES vehicles (id) ON DELETE CASCADE,
+    review_count            BIGINT    NOT NULL DEFAULT 0,
+    rating_sum              BIGINT    NOT NULL DEFAULT 0,
+    one_star_count          BIGINT    NOT NULL DEFAULT 0,
+    two_star_count          BIGINT    NOT NULL DEFAULT 0,
+    three_star_count        BIGINT    NOT NULL DEFAULT 0,
+    four_star_count         BIGINT    NOT NULL DEFAULT 0,
+    five_star_count         BIGINT    NOT NULL DEFAULT 0,
+    vehicle_condition_sum   BIGINT    NOT NULL DEFAULT 0,
+    vehicle_condition_count BIGINT    NOT NULL DEFAULT 0,
+    cleanliness_sum         BIGINT    NOT NULL DEFAULT 0,
+    cleanliness_count       BIGINT    NOT NULL DEFAULT 0,
+    pickup_process_sum      BIGINT    NOT NULL DEFAULT 0,
+    pickup_process_count    BIGINT    NOT NULL DEFAULT 0,
+    return_process_sum      BIGINT    NOT NULL DEFAULT 0,
+    return_process_count    BIGINT    NOT NULL DEFAULT 0,
+    updated_at              TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
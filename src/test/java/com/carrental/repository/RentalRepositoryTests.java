@@ -0,0 +1,117 @@
+package com.carrental.repository;
+
+import com.carrental.dto.response.RentalResponse;
+import com.carrental.entity.Rental;
+import com.carrental.entity.User;
+import com.carrental.entity.Vehicle;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.TransmissionType;
+import com.carrental.entity.enums.VehicleType;
+import com.carrental.mapper.RentalMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(RentalMapper.class)
+class RentalRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private RentalRepository rentalRepository;
+
+    @Autowired
+    private RentalMapper rentalMapper;
+
+    private Statistics statistics;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+            .email("renter@test.com")
+            .password("secret")
+            .firstName("Jane")
+            .lastName("Doe")
+            .build());
+        userId = user.getId();
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int v = 0; v < 3; v++) {
+            Vehicle vehicle = entityManager.persist(Vehicle.builder()
+                .licensePlate("PLATE-" + v)
+                .vin("VIN0000000000000" + v)
+                .make("Make" + v)
+                .model("Model" + v)
+                .year(2022)
+                .transmission(TransmissionType.AUTOMATIC)
+                .type(VehicleType.SEDAN)
+                .dailyRate(BigDecimal.valueOf(50))
+                .build());
+            for (int r = 0; r < 2; r++) {
+                entityManager.persist(Rental.builder()
+                    .user(user)
+                    .vehicle(vehicle)
+                    .pickupDate(now.plusDays(10L * v + 3L * r))
+                    .returnDate(now.plusDays(10L * v + 3L * r + 2))
+                    .pickupLocation("Airport")
+                    .dailyRate(BigDecimal.valueOf(50))
+                    .totalCost(BigDecimal.valueOf(100))
+                    .status(RentalStatus.CONFIRMED)
+                    .createdAt(now.minusHours(2L * v + r))
+                    .updatedAt(now)
+                    .build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testOffsetPageIsOneSelectPlusCount() {
+        Page<RentalResponse> page = rentalRepository.findSummariesByUserId(userId, PageRequest.of(0, 4))
+            .map(rentalMapper::toResponse);
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(6);
+        assertThat(page.getContent()).allSatisfy(rental ->
+            assertThat(rental.getVehicleMakeModel()).matches("Make\\d Model\\d"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testKeysetPageIsASingleSelect() {
+        List<RentalResponse> rentals = rentalRepository.findFirstPageByUserId(userId, PageRequest.ofSize(6)).stream()
+            .map(rentalMapper::toResponse)
+            .toList();
+
+        assertThat(rentals).hasSize(6);
+        assertThat(rentals).extracting(RentalResponse::getVehicleMakeModel)
+            .containsOnly("Make0 Model0", "Make1 Model1", "Make2 Model2");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,111 @@
+package com.carrental.repository;
+
+import com.carrental.dto.response.ReviewResponse;
+import com.carrental.entity.Rental;
+import com.carrental.entity.Review;
+import com.carrental.entity.User;
+import com.carrental.entity.Vehicle;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.entity.enums.TransmissionType;
+import com.carrental.entity.enums.VehicleType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ReviewRepositoryTests {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    private Statistics statistics;
+    private Long vehicleId;
+    private Long reviewId;
+
+    @BeforeEach
+    void setUp() {
+        User user = entityManager.persist(User.builder()
+            .email("reviewer@test.com")
+            .password("secret")
+            .firstName("Jane")
+            .lastName("Doe")
+            .build());
+        Vehicle vehicle = entityManager.persist(Vehicle.builder()
+            .licensePlate("REV-001")
+            .vin("VIN00000000000001")
+            .make("Toyota")
+            .model("Camry")
+            .year(2022)
+            .transmission(TransmissionType.AUTOMATIC)
+            .type(VehicleType.SEDAN)
+            .dailyRate(BigDecimal.valueOf(50))
+            .build());
+        LocalDateTime now = LocalDateTime.now();
+        Rental rental = entityManager.persist(Rental.builder()
+            .user(user)
+            .vehicle(vehicle)
+            .pickupDate(now.minusDays(5))
+            .returnDate(now.minusDays(2))
+            .pickupLocation("Airport")
+            .dailyRate(BigDecimal.valueOf(50))
+            .totalCost(BigDecimal.valueOf(150))
+            .status(RentalStatus.COMPLETED)
+            .createdAt(now.minusDays(6))
+            .updatedAt(now)
+            .build());
+        Review review = entityManager.persist(Review.builder()
+            .vehicle(vehicle)
+            .user(user)
+            .rental(rental)
+            .rating(5)
+            .title("Great car")
+            .content("Clean and comfortable")
+            .status(ReviewStatus.APPROVED)
+            .helpfulCount(3L)
+            .unhelpfulCount(0L)
+            .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        vehicleId = vehicle.getId();
+        reviewId = review.getId();
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testListingIsBuiltFromColumnsWithoutLoadingEntities() {
+        Page<ReviewResponse> page = reviewRepository.findRecentResponsesByVehicle(vehicleId, PageRequest.of(0, 10));
+
+        assertThat(page.getContent()).singleElement().satisfies(response -> {
+            assertThat(response.getId()).isEqualTo(reviewId);
+            assertThat(response.getVehicleMakeModel()).isEqualTo("Toyota Camry");
+            assertThat(response.getUserName()).isEqualTo("Jane Doe");
+            assertThat(response.getRating()).isEqualTo(5);
+            assertThat(response.getContent()).isEqualTo("Clean and comfortable");
+            assertThat(response.getHelpfulCount()).isEqualTo(3L);
+        });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
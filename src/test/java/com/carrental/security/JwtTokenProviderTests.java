@@ -1,12 +1,18 @@
 // ==== JWT Token Provider Tests ====
 package com.carrental.security;
 
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,6 +25,9 @@ class JwtTokenProviderTests {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Value("${spring.security.jwt.secret}")
+    private String jwtSecret;
+
     private Long userId;
     private String email;
     private List<String> roles;
@@ -100,6 +109,25 @@ class JwtTokenProviderTests {
         assertThat(isExpired).isFalse();
     }
 
+    @Test
+    void testIsTokenExpiredForExpiredToken() {
+        Date issuedAt = new Date(System.currentTimeMillis() - 120_000);
+        String token = Jwts.builder()
+                .setSubject(String.valueOf(userId))
+                .setIssuedAt(issuedAt)
+                .setExpiration(new Date(issuedAt.getTime() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        assertThat(tokenProvider.parseToken(token)).isNull();
+        assertThat(tokenProvider.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    void testIsTokenExpiredForInvalidToken() {
+        assertThat(tokenProvider.isTokenExpired("invalid.token.here")).isTrue();
+    }
+
     @Test
     void testGetExpirationDateFromToken() {
         String token = tokenProvider.generateAccessToken(userId, email, roles);
@@ -109,4 +137,33 @@ class JwtTokenProviderTests {
         assertThat(expirationDate).isNotNull();
         assertThat(expirationDate).isAfter(new java.util.Date());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testParseToken() {
+        String token = tokenProvider.generateAccessToken(userId, email, roles);
+
+        JwtPrincipal principal = tokenProvider.parseToken(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUserId()).isEqualTo(userId);
+        assertThat(principal.getEmail()).isEqualTo(email);
+        assertThat(principal.getRoles()).isEqualTo(roles);
+        assertThat(principal.isExpired()).isFalse();
+    }
+
+    @Test
+    void testParseInvalidTokenReturnsNull() {
+        assertThat(tokenProvider.parseToken("invalid.token.here")).isNull();
+    }
+
+    @Test
+    void testParseRefreshTokenHasNoRoles() {
+        String token = tokenProvider.generateRefreshToken(userId);
+
+        JwtPrincipal principal = tokenProvider.parseToken(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUserId()).isEqualTo(userId);
+        assertThat(principal.getRoles()).isNull();
+    }
+}
@@ -0,0 +1,93 @@
+package com.carrental.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VerifiedTokenCacheTests {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private JwtTokenProvider tokenProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VerifiedTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenCache = new VerifiedTokenCache(tokenProvider, meterRegistry, 100);
+    }
+
+    private static JwtPrincipal principalExpiringIn(long millis, List<String> roles) {
+        return new JwtPrincipal(1L, "user@test.com", roles, new Date(System.currentTimeMillis() + millis));
+    }
+
+    @Test
+    void testRepeatTokenIsVerifiedOnce() {
+        when(tokenProvider.parseToken(TOKEN)).thenReturn(principalExpiringIn(60_000, List.of("CUSTOMER")));
+
+        VerifiedTokenCache.VerifiedToken first = tokenCache.resolve(TOKEN);
+        VerifiedTokenCache.VerifiedToken second = tokenCache.resolve(TOKEN);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.authorities()).extracting("authority").containsExactly("ROLE_CUSTOMER");
+        verify(tokenProvider, times(1)).parseToken(TOKEN);
+    }
+
+    @Test
+    void testInvalidTokenIsNotCached() {
+        when(tokenProvider.parseToken(TOKEN)).thenReturn(null);
+
+        assertThat(tokenCache.resolve(TOKEN)).isNull();
+        assertThat(tokenCache.resolve(TOKEN)).isNull();
+
+        verify(tokenProvider, times(2)).parseToken(TOKEN);
+        assertThat(tokenCache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void testRefreshTokenIsRejected() {
+        when(tokenProvider.parseToken(TOKEN)).thenReturn(principalExpiringIn(60_000, null));
+
+        assertThat(tokenCache.resolve(TOKEN)).isNull();
+    }
+
+    @Test
+    void testEntryDoesNotOutliveToken() {
+        when(tokenProvider.parseToken(TOKEN))
+            .thenReturn(principalExpiringIn(-1_000, List.of("CUSTOMER")))
+            .thenReturn(null);
+
+        assertThat(tokenCache.resolve(TOKEN)).isNotNull();
+        assertThat(tokenCache.resolve(TOKEN)).isNull();
+
+        verify(tokenProvider, times(2)).parseToken(TOKEN);
+    }
+
+    @Test
+    void testHitsAndMissesAreExported() {
+        when(tokenProvider.parseToken(TOKEN)).thenReturn(principalExpiringIn(60_000, List.of("CUSTOMER")));
+
+        tokenCache.resolve(TOKEN);
+        tokenCache.resolve(TOKEN);
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwtVerifiedTokens").tag("result", "hit")
+            .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "jwtVerifiedTokens").tag("result", "miss")
+            .functionCounter().count()).isEqualTo(1.0);
+    }
+}
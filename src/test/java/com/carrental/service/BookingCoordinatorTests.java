@@ -0,0 +1,135 @@
+package com.carrental.service;
+
+import com.carrental.exception.BookingConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingCoordinatorTests {
+
+    @SuppressWarnings("unchecked")
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate = mock(ObjectProvider.class);
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final BookingCoordinator coordinator = new BookingCoordinator("local", 64, 200, jdbcTemplate, false);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testLockRequiresTransaction() {
+        assertThrows(IllegalStateException.class, () -> coordinator.lockVehicle(1L));
+    }
+
+    @Test
+    void testSameVehicleWaitsForTransactionCompletion() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        coordinator.lockVehicle(1L);
+
+        CompletableFuture<Void> contender = CompletableFuture.runAsync(() -> bookInTransaction(1L), executor);
+
+        assertThat(contender).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(BookingConflictException.class);
+
+        completeTransaction();
+
+        CompletableFuture.runAsync(() -> bookInTransaction(1L), executor).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testDifferentVehiclesDoNotBlock() throws Exception {
+        long otherVehicle = 2L;
+        while (coordinator.stripeFor(otherVehicle) == coordinator.stripeFor(1L)) {
+            otherVehicle++;
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        coordinator.lockVehicle(1L);
+
+        long vehicleId = otherVehicle;
+        CompletableFuture.runAsync(() -> bookInTransaction(vehicleId), executor).get(5, TimeUnit.SECONDS);
+
+        completeTransaction();
+    }
+
+    @Test
+    void testAdvisoryLockGivesUpAfterTimeout() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getObject()).thenReturn(jdbc);
+        when(jdbc.queryForObject(anyString(), eq(Boolean.class), any(), any())).thenReturn(false);
+        BookingCoordinator advisory = new BookingCoordinator("advisory", 64, 50, jdbcTemplate, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        assertThrows(BookingConflictException.class, () -> advisory.lockVehicle(1L));
+        verify(jdbc, atLeast(2)).queryForObject(anyString(), eq(Boolean.class), any(), any());
+    }
+
+    @Test
+    void testAdvisoryLockAcquiredOnRetry() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getObject()).thenReturn(jdbc);
+        when(jdbc.queryForObject(anyString(), eq(Boolean.class), any(), any())).thenReturn(false, true);
+        BookingCoordinator advisory = new BookingCoordinator("advisory", 64, 200, jdbcTemplate, false);
+        TransactionSynchronizationManager.initSynchronization();
+
+        advisory.lockVehicle(1L);
+
+        verify(jdbc, times(2)).queryForObject("SELECT pg_try_advisory_xact_lock(?, ?)", Boolean.class,
+            0x52454E54, Long.hashCode(1L));
+    }
+
+    @Test
+    void testStripeCountRoundsUpToPowerOfTwo() {
+        BookingCoordinator coordinator = new BookingCoordinator("local", 48, 200, jdbcTemplate, false);
+
+        for (long vehicleId = 0; vehicleId < 1_000; vehicleId++) {
+            assertThat(coordinator.stripeFor(vehicleId)).isBetween(0, 63);
+        }
+    }
+
+    private void bookInTransaction(Long vehicleId) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            coordinator.lockVehicle(vehicleId);
+            completeTransaction();
+        } finally {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+        }
+    }
+
+    private static void completeTransaction() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,103 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.DashboardMetrics;
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.entity.enums.RefundStatus;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.entity.enums.UserStatus;
+import com.carrental.entity.enums.VehicleStatus;
+import com.carrental.repository.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardSnapshotEngineTests {
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private RefundRepository refundRepository;
+
+    @InjectMocks
+    private DashboardSnapshotEngine snapshotEngine;
+
+    @BeforeEach
+    void setUp() {
+        when(rentalRepository.countGroupedByStatus()).thenReturn(List.of(
+            new Object[]{RentalStatus.ACTIVE, 10L},
+            new Object[]{RentalStatus.COMPLETED, 85L},
+            new Object[]{RentalStatus.CANCELLED, 5L}));
+        when(vehicleRepository.countGroupedByStatus()).thenReturn(List.of(
+            new Object[]{VehicleStatus.ACTIVE, 45L},
+            new Object[]{VehicleStatus.MAINTENANCE, 5L}));
+        when(userRepository.summarizeByStatus(any())).thenReturn(List.of(
+            new Object[]{UserStatus.ACTIVE, 150L, 18L},
+            new Object[]{UserStatus.SUSPENDED, 50L, 2L}));
+        when(paymentRepository.summarizeByStatus(any(), any())).thenReturn(List.of(
+            new Object[]{PaymentStatus.COMPLETED, 95L, new BigDecimal("45000.00"), 90L, new BigDecimal("1500.00")},
+            new Object[]{PaymentStatus.PENDING, 3L, new BigDecimal("900.00"), 3L, BigDecimal.ZERO}));
+        when(reviewRepository.summarizeByStatus()).thenReturn(List.of(
+            new Object[]{ReviewStatus.APPROVED, 4L, 18L},
+            new Object[]{ReviewStatus.PENDING, 10L, 30L}));
+        when(refundRepository.summarizeByStatus()).thenReturn(List.<Object[]>of(
+            new Object[]{RefundStatus.COMPLETED, 5L, new BigDecimal("2500.00")}));
+    }
+
+    @Test
+    void testMetricsAreDerivedFromStatusHistograms() {
+        DashboardMetrics metrics = snapshotEngine.current().toMetrics();
+
+        assertThat(metrics.getTotalRentals()).isEqualTo(100L);
+        assertThat(metrics.getActiveRentals()).isEqualTo(10L);
+        assertThat(metrics.getTotalVehicles()).isEqualTo(50L);
+        assertThat(metrics.getFleetUtilizationRate()).isEqualTo(20.0);
+        assertThat(metrics.getTotalUsers()).isEqualTo(200L);
+        assertThat(metrics.getNewUsersThisMonth()).isEqualTo(20L);
+        assertThat(metrics.getPendingPayments()).isEqualTo(3L);
+        assertThat(metrics.getMonthlyRevenue()).isEqualByComparingTo("45000.00");
+        assertThat(metrics.getAverageOrderValue()).isEqualByComparingTo("500.00");
+        assertThat(metrics.getAverageRating()).isEqualTo(4.5);
+        assertThat(metrics.getTotalRefundAmount()).isEqualByComparingTo("2500.00");
+    }
+
+    @Test
+    void testReadsServeTheSameSnapshotUntilRefreshed() {
+        DashboardSnapshot first = snapshotEngine.current();
+        DashboardSnapshot second = snapshotEngine.current();
+
+        assertThat(second).isSameAs(first);
+        verify(rentalRepository, times(1)).countGroupedByStatus();
+
+        snapshotEngine.refreshSnapshot();
+
+        assertThat(snapshotEngine.current()).isNotSameAs(first);
+        verify(rentalRepository, times(2)).countGroupedByStatus();
+    }
+}
@@ -0,0 +1,138 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.util.IntervalTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FleetAvailabilityCalendarTests {
+
+    @Mock
+    private VehicleAvailabilityIndex availabilityIndex;
+
+    private FleetAvailabilityCalendar calendar;
+
+    private final Map<Long, List<LocalDateTime[]>> bookings = new HashMap<>();
+
+    private final LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+
+    @BeforeEach
+    void setUp() {
+        calendar = new FleetAvailabilityCalendar(availabilityIndex, 30);
+
+        lenient().when(availabilityIndex.isReady()).thenReturn(true);
+        lenient().when(availabilityIndex.trackedVehicleIds()).thenAnswer(invocation -> Set.copyOf(bookings.keySet()));
+        lenient().doAnswer(invocation -> {
+            IntervalTree.IntervalVisitor visitor = invocation.getArgument(1);
+            long id = 0;
+            for (LocalDateTime[] window : bookings.getOrDefault(invocation.<Long>getArgument(0), List.of())) {
+                visitor.visit(id++, VehicleAvailabilityIndex.toMillis(window[0]), VehicleAvailabilityIndex.toMillis(window[1]));
+            }
+            return null;
+        }).when(availabilityIndex).forEachBooking(anyLong(), any());
+    }
+
+    private void book(Long vehicleId, LocalDateTime pickup, LocalDateTime dropOff) {
+        bookings.computeIfAbsent(vehicleId, id -> new ArrayList<>()).add(new LocalDateTime[]{pickup, dropOff});
+    }
+
+    @Test
+    void testCoversOnlyWithinHorizon() {
+        calendar.rebuild();
+
+        assertThat(calendar.covers(tomorrow, tomorrow.plusDays(3))).isTrue();
+        assertThat(calendar.covers(tomorrow, tomorrow.plusDays(60))).isFalse();
+        assertThat(calendar.covers(tomorrow.minusDays(5), tomorrow)).isFalse();
+    }
+
+    @Test
+    void testNotCoveredBeforeBuild() {
+        assertThat(calendar.covers(tomorrow, tomorrow.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void testNotCoveredWhileIndexWarmingUp() {
+        calendar.rebuild();
+        when(availabilityIndex.isReady()).thenReturn(false);
+
+        assertThat(calendar.covers(tomorrow, tomorrow.plusDays(1))).isFalse();
+    }
+
+    @Test
+    void testVehicleWithoutBookingsIsFree() {
+        calendar.rebuild();
+
+        assertThat(calendar.isCertainlyFree(7L, tomorrow, tomorrow.plusDays(10))).isTrue();
+    }
+
+    @Test
+    void testOverlappingWindowIsNotFree() {
+        book(1L, tomorrow.plusDays(2), tomorrow.plusDays(4));
+        calendar.rebuild();
+
+        assertThat(calendar.isCertainlyFree(1L, tomorrow.plusDays(3), tomorrow.plusDays(5))).isFalse();
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(2))).isTrue();
+        assertThat(calendar.isCertainlyFree(1L, tomorrow.plusDays(5), tomorrow.plusDays(6))).isTrue();
+    }
+
+    @Test
+    void testWindowSpanningManyWordsIsNotFree() {
+        book(1L, tomorrow.plusDays(20), tomorrow.plusDays(20).plusHours(1));
+        calendar.rebuild();
+
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(25))).isFalse();
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(19))).isTrue();
+    }
+
+    @Test
+    void testFleetScanReturnsFreeVehicles() {
+        book(1L, tomorrow.plusDays(2), tomorrow.plusDays(4));
+        book(2L, tomorrow.plusDays(3).plusMinutes(10), tomorrow.plusDays(3).plusMinutes(30));
+        book(3L, tomorrow.plusDays(10), tomorrow.plusDays(12));
+        calendar.rebuild();
+        LocalDateTime start = tomorrow.plusDays(3).plusMinutes(40);
+        LocalDateTime end = tomorrow.plusDays(3).plusHours(5);
+        // Vehicle 2 shares an hour with the window but ends before it starts
+        when(availabilityIndex.isAvailable(1L, start, end)).thenReturn(false);
+        when(availabilityIndex.isAvailable(2L, start, end)).thenReturn(true);
+
+        assertThat(calendar.freeVehicleIds(List.of(1L, 2L, 3L, 4L), start, end)).containsExactlyInAnyOrder(2L, 3L, 4L);
+    }
+
+    @Test
+    void testBookingChangeRerendersVehicleRow() {
+        calendar.rebuild();
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(1))).isTrue();
+
+        book(1L, tomorrow.plusHours(6), tomorrow.plusHours(8));
+        calendar.onBookingChanged(new RentalBookingChangedEvent(
+            10L, 1L, tomorrow.plusHours(6), tomorrow.plusHours(8), RentalStatus.CONFIRMED));
+
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(1))).isFalse();
+
+        bookings.clear();
+        calendar.onBookingChanged(new RentalBookingChangedEvent(
+            10L, 1L, tomorrow.plusHours(6), tomorrow.plusHours(8), RentalStatus.CANCELLED));
+
+        assertThat(calendar.isCertainlyFree(1L, tomorrow, tomorrow.plusDays(1))).isTrue();
+    }
+}
@@ -0,0 +1,156 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.PaymentResponse;
+import com.carrental.entity.IdempotencyKey;
+import com.carrental.entity.enums.IdempotencyStatus;
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.exception.IdempotencyException;
+import com.carrental.exception.PaymentException;
+import com.carrental.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTests {
+
+    private static final Map<String, Object> REQUEST = Map.of("rentalId", 1, "amount", 150);
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(repository, objectMapper, transactionManager,
+            new SimpleMeterRegistry(), 24, 60, 100);
+        lenient().when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(1);
+        lenient().when(repository.complete(anyString(), anyString())).thenReturn(1);
+    }
+
+    @Test
+    void testRetryReplaysStoredResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotencyService.Result<PaymentResponse> first = idempotencyService.execute("payments:1", "key-1",
+            REQUEST, PaymentResponse.class, () -> payment(executions.incrementAndGet()));
+        IdempotencyService.Result<PaymentResponse> retry = idempotencyService.execute("payments:1", "key-1",
+            REQUEST, PaymentResponse.class, () -> payment(executions.incrementAndGet()));
+
+        assertThat(executions).hasValue(1);
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.response().getId()).isEqualTo(1L);
+        verify(repository).complete(eq("payments:1:key-1"), anyString());
+    }
+
+    @Test
+    void testConcurrentDuplicatesShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<IdempotencyService.Result<PaymentResponse>> first = CompletableFuture.supplyAsync(() ->
+            idempotencyService.execute("payments:1", "key-2", REQUEST, PaymentResponse.class, () -> {
+                started.countDown();
+                await(release);
+                return payment(executions.incrementAndGet());
+            }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<IdempotencyService.Result<PaymentResponse>> duplicate = CompletableFuture.supplyAsync(() ->
+            idempotencyService.execute("payments:1", "key-2", REQUEST, PaymentResponse.class,
+                () -> payment(executions.incrementAndGet())));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).response().getId()).isEqualTo(1L);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).response().getId()).isEqualTo(1L);
+        assertThat(executions).hasValue(1);
+        verify(repository, times(1)).insertClaim(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void testResponseStoredByAnotherNodeIsReplayed() throws Exception {
+        when(repository.insertClaim(anyString(), anyString(), any(), any())).thenReturn(0);
+        when(repository.findById("payments:1:key-3")).thenReturn(Optional.of(IdempotencyKey.builder()
+            .key("payments:1:key-3")
+            .requestHash(sha256(objectMapper.writeValueAsBytes(REQUEST)))
+            .status(IdempotencyStatus.COMPLETED)
+            .responseBody(objectMapper.writeValueAsString(payment(7)))
+            .claimedAt(LocalDateTime.now())
+            .expiresAt(LocalDateTime.now().plusHours(1))
+            .build()));
+
+        IdempotencyService.Result<PaymentResponse> result = idempotencyService.execute("payments:1", "key-3",
+            REQUEST, PaymentResponse.class, () -> {
+                throw new AssertionError("must not run");
+            });
+
+        assertThat(result.replayed()).isTrue();
+        assertThat(result.response().getId()).isEqualTo(7L);
+
+        assertThatThrownBy(() -> idempotencyService.execute("payments:1", "key-3",
+            Map.of("rentalId", 2), PaymentResponse.class, () -> payment(8)))
+            .isInstanceOf(IdempotencyException.class);
+    }
+
+    @Test
+    void testFailedRequestReleasesKey() {
+        assertThatThrownBy(() -> idempotencyService.execute("payments:1", "key-4", REQUEST, PaymentResponse.class,
+            () -> {
+                throw new PaymentException("Rental not found");
+            }))
+            .isInstanceOf(PaymentException.class);
+
+        verify(repository).release("payments:1:key-4");
+        verify(repository, never()).complete(anyString(), anyString());
+    }
+
+    private static PaymentResponse payment(long id) {
+        return PaymentResponse.builder().id(id).status(PaymentStatus.COMPLETED).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
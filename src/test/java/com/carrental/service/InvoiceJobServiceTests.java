@@ -0,0 +1,153 @@
+package com.carrental.service;
+
+import com.carrental.entity.InvoiceJob;
+import com.carrental.entity.enums.InvoiceJobStatus;
+import com.carrental.exception.PaymentException;
+import com.carrental.repository.InvoiceJobRepository;
+import com.carrental.repository.RentalRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InvoiceJobServiceTests {
+
+    @Mock
+    private InvoiceJobRepository repository;
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InvoiceJobService invoiceJobs;
+
+    @BeforeEach
+    void setUp() {
+        invoiceJobs = new InvoiceJobService(repository, rentalRepository, paymentService, transactionManager,
+            2, 300, 3, 30);
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        invoiceJobs.shutdown();
+    }
+
+    @Test
+    void testEnqueueRequeuesFailedJob() {
+        when(repository.insertIfAbsent(eq(10L), any())).thenReturn(0);
+        when(repository.requeueFailed(eq(10L), any())).thenReturn(1);
+
+        invoiceJobs.enqueue(10L);
+
+        verify(repository).requeueFailed(eq(10L), any());
+    }
+
+    @Test
+    void testPollClaimsOnlyIdleWorkersAndRunsJobs() {
+        when(repository.lockRunnable(any(), eq(3), eq(2))).thenReturn(List.of(1L, 2L));
+        when(repository.findById(1L)).thenReturn(Optional.of(job(1L, 10L, 1)));
+        when(repository.findById(2L)).thenReturn(Optional.of(job(2L, 20L, 1)));
+        when(repository.finish(any(), eq(1), eq(InvoiceJobStatus.COMPLETED), isNull(), any(), any())).thenReturn(1);
+
+        invoiceJobs.poll();
+
+        verify(repository).markProcessing(eq(List.of(1L, 2L)), any(), any());
+        verify(paymentService, timeout(2000)).generateInvoice(10L);
+        verify(paymentService, timeout(2000)).generateInvoice(20L);
+        verify(repository, timeout(2000)).finish(eq(2L), eq(1), eq(InvoiceJobStatus.COMPLETED), isNull(), any(), any());
+    }
+
+    @Test
+    void testFailedAttemptIsRetriedLater() {
+        when(repository.findById(1L)).thenReturn(Optional.of(job(1L, 10L, 2)));
+        when(paymentService.generateInvoice(10L)).thenThrow(new PaymentException("Rental not found"));
+
+        LocalDateTime before = LocalDateTime.now();
+        invoiceJobs.run(1L);
+
+        ArgumentCaptor<LocalDateTime> availableAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).finish(eq(1L), eq(2), eq(InvoiceJobStatus.PENDING), eq("Rental not found"),
+            availableAt.capture(), any());
+        assertThat(availableAt.getValue()).isAfterOrEqualTo(before.plusSeconds(60));
+    }
+
+    @Test
+    void testJobGivesUpAfterMaxAttempts() {
+        when(repository.findById(1L)).thenReturn(Optional.of(job(1L, 10L, 3)));
+        when(paymentService.generateInvoice(10L)).thenThrow(new PaymentException("Rental not found"));
+
+        invoiceJobs.run(1L);
+
+        verify(repository).finish(eq(1L), eq(3), eq(InvoiceJobStatus.FAILED), eq("Rental not found"), any(), any());
+    }
+
+    @Test
+    void testLostLeaseRollsBackInvoice() {
+        when(repository.findById(1L)).thenReturn(Optional.of(job(1L, 10L, 1)));
+        when(repository.finish(any(), eq(1), eq(InvoiceJobStatus.COMPLETED), isNull(), any(), any())).thenReturn(0);
+
+        invoiceJobs.run(1L);
+
+        ArgumentCaptor<TransactionStatus> status = ArgumentCaptor.forClass(TransactionStatus.class);
+        verify(transactionManager).commit(status.capture());
+        assertThat(status.getValue().isRollbackOnly()).isTrue();
+        verify(repository, never()).finish(any(), anyInt(), eq(InvoiceJobStatus.PENDING), any(), any(), any());
+    }
+
+    @Test
+    void testPollWithNothingRunnableClaimsNothing() {
+        when(repository.lockRunnable(any(), eq(3), eq(2))).thenReturn(List.of());
+
+        invoiceJobs.poll();
+
+        verify(repository, never()).markProcessing(anyList(), any(), any());
+    }
+
+    @Test
+    void testPollFailsJobsAbandonedOnLastAttempt() {
+        when(repository.failAbandoned(any(), eq(3), any())).thenReturn(1);
+        when(repository.lockRunnable(any(), eq(3), eq(2))).thenReturn(List.of());
+
+        invoiceJobs.poll();
+
+        verify(repository).failAbandoned(any(), eq(3), eq("Worker stopped during the last allowed attempt"));
+    }
+
+    private static InvoiceJob job(Long id, Long rentalId, int attempts) {
+        return InvoiceJob.builder()
+            .id(id)
+            .rentalId(rentalId)
+            .status(InvoiceJobStatus.PROCESSING)
+            .attempts(attempts)
+            .build();
+    }
+}
@@ -0,0 +1,90 @@
+package com.carrental.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvoiceNumberGeneratorTests {
+
+    @Test
+    void testNumbersComeFromReservedBlocks() {
+        AtomicLong sequence = new AtomicLong(101);
+        AtomicInteger reservations = new AtomicInteger();
+        InvoiceNumberGenerator generator = new InvoiceNumberGenerator(() -> {
+            reservations.incrementAndGet();
+            return sequence.getAndAdd(10);
+        }, 10);
+
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            values.add(generator.nextSequence());
+        }
+
+        assertThat(values).isSorted().doesNotHaveDuplicates();
+        assertThat(values.get(0)).isEqualTo(101);
+        assertThat(values.get(24)).isEqualTo(125);
+        assertThat(reservations.get()).isEqualTo(3);
+    }
+
+    @Test
+    void testNumberHasDatePrefixAndPaddedSequence() {
+        InvoiceNumberGenerator generator = new InvoiceNumberGenerator(() -> 4201, 100);
+
+        String today = LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE);
+        assertThat(generator.next()).isEqualTo("INV-" + today + "-000000004201");
+        assertThat(generator.next()).isEqualTo("INV-" + today + "-000000004202");
+    }
+
+    @Test
+    void testConcurrentCallersNeverShareANumber() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        InvoiceNumberGenerator generator = new InvoiceNumberGenerator(() -> sequence.getAndAdd(7), 7);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 16; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        issued.add(generator.nextSequence());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(issued).hasSize(16_000);
+    }
+
+    @Test
+    void testSequenceIncrementMustMatchBlockSize() {
+        InvoiceNumberGenerator.checkSequenceIncrement(100L, 100);
+
+        assertThatThrownBy(() -> InvoiceNumberGenerator.checkSequenceIncrement(1L, 100))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("increments by 1");
+        assertThatThrownBy(() -> InvoiceNumberGenerator.checkSequenceIncrement(200L, 100))
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> InvoiceNumberGenerator.checkSequenceIncrement(null, 100))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("does not exist");
+    }
+}
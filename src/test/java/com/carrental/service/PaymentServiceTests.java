@@ -50,6 +50,15 @@ class PaymentServiceTests {
     @Mock
     private InvoiceMapper invoiceMapper;
     
+    @Mock
+    private StatusCounterRegistry statusCounters;
+    
+    @Mock
+    private RevenueRollupService revenueRollup;
+    
+    @Mock
+    private InvoiceNumberGenerator invoiceNumbers;
+    
     @InjectMocks
     private PaymentService paymentService;
     
@@ -172,10 +181,27 @@ class PaymentServiceTests {
         verify(refundRepository, times(1)).save(any(Refund.class));
     }
     
+    @Test
+    void testReverseFailedRefund_RestoresPaymentAndRollup() {
+        LocalDateTime issuedAt = LocalDateTime.now().minusHours(2);
+        testPayment.setStatus(PaymentStatus.PARTIALLY_REFUNDED);
+        testPayment.setRefundedAmount(BigDecimal.valueOf(75));
+        when(paymentRepository.findById(1L)).thenReturn(Optional.of(testPayment));
+        
+        paymentService.reverseFailedRefund(1L, BigDecimal.valueOf(75), issuedAt);
+        
+        assertEquals(0, testPayment.getRefundedAmount().signum());
+        assertEquals(PaymentStatus.COMPLETED, testPayment.getStatus());
+        verify(paymentRepository).save(testPayment);
+        verify(statusCounters).paymentTransitioned(PaymentStatus.PARTIALLY_REFUNDED, PaymentStatus.COMPLETED);
+        verify(revenueRollup).reverseRefund(issuedAt, BigDecimal.valueOf(75));
+    }
+    
     @Test
     void testGenerateInvoice_Success() {
         when(invoiceRepository.findByRentalId(1L)).thenReturn(Optional.empty());
         when(rentalRepository.findById(1L)).thenReturn(Optional.of(testRental));
+        when(invoiceNumbers.next()).thenReturn("INV-123456");
         when(invoiceRepository.save(any(Invoice.class))).thenReturn(Invoice.builder()
             .id(1L)
             .rental(testRental)
@@ -191,7 +217,7 @@ class PaymentServiceTests {
         
         assertNotNull(response);
         assertEquals("INV-123456", response.getInvoiceNumber());
-        verify(invoiceRepository, times(1)).save(any(Invoice.class));
+        verify(invoiceRepository, times(1)).save(argThat(invoice -> "INV-123456".equals(invoice.getInvoiceNumber())));
     }
 }
 
@@ -0,0 +1,52 @@
+package com.carrental.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfanityFilterTests {
+
+    @TempDir
+    Path dictionaryDir;
+
+    @Test
+    void testChangedDictionaryIsSwappedIn() throws IOException {
+        Path english = Files.writeString(dictionaryDir.resolve("en.txt"), "# English\nbadword\n");
+        Path french = Files.writeString(dictionaryDir.resolve("fr.txt"), "grossier\n");
+        ProfanityFilter filter = new ProfanityFilter(new DefaultResourceLoader(),
+            new String[]{english.toUri().toString(), french.toUri().toString()});
+        filter.load();
+
+        assertThat(filter.containsProfanity("such a badword")).isTrue();
+        assertThat(filter.containsProfanity("un service GROSSIER")).isTrue();
+        assertThat(filter.containsProfanity("newword here")).isFalse();
+
+        Files.writeString(english, "newword\n");
+        Files.setLastModifiedTime(english, FileTime.from(Instant.now().plusSeconds(60)));
+        filter.reloadIfChanged();
+
+        assertThat(filter.containsProfanity("newword here")).isTrue();
+        assertThat(filter.containsProfanity("such a badword")).isFalse();
+    }
+
+    @Test
+    void testFailedReloadKeepsCurrentDictionary() throws IOException {
+        Path english = Files.writeString(dictionaryDir.resolve("en.txt"), "badword\n");
+        ProfanityFilter filter = new ProfanityFilter(new DefaultResourceLoader(),
+            new String[]{english.toUri().toString()});
+        filter.load();
+
+        Files.delete(english);
+        filter.reload();
+
+        assertThat(filter.containsProfanity("badword")).isTrue();
+    }
+}
@@ -0,0 +1,231 @@
+package com.carrental.service;
+
+import com.carrental.repository.RefundClaimRow;
+import com.carrental.repository.RefundRepository;
+import com.carrental.service.PaymentGateway.RefundResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RefundWorkerTests {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("75.00");
+
+    @Mock
+    private RefundRepository refundRepository;
+
+    @Mock
+    private PaymentGateway paymentGateway;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RefundWorker refundWorker;
+
+    @BeforeEach
+    void setUp() {
+        refundWorker = new RefundWorker(refundRepository, paymentGateway, paymentService, jdbcTemplate, transactionManager,
+            meterRegistry, 2, 300, 3, 60);
+    }
+
+    @Test
+    void testDrainCompletesRefundsAndRecordsMetrics() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L, 2L), List.of());
+        when(refundRepository.findClaimRows(List.of(1L, 2L))).thenReturn(List.of(claim(1L, 1), claim(2L, 1)));
+        when(paymentGateway.refund(eq(1L), eq("TXN-1"), eq(AMOUNT))).thenReturn(RefundResult.succeeded("re_1"));
+        when(paymentGateway.refund(eq(2L), eq("TXN-2"), eq(AMOUNT))).thenReturn(RefundResult.succeeded("re_2"));
+        recordBatchesWith(new int[]{1, 1});
+        when(refundRepository.countQueued()).thenReturn(4L);
+
+        refundWorker.drain();
+
+        verify(refundRepository).markProcessing(eq(List.of(1L, 2L)), any());
+        verify(refundRepository, times(2)).lockClaimable(any(), eq(3), eq(2));
+        verify(statement, times(2)).setString(1, "COMPLETED");
+        verify(statement).setString(3, "re_1");
+        verify(statement).setString(3, "re_2");
+        assertThat(meterRegistry.get("refunds.queue.depth").gauge().value()).isEqualTo(4.0);
+        assertThat(meterRegistry.get("refunds.gateway.latency").tag("outcome", "succeeded").timer().count())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get("refunds.completion.latency").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testRetryableFailureIsRescheduled() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 2)));
+        when(paymentGateway.refund(any(), any(), any())).thenThrow(new IllegalStateException("Gateway timeout"));
+        recordBatchesWith(new int[]{1});
+
+        assertThat(refundWorker.processBatch()).isEqualTo(1);
+
+        verify(statement).setString(1, "INITIATED");
+        verify(statement).setString(4, "Gateway timeout");
+        verify(statement).setTimestamp(eq(2), any(Timestamp.class));
+        verify(statement).setTimestamp(5, null);
+        verify(statement, never()).setTimestamp(eq(2), isNull());
+        assertThat(meterRegistry.get("refunds.gateway.latency").tag("outcome", "retry").timer().count())
+            .isEqualTo(1);
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void testRefundFailsAfterMaxAttempts() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 3)));
+        when(paymentGateway.refund(any(), any(), any())).thenReturn(RefundResult.retryLater("Rate limited"));
+        recordBatchesWith(new int[]{1});
+
+        refundWorker.processBatch();
+
+        verify(statement).setString(1, "FAILED");
+        verify(statement).setInt(7, 3);
+        verify(paymentService).reverseFailedRefund(eq(101L), eq(AMOUNT), any());
+    }
+
+    @Test
+    void testDeclinedRefundFailsImmediately() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 1)));
+        when(paymentGateway.refund(any(), any(), any())).thenReturn(RefundResult.declined("Card closed"));
+        recordBatchesWith(new int[]{1});
+
+        refundWorker.processBatch();
+
+        verify(statement).setString(1, "FAILED");
+        verify(statement).setString(4, "Card closed");
+        verify(paymentService).reverseFailedRefund(eq(101L), eq(AMOUNT), any());
+    }
+
+    @Test
+    void testLostLeaseIsNotCountedAsCompleted() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 1)));
+        when(paymentGateway.refund(any(), any(), any())).thenReturn(RefundResult.succeeded("re_1"));
+        recordBatchesWith(new int[]{0});
+
+        refundWorker.processBatch();
+
+        assertThat(meterRegistry.get("refunds.completion.latency").timer().count()).isZero();
+    }
+
+    @Test
+    void testFailedRefundWithLostLeaseIsNotReversed() throws Exception {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 1)));
+        when(paymentGateway.refund(any(), any(), any())).thenReturn(RefundResult.declined("Card closed"));
+        recordBatchesWith(new int[]{0});
+
+        refundWorker.processBatch();
+
+        verifyNoInteractions(paymentService);
+    }
+
+    @Test
+    void testRefundAbandonedOnLastAttemptIsFailed() throws Exception {
+        when(refundRepository.lockAbandoned(any(), eq(3), eq(2))).thenReturn(List.of(1L));
+        when(refundRepository.findClaimRows(List.of(1L))).thenReturn(List.of(claim(1L, 3)));
+        recordBatchesWith(new int[]{1});
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of());
+
+        refundWorker.drain();
+
+        verify(statement).setString(1, "FAILED");
+        verify(paymentService).reverseFailedRefund(eq(101L), eq(AMOUNT), any());
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    void testEmptyQueueClaimsNothing() {
+        when(refundRepository.lockClaimable(any(), eq(3), eq(2))).thenReturn(List.of());
+
+        assertThat(refundWorker.processBatch()).isZero();
+
+        verify(refundRepository, never()).markProcessing(any(), any());
+        verifyNoInteractions(paymentGateway, jdbcTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordBatchesWith(int[] counts) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(invocation -> {
+            Collection<Object> rows = invocation.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = invocation.getArgument(3);
+            for (Object row : rows) {
+                setter.setValues(statement, row);
+            }
+            return new int[][]{counts};
+        });
+    }
+
+    private static RefundClaimRow claim(Long id, int attempts) {
+        return new RefundClaimRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getPaymentId() {
+                return 100L + id;
+            }
+
+            @Override
+            public String getPaymentTransactionId() {
+                return "TXN-" + id;
+            }
+
+            @Override
+            public BigDecimal getAmount() {
+                return AMOUNT;
+            }
+
+            @Override
+            public Integer getAttempts() {
+                return attempts;
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return LocalDateTime.now().minusMinutes(5);
+            }
+        };
+    }
+}
@@ -2,6 +2,7 @@ package com.carrental.service;
 
 import com.carrental.dto.request.CreateRentalRequest;
 import com.carrental.dto.request.UpdateRentalRequest;
+import com.carrental.dto.response.CursorPage;
 import com.carrental.dto.response.RentalResponse;
 import com.carrental.entity.Rental;
 import com.carrental.entity.User;
@@ -11,18 +12,27 @@ import com.carrental.exception.BookingConflictException;
 import com.carrental.exception.RentalException;
 import com.carrental.mapper.RentalMapper;
 import com.carrental.repository.RentalRepository;
+import com.carrental.repository.RentalSummary;
 import com.carrental.repository.UserRepository;
 import com.carrental.repository.VehicleRepository;
+import com.carrental.util.PageCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
-import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -44,6 +54,21 @@ class RentalServiceTests {
     @Mock
     private RentalMapper rentalMapper;
     
+    @Mock
+    private VehicleAvailabilityIndex availabilityIndex;
+    
+    @Mock
+    private BookingCoordinator bookingCoordinator;
+    
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Mock
+    private StatusCounterRegistry statusCounters;
+    
+    @Mock
+    private InvoiceJobService invoiceJobs;
+    
     @InjectMocks
     private RentalService rentalService;
     
@@ -95,8 +120,8 @@ class RentalServiceTests {
     void testCreateRental_Success() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(rentalRepository.findConflictingRentals(anyLong(), any(), any(), anyList()))
-            .thenReturn(Collections.emptyList());
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any()))
+            .thenReturn(false);
         when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
         when(rentalMapper.toResponse(testRental)).thenReturn(RentalResponse.builder()
             .id(1L)
@@ -148,8 +173,8 @@ class RentalServiceTests {
     void testCreateRental_VehicleNotAvailable() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
-        when(rentalRepository.findConflictingRentals(anyLong(), any(), any(), anyList()))
-            .thenReturn(java.util.Arrays.asList(testRental));
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any()))
+            .thenReturn(true);
         
         assertThrows(BookingConflictException.class, () -> rentalService.createRental(1L, createRequest));
     }
@@ -216,8 +241,8 @@ class RentalServiceTests {
     @Test
     void testUpdateRental_Success() {
         when(rentalRepository.findById(1L)).thenReturn(Optional.of(testRental));
-        when(rentalRepository.findConflictingRentals(anyLong(), any(), any(), anyList()))
-            .thenReturn(Collections.emptyList());
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any()))
+            .thenReturn(false);
         when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
         when(rentalMapper.toResponse(testRental)).thenReturn(RentalResponse.builder()
             .id(1L)
@@ -236,4 +261,115 @@ class RentalServiceTests {
         assertNotNull(response);
         verify(rentalRepository, times(1)).save(any(Rental.class));
     }
+    
+    @Test
+    void testCreateRental_ConflictInIndexConfirmedByDatabase() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(availabilityIndex.isComplete()).thenReturn(true);
+        when(availabilityIndex.hasConflict(eq(1L), any(), any(), isNull())).thenReturn(true);
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any())).thenReturn(true);
+        
+        assertThrows(BookingConflictException.class, () -> rentalService.createRental(1L, createRequest));
+        verify(bookingCoordinator).lockVehicle(1L);
+        verify(rentalRepository, never()).save(any(Rental.class));
+    }
+    
+    @Test
+    void testCreateRental_CompleteIndexMissSkipsDatabaseCheck() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(availabilityIndex.isComplete()).thenReturn(true);
+        when(availabilityIndex.hasConflict(eq(1L), any(), any(), isNull())).thenReturn(false);
+        when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
+        
+        rentalService.createRental(1L, createRequest);
+        
+        InOrder inOrder = inOrder(bookingCoordinator, availabilityIndex);
+        inOrder.verify(bookingCoordinator).lockVehicle(1L);
+        inOrder.verify(availabilityIndex).hasConflict(eq(1L), any(), any(), isNull());
+        verify(rentalRepository, never()).existsConflictingRental(anyLong(), any(), any(), anyList(), any());
+    }
+    
+    @Test
+    void testCreateRental_StaleIndexConflictDoesNotBlockBooking() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(availabilityIndex.isComplete()).thenReturn(true);
+        when(availabilityIndex.hasConflict(eq(1L), any(), any(), isNull())).thenReturn(true);
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any())).thenReturn(false);
+        when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
+        
+        rentalService.createRental(1L, createRequest);
+        
+        verify(bookingCoordinator).lockVehicle(1L);
+        verify(rentalRepository).save(any(Rental.class));
+    }
+    
+    @Test
+    void testUpdateRental_ExcludesOwnBookingFromConflictCheck() {
+        when(rentalRepository.findById(1L)).thenReturn(Optional.of(testRental));
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), eq(1L)))
+            .thenReturn(false);
+        when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
+        
+        UpdateRentalRequest updateRequest = UpdateRentalRequest.builder()
+            .returnDate(LocalDateTime.now().plusDays(7))
+            .build();
+        
+        rentalService.updateRental(1L, 1L, updateRequest);
+        
+        verify(rentalRepository).existsConflictingRental(eq(1L), any(), any(), anyList(), eq(1L));
+        verify(eventPublisher).publishEvent(any(RentalBookingChangedEvent.class));
+    }
+    
+    @Test
+    void testCreateRental_LocksVehicleBeforeConflictCheck() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(rentalRepository.existsConflictingRental(anyLong(), any(), any(), anyList(), any()))
+            .thenReturn(false);
+        when(rentalRepository.save(any(Rental.class))).thenReturn(testRental);
+        
+        rentalService.createRental(1L, createRequest);
+        
+        InOrder inOrder = inOrder(bookingCoordinator, rentalRepository);
+        inOrder.verify(bookingCoordinator).lockVehicle(1L);
+        inOrder.verify(rentalRepository).existsConflictingRental(anyLong(), any(), any(), anyList(), any());
+        inOrder.verify(rentalRepository).save(any(Rental.class));
+    }
+    
+    @Test
+    void testCreateRental_ExclusionConstraintViolationIsBookingConflict() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(vehicleRepository.findById(1L)).thenReturn(Optional.of(testVehicle));
+        when(bookingCoordinator.isExclusionConstraintEnabled()).thenReturn(true);
+        when(rentalRepository.saveAndFlush(any(Rental.class))).thenThrow(new DataIntegrityViolationException(
+            "could not execute statement", new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+        
+        assertThrows(BookingConflictException.class, () -> rentalService.createRental(1L, createRequest));
+        verify(bookingCoordinator, never()).lockVehicle(anyLong());
+        verify(rentalRepository, never()).existsConflictingRental(anyLong(), any(), any(), anyList(), any());
+        verify(eventPublisher, never()).publishEvent(any(RentalBookingChangedEvent.class));
+    }
+    
+    @Test
+    void testGetUserRentalsByCursor_ContinuesAfterLastRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 10, 0);
+        ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+        RentalSummary second = projections.createProjection(RentalSummary.class,
+            Map.of("id", 2L, "createdAt", createdAt));
+        RentalSummary third = projections.createProjection(RentalSummary.class,
+            Map.of("id", 3L, "createdAt", createdAt.minusHours(1)));
+        when(rentalRepository.findPageByUserIdAfter(eq(1L), eq(createdAt.plusHours(1)), eq(1L), any()))
+            .thenReturn(List.of(second, third));
+        
+        String cursor = new PageCursor(createdAt.plusHours(1), 1L).encode();
+        CursorPage<RentalResponse> page = rentalService.getUserRentals(1L, cursor, 1);
+        
+        assertEquals(1, page.getItems().size());
+        assertTrue(page.getHasMore());
+        assertEquals(new PageCursor(createdAt, 2L), PageCursor.decode(page.getNextCursor()));
+        verify(rentalRepository, never()).findSummariesByUserId(anyLong(), any());
+    }
 }
@@ -0,0 +1,122 @@
+package com.carrental.service;
+
+import com.carrental.entity.DailyRevenueRollup;
+import com.carrental.repository.DailyRevenueRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RevenueRollupServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Mock
+    private DailyRevenueRollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RevenueRollupService revenueRollup;
+
+    @Test
+    void testPaymentsOfOneDayAreFlushedAsOneUpdate() {
+        when(rollupRepository.addTotals(DAY, new BigDecimal("400.00"), 2L, new BigDecimal("50.00"), 1L))
+            .thenReturn(1);
+
+        revenueRollup.recordPayment(DAY.atTime(9, 0), new BigDecimal("250.00"));
+        revenueRollup.recordPayment(DAY.atTime(14, 30), new BigDecimal("150.00"));
+        revenueRollup.recordRefund(DAY.atTime(16, 0), new BigDecimal("50.00"));
+
+        assertThat(revenueRollup.flush()).isEqualTo(1);
+        assertThat(revenueRollup.flush()).isZero();
+        verify(rollupRepository, never()).insertEmptyDay(any());
+    }
+
+    @Test
+    void testFirstPaymentOfDayCreatesRow() {
+        when(rollupRepository.addTotals(DAY, new BigDecimal("250.00"), 1L, BigDecimal.ZERO, 0L))
+            .thenReturn(0, 1);
+
+        revenueRollup.recordPayment(DAY.atTime(0, 5), new BigDecimal("250.00"));
+        revenueRollup.flush();
+
+        InOrder order = inOrder(rollupRepository);
+        order.verify(rollupRepository).addTotals(DAY, new BigDecimal("250.00"), 1L, BigDecimal.ZERO, 0L);
+        order.verify(rollupRepository).insertEmptyDay(DAY);
+        order.verify(rollupRepository).addTotals(DAY, new BigDecimal("250.00"), 1L, BigDecimal.ZERO, 0L);
+    }
+
+    @Test
+    void testPaymentIsNotCountedUntilItsTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            revenueRollup.recordPayment(DAY.atTime(9, 0), new BigDecimal("250.00"));
+
+            assertThat(revenueRollup.flush()).isZero();
+            verifyNoInteractions(rollupRepository);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        when(rollupRepository.addTotals(DAY, new BigDecimal("250.00"), 1L, BigDecimal.ZERO, 0L)).thenReturn(1);
+
+        assertThat(revenueRollup.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void testFailedFlushKeepsDeltasForNextRun() {
+        when(rollupRepository.addTotals(DAY, new BigDecimal("250.00"), 1L, BigDecimal.ZERO, 0L))
+            .thenThrow(new QueryTimeoutException("timeout"));
+        when(rollupRepository.addTotals(DAY, new BigDecimal("400.00"), 2L, BigDecimal.ZERO, 0L)).thenReturn(1);
+
+        revenueRollup.recordPayment(DAY.atTime(9, 0), new BigDecimal("250.00"));
+        assertThat(revenueRollup.flush()).isZero();
+
+        revenueRollup.recordPayment(DAY.atTime(10, 0), new BigDecimal("150.00"));
+        assertThat(revenueRollup.flush()).isEqualTo(1);
+    }
+
+    @Test
+    void testDailyTotalsFillDaysWithoutActivity() {
+        DailyRevenueRollup stored = DailyRevenueRollup.builder()
+            .revenueDate(DAY.plusDays(1))
+            .grossRevenue(new BigDecimal("500.00"))
+            .paymentCount(2L)
+            .refundAmount(new BigDecimal("100.00"))
+            .refundCount(1L)
+            .updatedAt(LocalDateTime.now())
+            .build();
+        when(rollupRepository.findByRevenueDateBetweenOrderByRevenueDate(DAY, DAY.plusDays(2)))
+            .thenReturn(List.of(stored));
+
+        List<DailyRevenueRollup> days = revenueRollup.getDailyTotals(DAY, DAY.plusDays(2));
+
+        assertThat(days).extracting(DailyRevenueRollup::getRevenueDate)
+            .containsExactly(DAY, DAY.plusDays(1), DAY.plusDays(2));
+        assertThat(days.get(0).getGrossRevenue()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(days.get(1).getNetRevenue()).isEqualByComparingTo("400.00");
+    }
+}
@@ -43,6 +43,18 @@ class ReviewServiceTests {
     @Mock
     private ReviewMapper reviewMapper;
     
+    @Mock
+    private StatusCounterRegistry statusCounters;
+    
+    @Mock
+    private ReviewVoteAccumulator voteAccumulator;
+    
+    @Mock
+    private VehicleRatingStatsService ratingStats;
+    
+    @Mock
+    private ProfanityFilter profanityFilter;
+    
     @InjectMocks
     private ReviewService reviewService;
     
@@ -155,13 +167,38 @@ class ReviewServiceTests {
     
     @Test
     void testGetAverageRating_Success() {
-        when(reviewRepository.findAverageRatingByVehicle(1L)).thenReturn(Optional.of(4.5));
+        when(ratingStats.getDistribution(1L)).thenReturn(RatingDistribution.builder()
+            .vehicleId(1L)
+            .averageRating(4.5)
+            .totalReviews(2L)
+            .build());
         
         Double averageRating = reviewService.getAverageRating(1L);
         
         assertEquals(4.5, averageRating);
     }
     
+    @Test
+    void testGetRatingDistribution_Success() {
+        VehicleRatingStats stats = VehicleRatingStats.builder().vehicleId(1L).build();
+        stats.apply(5, 5, null, null, null, 1);
+        stats.apply(5, 4, null, null, null, 1);
+        stats.apply(5, null, null, null, null, 1);
+        stats.apply(4, null, null, null, null, 1);
+        stats.apply(1, null, null, null, null, 1);
+        stats.apply(1, null, null, null, null, -1);
+        when(ratingStats.getDistribution(1L)).thenReturn(stats.toDistribution());
+        
+        RatingDistribution distribution = reviewService.getRatingDistribution(1L);
+        
+        assertEquals(4L, distribution.getTotalReviews());
+        assertEquals(3L, distribution.getFiveStarCount());
+        assertEquals(0L, distribution.getOneStarCount());
+        assertEquals(4.75, distribution.getAverageRating());
+        assertEquals(4.5, distribution.getAverageVehicleConditionRating());
+        assertEquals(0.0, distribution.getAverageCleanlinessRating());
+    }
+    
     @Test
     void testApproveReview_Success() {
         testReview.setStatus(ReviewStatus.PENDING);
@@ -177,6 +214,8 @@ class ReviewServiceTests {
         
         assertNotNull(response);
         verify(reviewRepository, times(1)).save(any(Review.class));
+        verify(ratingStats).reviewChanged(eq(1L), isNull(),
+            eq(new VehicleRatingStatsService.Contribution(5, null, null, null, null)));
     }
 }
 
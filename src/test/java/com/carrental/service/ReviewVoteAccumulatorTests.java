@@ -0,0 +1,104 @@
+package com.carrental.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReviewVoteAccumulatorTests {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReviewVoteAccumulator accumulator;
+
+    @BeforeEach
+    void setUp() {
+        accumulator = new ReviewVoteAccumulator(jdbcTemplate, 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConcurrentVotesAreFlushedAsOneRelativeUpdate() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> accumulator.recordHelpful(1L));
+        }
+        accumulator.recordUnhelpful(1L);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(accumulator.flush()).isEqualTo(1);
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(eq(ReviewVoteAccumulator.FLUSH_SQL), batch.capture());
+        assertThat(batch.getValue()).singleElement()
+            .isEqualTo(new Object[]{1000L, 1L, 1L});
+
+        // Nothing new to write, and the flushed review no longer takes up an entry
+        assertThat(accumulator.pendingReviews()).isZero();
+        assertThat(accumulator.flush()).isZero();
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedFlushKeepsVotesForNextRun() {
+        accumulator.recordHelpful(7L);
+        accumulator.recordHelpful(7L);
+        when(jdbcTemplate.batchUpdate(eq(ReviewVoteAccumulator.FLUSH_SQL), anyList()))
+            .thenThrow(new DataAccessResourceFailureException("connection lost"))
+            .thenReturn(new int[]{1});
+
+        accumulator.flush();
+        accumulator.recordHelpful(7L);
+        accumulator.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(eq(ReviewVoteAccumulator.FLUSH_SQL), batch.capture());
+        assertThat(batch.getAllValues().get(1)).singleElement()
+            .isEqualTo(new Object[]{3L, 0L, 7L});
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testVotesDuringFlushAreNotLost() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 20000; i++) {
+            executor.execute(() -> accumulator.recordHelpful(3L));
+        }
+        long flushes = 0;
+        while (!executor.isTerminated()) {
+            accumulator.flush();
+            flushes++;
+            if (flushes == 1) {
+                executor.shutdown();
+            }
+        }
+        accumulator.flush();
+
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, atLeastOnce()).batchUpdate(eq(ReviewVoteAccumulator.FLUSH_SQL), batches.capture());
+        long helpful = batches.getAllValues().stream()
+            .flatMap(List::stream)
+            .mapToLong(update -> (Long) update[0])
+            .sum();
+        assertThat(helpful).isEqualTo(20000L);
+        assertThat(accumulator.pendingReviews()).isZero();
+    }
+}
@@ -0,0 +1,153 @@
+package com.carrental.service;
+
+import com.carrental.dto.response.SettlementImportReport;
+import com.carrental.dto.response.SettlementImportReport.Discrepancy;
+import com.carrental.dto.response.SettlementImportReport.Outcome;
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.exception.PaymentException;
+import com.carrental.repository.PaymentRepository;
+import com.carrental.repository.RentalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SettlementImportServiceTests {
+
+    private static final String HEADER = "transaction_id,rental_id,amount,payment_method,captured_at\n";
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private StatusCounterRegistry statusCounters;
+
+    @Mock
+    private RevenueRollupService revenueRollup;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SettlementImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        importService = new SettlementImportService(rentalRepository, paymentRepository, jdbcTemplate,
+            new TransactionTemplate(transactionManager), statusCounters, revenueRollup, meterRegistry);
+    }
+
+    @Test
+    void testImportReconcilesRowsAgainstRentals() throws Exception {
+        when(rentalRepository.findSettlementTargets(any())).thenReturn(List.of(
+            new Object[]{1L, 7L, new BigDecimal("150.00")},
+            new Object[]{2L, 8L, new BigDecimal("120.00")},
+            new Object[]{4L, 9L, new BigDecimal("80.00")}));
+        when(paymentRepository.findExistingTransactionIds(any())).thenReturn(List.of("tx-old"));
+        when(paymentRepository.findRentalIdsWithStatus(any(), eq(PaymentStatus.COMPLETED))).thenReturn(List.of());
+
+        SettlementImportReport report = importService.importSettlement(csv(HEADER
+            + "tx-1,1,150,CREDIT_CARD,2026-10-01T10:00:00\n"
+            + "tx-2,2,99.00,credit_card,\n"
+            + "tx-3,3,50.00,CASH,\n"
+            + "tx-1,1,150.00,CREDIT_CARD,\n"
+            + "tx-old,4,80.00,CASH,\n"
+            + "\n"
+            + "tx-6,abc,10.00,CASH,\n"));
+
+        assertThat(report.getTotalRows()).isEqualTo(6);
+        assertThat(report.getCreatedCount()).isEqualTo(1);
+        assertThat(report.getDuplicateCount()).isEqualTo(2);
+        assertThat(report.getRejectedCount()).isEqualTo(3);
+        assertThat(report.getCreatedAmount()).isEqualByComparingTo("150.00");
+        assertThat(report.getSettledAmount()).isEqualByComparingTo("529.00");
+        assertThat(report.getDiscrepancies())
+            .extracting(Discrepancy::getRow, Discrepancy::getOutcome)
+            .containsExactlyInAnyOrder(
+                tuple(2, Outcome.REJECTED),
+                tuple(3, Outcome.REJECTED),
+                tuple(4, Outcome.DUPLICATE),
+                tuple(5, Outcome.DUPLICATE),
+                tuple(6, Outcome.REJECTED));
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyCollection(), eq(1), any());
+        verify(revenueRollup).recordPayments(LocalDate.of(2026, 10, 1), new BigDecimal("150"), 1L);
+        assertThat(meterRegistry.counter("payments.settlement.rows", "outcome", "created").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void testRentalWithCompletedPaymentIsRejected() throws Exception {
+        when(rentalRepository.findSettlementTargets(any())).thenReturn(List.<Object[]>of(
+            new Object[]{1L, 7L, new BigDecimal("150.00")}));
+        when(paymentRepository.findExistingTransactionIds(any())).thenReturn(List.of());
+        when(paymentRepository.findRentalIdsWithStatus(any(), eq(PaymentStatus.COMPLETED))).thenReturn(List.of(1L));
+
+        SettlementImportReport report = importService.importSettlement(csv(HEADER + "tx-1,1,150.00,CASH,\n"));
+
+        assertThat(report.getCreatedCount()).isZero();
+        assertThat(report.getDiscrepancies()).singleElement()
+            .extracting(Discrepancy::getReason).isEqualTo("Rental already has a completed payment");
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void testFailedChunkIsReportedAsRejected() throws Exception {
+        when(rentalRepository.findSettlementTargets(any())).thenReturn(List.<Object[]>of(
+            new Object[]{1L, 7L, new BigDecimal("150.00")}));
+        when(paymentRepository.findExistingTransactionIds(any())).thenReturn(List.of());
+        when(paymentRepository.findRentalIdsWithStatus(any(), eq(PaymentStatus.COMPLETED))).thenReturn(List.of());
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any()))
+            .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        SettlementImportReport report = importService.importSettlement(csv(HEADER + "tx-1,1,150.00,CASH,\n"));
+
+        assertThat(report.getCreatedCount()).isZero();
+        assertThat(report.getRejectedCount()).isEqualTo(1);
+        verify(revenueRollup, never()).recordPayments(any(), any(), anyLong());
+    }
+
+    @Test
+    void testMissingRequiredColumnFailsImport() {
+        assertThatThrownBy(() -> importService.importSettlement(csv("transactionId,amount\ntx-1,10.00\n")))
+            .isInstanceOf(PaymentException.class)
+            .hasMessageContaining("rentalid");
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package com.carrental.service;
+
+import com.carrental.entity.enums.PaymentStatus;
+import com.carrental.entity.enums.RentalStatus;
+import com.carrental.entity.enums.ReviewStatus;
+import com.carrental.repository.PaymentRepository;
+import com.carrental.repository.RentalRepository;
+import com.carrental.repository.ReviewRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StatusCounterRegistryTests {
+
+    @Mock
+    private RentalRepository rentalRepository;
+
+    @Mock
+    private PaymentRepository paymentRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @InjectMocks
+    private StatusCounterRegistry statusCounters;
+
+    @BeforeEach
+    void setUp() {
+        when(rentalRepository.countGroupedByStatus()).thenReturn(List.of(
+            new Object[]{RentalStatus.PENDING, 3L},
+            new Object[]{RentalStatus.ACTIVE, 2L}));
+        when(paymentRepository.countGroupedByStatus()).thenReturn(List.<Object[]>of(
+            new Object[]{PaymentStatus.COMPLETED, 7L}));
+        when(reviewRepository.countGroupedByStatus()).thenReturn(List.of());
+    }
+
+    @Test
+    void testSeedLoadsDatabaseCounts() {
+        assertThat(statusCounters.isSeeded()).isFalse();
+
+        statusCounters.seed();
+
+        assertThat(statusCounters.isSeeded()).isTrue();
+        assertThat(statusCounters.rentalCounts())
+            .containsEntry(RentalStatus.PENDING, 3L)
+            .containsEntry(RentalStatus.ACTIVE, 2L)
+            .containsEntry(RentalStatus.COMPLETED, 0L);
+        assertThat(statusCounters.paymentCounts()).containsEntry(PaymentStatus.COMPLETED, 7L);
+    }
+
+    @Test
+    void testTransitionsMoveCounts() {
+        statusCounters.seed();
+
+        statusCounters.rentalTransitioned(null, RentalStatus.PENDING);
+        statusCounters.rentalTransitioned(RentalStatus.PENDING, RentalStatus.CONFIRMED);
+        statusCounters.paymentTransitioned(PaymentStatus.COMPLETED, PaymentStatus.REFUNDED);
+        statusCounters.reviewTransitioned(null, ReviewStatus.PENDING);
+
+        assertThat(statusCounters.rentalCounts())
+            .containsEntry(RentalStatus.PENDING, 3L)
+            .containsEntry(RentalStatus.CONFIRMED, 1L);
+        assertThat(statusCounters.paymentCounts())
+            .containsEntry(PaymentStatus.COMPLETED, 6L)
+            .containsEntry(PaymentStatus.REFUNDED, 1L);
+        assertThat(statusCounters.reviewCounts()).containsEntry(ReviewStatus.PENDING, 1L);
+    }
+
+    @Test
+    void testReconcileCorrectsDrift() {
+        statusCounters.seed();
+        // A transition the database never saw
+        statusCounters.rentalTransitioned(RentalStatus.PENDING, RentalStatus.CANCELLED);
+
+        statusCounters.reconcile();
+
+        assertThat(statusCounters.rentalCounts())
+            .containsEntry(RentalStatus.PENDING, 3L)
+            .containsEntry(RentalStatus.CANCELLED, 0L);
+    }
+}
@@ -0,0 +1,112 @@
+package com.carrental.service;
+
+import com.carrental.config.CacheConfig;
+import com.carrental.dto.response.VehicleDTO;
+import com.carrental.entity.enums.VehicleStatus;
+import com.carrental.entity.enums.VehicleType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VehicleCacheTests {
+
+    private final Pageable firstPage = PageRequest.of(0, 10);
+
+    private VehicleCache vehicleCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.VEHICLES,
+            CacheConfig.VEHICLE_TYPE_LISTINGS, CacheConfig.VEHICLE_PRICE_LISTINGS, CacheConfig.ACTIVE_VEHICLES);
+        vehicleCache = new VehicleCache(cacheManager);
+        loads = new AtomicInteger();
+    }
+
+    private static VehicleDTO vehicle(long id, VehicleType type, String dailyRate, VehicleStatus status) {
+        return VehicleDTO.builder()
+            .id(id)
+            .type(type)
+            .dailyRate(new BigDecimal(dailyRate))
+            .status(status)
+            .build();
+    }
+
+    private <T> Supplier<T> counting(T value) {
+        return () -> {
+            loads.incrementAndGet();
+            return value;
+        };
+    }
+
+    private Supplier<Page<VehicleDTO>> emptyPage() {
+        return counting(new PageImpl<>(List.of()));
+    }
+
+    @Test
+    void testCreatedVehicleIsWrittenThrough() {
+        vehicleCache.vehicleCreated(vehicle(1L, VehicleType.SEDAN, "50.00", VehicleStatus.ACTIVE));
+
+        VehicleDTO cached = vehicleCache.getById(1L, counting(null));
+
+        assertThat(cached.getId()).isEqualTo(1L);
+        assertThat(loads).hasValue(0);
+    }
+
+    @Test
+    void testCreateEvictsOnlyListingsOfItsType() {
+        vehicleCache.getByType("SEDAN", firstPage, emptyPage());
+        vehicleCache.getByType("SUV", firstPage, emptyPage());
+        loads.set(0);
+
+        vehicleCache.vehicleCreated(vehicle(1L, VehicleType.SEDAN, "50.00", VehicleStatus.ACTIVE));
+        vehicleCache.getByType("SEDAN", firstPage, emptyPage());
+        vehicleCache.getByType("SUV", firstPage, emptyPage());
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testRateChangeEvictsOldAndNewPriceRanges() {
+        vehicleCache.getByPriceRange(new BigDecimal("30"), new BigDecimal("50"), firstPage, emptyPage());
+        vehicleCache.getByPriceRange(new BigDecimal("55"), new BigDecimal("70"), firstPage, emptyPage());
+        vehicleCache.getByPriceRange(new BigDecimal("100"), new BigDecimal("200"), firstPage, emptyPage());
+        loads.set(0);
+
+        vehicleCache.vehicleUpdated(
+            vehicle(1L, VehicleType.SEDAN, "40.00", VehicleStatus.ACTIVE),
+            vehicle(1L, VehicleType.SEDAN, "60.00", VehicleStatus.ACTIVE));
+
+        vehicleCache.getByPriceRange(new BigDecimal("30"), new BigDecimal("50"), firstPage, emptyPage());
+        vehicleCache.getByPriceRange(new BigDecimal("55"), new BigDecimal("70"), firstPage, emptyPage());
+        vehicleCache.getByPriceRange(new BigDecimal("100.00"), new BigDecimal("200.00"), firstPage, emptyPage());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testActiveFleetFollowsCreatesAndStatusChanges() {
+        VehicleDTO existing = vehicle(1L, VehicleType.SEDAN, "50.00", VehicleStatus.ACTIVE);
+        vehicleCache.getActiveVehicles(counting(List.of(existing)));
+
+        VehicleDTO added = vehicle(2L, VehicleType.SUV, "80.00", VehicleStatus.ACTIVE);
+        vehicleCache.vehicleCreated(added);
+        vehicleCache.vehicleUpdated(existing, vehicle(1L, VehicleType.SEDAN, "50.00", VehicleStatus.MAINTENANCE));
+
+        List<VehicleDTO> active = vehicleCache.getActiveVehicles(counting(List.of()));
+
+        assertThat(active).extracting(VehicleDTO::getId).containsExactly(2L);
+        assertThat(loads).hasValue(1);
+    }
+}
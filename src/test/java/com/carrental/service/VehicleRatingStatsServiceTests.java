@@ -0,0 +1,92 @@
+package com.carrental.service;
+
+import com.carrental.config.CacheConfig;
+import com.carrental.dto.response.RatingDistribution;
+import com.carrental.entity.VehicleRatingStats;
+import com.carrental.repository.ReviewRepository;
+import com.carrental.repository.VehicleRatingStatsRepository;
+import com.carrental.service.VehicleRatingStatsService.Contribution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VehicleRatingStatsServiceTests {
+
+    @Mock
+    private VehicleRatingStatsRepository statsRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    private VehicleRatingStatsService ratingStats;
+
+    @BeforeEach
+    void setUp() {
+        ratingStats = new VehicleRatingStatsService(statsRepository, reviewRepository,
+            new ConcurrentMapCacheManager(CacheConfig.RATINGS));
+    }
+
+    @Test
+    void testEditMovesTotalsAndRefreshesCache() {
+        VehicleRatingStats stats = VehicleRatingStats.builder().vehicleId(1L).build();
+        stats.apply(5, 4, null, null, null, 1);
+        stats.apply(3, null, null, null, null, 1);
+        when(statsRepository.findById(1L)).thenReturn(Optional.of(stats));
+        when(statsRepository.findForUpdate(1L)).thenReturn(Optional.of(stats));
+
+        assertThat(ratingStats.getDistribution(1L).getAverageRating()).isEqualTo(4.0);
+
+        ratingStats.reviewChanged(1L,
+            new Contribution(5, 4, null, null, null),
+            new Contribution(1, 2, null, null, null));
+
+        RatingDistribution distribution = ratingStats.getDistribution(1L);
+        assertThat(distribution.getTotalReviews()).isEqualTo(2L);
+        assertThat(distribution.getAverageRating()).isEqualTo(2.0);
+        assertThat(distribution.getFiveStarCount()).isZero();
+        assertThat(distribution.getOneStarCount()).isEqualTo(1L);
+        assertThat(distribution.getAverageVehicleConditionRating()).isEqualTo(2.0);
+        verify(statsRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testUnchangedContributionSkipsUpdate() {
+        Contribution contribution = new Contribution(4, null, 5, null, null);
+
+        ratingStats.reviewChanged(1L, contribution, contribution);
+        ratingStats.reviewChanged(1L, null, null);
+
+        verify(statsRepository, never()).insertIfAbsent(anyLong());
+    }
+
+    @Test
+    void testBatchLoadsOnlyMissesInOneQuery() {
+        VehicleRatingStats stats = VehicleRatingStats.builder().vehicleId(2L).build();
+        stats.apply(4, null, null, null, null, 1);
+        when(statsRepository.findById(1L)).thenReturn(Optional.empty());
+        when(statsRepository.findAllById(List.of(2L, 3L))).thenReturn(List.of(stats));
+
+        ratingStats.getDistribution(1L);
+        Map<Long, RatingDistribution> distributions = ratingStats.getDistributions(List.of(1L, 2L, 3L));
+
+        assertThat(distributions.get(1L).getTotalReviews()).isZero();
+        assertThat(distributions.get(2L).getAverageRating()).isEqualTo(4.0);
+        assertThat(distributions.get(3L).getTotalReviews()).isZero();
+        verify(statsRepository, times(1)).findAllById(List.of(2L, 3L));
+    }
+}
@@ -3,6 +3,7 @@ package com.carrental.service;
 import com.carrental.dto.request.CreateVehicleRequest;
 import com.carrental.dto.request.UpdateVehicleRequest;
 import com.carrental.dto.response.VehicleDTO;
+import com.carrental.dto.response.VehicleImportReport;
 import com.carrental.entity.Vehicle;
 import com.carrental.entity.enums.TransmissionType;
 import com.carrental.entity.enums.VehicleStatus;
@@ -11,6 +12,7 @@ import com.carrental.exception.ResourceNotFoundException;
 import com.carrental.exception.ValidationException;
 import com.carrental.mapper.VehicleMapper;
 import com.carrental.repository.VehicleRepository;
+import com.carrental.util.VehicleCsvParser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,8 +23,12 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -115,6 +121,79 @@ class VehicleServiceTests {
         assertThrows(ValidationException.class, () -> vehicleService.createVehicle(request));
     }
 
+    private static CreateVehicleRequest importRequest(String licensePlate, String vin) {
+        return CreateVehicleRequest.builder()
+                .licensePlate(licensePlate)
+                .vin(vin)
+                .make("Ford")
+                .model("Focus")
+                .year(2022)
+                .transmission(TransmissionType.AUTOMATIC)
+                .dailyRate(new BigDecimal("45.00"))
+                .type(VehicleType.HATCHBACK)
+                .build();
+    }
+
+    @Test
+    void testImportVehiclesReportsEachRow() {
+        CreateVehicleRequest valid = importRequest("IMP001", "WVWZZZ3CZ9E000001");
+        CreateVehicleRequest existingPlate = importRequest("ABC123", "WVWZZZ3CZ9E000002");
+        CreateVehicleRequest repeatedVin = importRequest("IMP003", "WVWZZZ3CZ9E000001");
+        CreateVehicleRequest invalid = importRequest("IMP004", "TOO-SHORT");
+
+        VehicleImportReport report = vehicleService.importVehicles(
+                List.of(valid, existingPlate, repeatedVin, invalid));
+
+        assertThat(report.getCreatedCount()).isEqualTo(1);
+        assertThat(report.getRejectedCount()).isEqualTo(3);
+        assertThat(report.getRows()).extracting(VehicleImportReport.RowResult::getStatus).containsExactly(
+                VehicleImportReport.RowStatus.CREATED, VehicleImportReport.RowStatus.REJECTED,
+                VehicleImportReport.RowStatus.REJECTED, VehicleImportReport.RowStatus.REJECTED);
+        assertThat(report.getRows().get(0).getVehicleId()).isNotNull();
+        assertThat(report.getRows().get(1).getErrors()).containsExactly("License plate already exists: ABC123");
+        assertThat(vehicleRepository.existsByLicensePlate("IMP001")).isTrue();
+        assertThat(vehicleRepository.existsByLicensePlate("IMP003")).isFalse();
+    }
+
+    @Test
+    void testImportVehiclesFromCsv() throws IOException {
+        String csv = """
+                license_plate,vin,make,model,year,color,transmission,daily_rate,type
+                CSV001,WVWZZZ3CZ9E100001,Toyota,Corolla,2023,"Blue, metallic",automatic,55.00,SEDAN
+                CSV002,WVWZZZ3CZ9E100002,Toyota,RAV4,2024,,AUTOMATIC,80.00,SUV
+                """;
+
+        VehicleImportReport report = vehicleService.importCsvRows(parseCsv(csv));
+
+        assertThat(report.getCreatedCount()).isEqualTo(2);
+        assertThat(vehicleRepository.findByLicensePlate("CSV001"))
+                .hasValueSatisfying(vehicle -> assertThat(vehicle.getColor()).isEqualTo("Blue, metallic"));
+    }
+
+    @Test
+    void testImportVehiclesFromCsvRejectsUnparseableRows() throws IOException {
+        String csv = """
+                license_plate,vin,make,model,year,color,transmission,daily_rate,type
+                CSV003,WVWZZZ3CZ9E100003,Toyota,Corolla,2023,"Blue
+                with white roof",MANUAL,55.00,SEDAN
+                CSV004,WVWZZZ3CZ9E100004,Toyota,RAV4,twenty,,AUTOMATIC,80.00,TRACTOR
+                """;
+
+        VehicleImportReport report = vehicleService.importCsvRows(parseCsv(csv));
+
+        assertThat(report.getTotalRows()).isEqualTo(2);
+        assertThat(report.getCreatedCount()).isEqualTo(1);
+        assertThat(report.getRows().get(1).getStatus()).isEqualTo(VehicleImportReport.RowStatus.REJECTED);
+        assertThat(report.getRows().get(1).getLicensePlate()).isEqualTo("CSV004");
+        assertThat(report.getRows().get(1).getErrors()).containsExactly("Invalid year: twenty", "Invalid type: TRACTOR");
+        assertThat(vehicleRepository.findByLicensePlate("CSV003"))
+                .hasValueSatisfying(vehicle -> assertThat(vehicle.getColor()).isEqualTo("Blue\nwith white roof"));
+    }
+
+    private static List<VehicleCsvParser.ParsedRow> parseCsv(String csv) throws IOException {
+        return VehicleCsvParser.parse(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), 100);
+    }
+
     @Test
     void testUpdateVehicle() {
         UpdateVehicleRequest request = UpdateVehicleRequest.builder()
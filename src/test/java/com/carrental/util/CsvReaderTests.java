@@ -0,0 +1,39 @@
+package com.carrental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTests {
+
+    @Test
+    void testReadsRecordsWithQuotedFields() throws Exception {
+        CsvReader csv = reader("\uFEFFid,note\r\n1,\"Toyota, Inc\"\n2,\"say \"\"hi\"\"\nagain\"\n\n3,");
+
+        assertThat(csv.next()).containsExactly("id", "note");
+        assertThat(csv.next()).containsExactly("1", "Toyota, Inc");
+        assertThat(csv.next()).containsExactly("2", "say \"hi\"\nagain");
+        assertThat(CsvReader.isBlank(csv.next())).isTrue();
+        assertThat(csv.next()).containsExactly("3", "");
+        assertThat(csv.next()).isNull();
+        assertThat(csv.recordNumber()).isEqualTo(5);
+    }
+
+    @Test
+    void testUnterminatedQuoteIsRejected() throws Exception {
+        CsvReader csv = reader("id\n\"open");
+
+        assertThat(csv.next()).isEqualTo(List.of("id"));
+        assertThatThrownBy(csv::next).isInstanceOf(IOException.class);
+    }
+
+    private static CsvReader reader(String content) {
+        return new CsvReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
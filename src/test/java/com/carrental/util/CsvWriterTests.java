@@ -0,0 +1,45 @@
+package com.carrental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvWriterTests {
+
+    @Test
+    void testPlainValuesAreWrittenAsIs() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.row("id", "amount");
+            csv.row(1L, new BigDecimal("150.00"));
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("id,amount\r\n1,150.00\r\n");
+    }
+
+    @Test
+    void testSpecialCharactersAreQuoted() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.row("Toyota, Inc", "say \"hi\"", null, "line\nbreak");
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+            .isEqualTo("\"Toyota, Inc\",\"say \"\"hi\"\"\",,\"line\nbreak\"\r\n");
+    }
+
+    @Test
+    void testFormulaLikeTextIsEscaped() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CsvWriter csv = new CsvWriter(out)) {
+            csv.row("=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)", "a=b", new BigDecimal("-50.00"));
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+            .isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",'+1,'-2,'@SUM(A1),a=b,-50.00\r\n");
+    }
+}
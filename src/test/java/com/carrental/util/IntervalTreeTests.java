@@ -0,0 +1,88 @@
+package com.carrental.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTests {
+
+    private IntervalTree tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new IntervalTree();
+        tree.insert(1L, 100, 200);
+        tree.insert(2L, 300, 400);
+        tree.insert(3L, 500, 600);
+    }
+
+    @Test
+    void testOverlapInsideInterval() {
+        assertThat(tree.overlaps(150, 160, true, IntervalTree.NO_EXCLUSION)).isTrue();
+    }
+
+    @Test
+    void testNoOverlapInGap() {
+        assertThat(tree.overlaps(210, 290, true, IntervalTree.NO_EXCLUSION)).isFalse();
+    }
+
+    @Test
+    void testTouchingEndpointsDependOnInclusiveFlag() {
+        assertThat(tree.overlaps(200, 250, true, IntervalTree.NO_EXCLUSION)).isTrue();
+        assertThat(tree.overlaps(200, 250, false, IntervalTree.NO_EXCLUSION)).isFalse();
+    }
+
+    @Test
+    void testExcludedIntervalIsIgnored() {
+        assertThat(tree.overlaps(320, 380, true, 2L)).isFalse();
+        assertThat(tree.overlaps(320, 520, true, 2L)).isTrue();
+    }
+
+    @Test
+    void testRemove() {
+        assertThat(tree.remove(2L, 300)).isTrue();
+        assertThat(tree.remove(2L, 300)).isFalse();
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.overlaps(320, 380, true, IntervalTree.NO_EXCLUSION)).isFalse();
+    }
+
+    @Test
+    void testForEachVisitsInStartOrder() {
+        List<Long> ids = new ArrayList<>();
+        tree.forEach((id, start, end) -> ids.add(id));
+
+        assertThat(ids).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void testMatchesLinearScan() {
+        IntervalTree randomTree = new IntervalTree();
+        List<long[]> intervals = new ArrayList<>();
+        Random random = new Random(42);
+
+        for (long id = 0; id < 500; id++) {
+            long start = random.nextInt(100_000);
+            long end = start + random.nextInt(500);
+            randomTree.insert(id, start, end);
+            intervals.add(new long[]{id, start, end});
+        }
+        for (int i = 0; i < 200; i++) {
+            long[] removed = intervals.remove(random.nextInt(intervals.size()));
+            randomTree.remove(removed[0], removed[1]);
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            long from = random.nextInt(100_000);
+            long to = from + random.nextInt(300);
+            boolean expected = intervals.stream().anyMatch(interval -> interval[1] <= to && interval[2] >= from);
+
+            assertThat(randomTree.overlaps(from, to, true, IntervalTree.NO_EXCLUSION)).isEqualTo(expected);
+        }
+    }
+}
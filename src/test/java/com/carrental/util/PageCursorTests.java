@@ -0,0 +1,39 @@
+package com.carrental.util;
+
+import com.carrental.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTests {
+
+    @Test
+    void testRoundTripWithSortKey() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2025, 6, 1, 12, 30, 15, 123_000_000), 42L);
+
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void testRoundTripWithIdOnly() {
+        PageCursor cursor = PageCursor.of(7L);
+
+        assertThat(cursor.encode()).doesNotContain("=");
+        assertThat(PageCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void testMissingTokenMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+    }
+
+    @Test
+    void testTamperedTokenIsRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor"))
+            .isInstanceOf(ValidationException.class);
+    }
+}
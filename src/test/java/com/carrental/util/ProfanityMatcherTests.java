@@ -0,0 +1,59 @@
+package com.carrental.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProfanityMatcherTests {
+
+    private final ProfanityMatcher matcher = ProfanityMatcher.of(List.of("badword", "worse", "rude phrase", "  "));
+
+    @Test
+    void testMatchesWholeWordsOnly() {
+        assertThat(matcher.matches("what a badword.")).isTrue();
+        assertThat(matcher.matches("Worse, the AC was off")).isTrue();
+        assertThat(matcher.matches("badwords everywhere")).isFalse();
+        assertThat(matcher.matches("a notbadword review")).isFalse();
+        assertThat(matcher.matches("Great car, smooth pickup")).isFalse();
+        assertThat(matcher.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testNormalizesCaseAccentsAndLeetspeak() {
+        assertThat(matcher.matches("BADWORD")).isTrue();
+        assertThat(matcher.matches("bädwörd")).isTrue();
+        assertThat(matcher.matches("b4dw0rd")).isTrue();
+        assertThat(matcher.matches("w0r$3!")).isTrue();
+        assertThat(ProfanityMatcher.normalize("Wørse -- Ça  va")).isEqualTo("worse ca va");
+    }
+
+    @Test
+    void testIgnoresCombiningMarksAndInvisibleCharacters() {
+        assertThat(matcher.matches("ba\u0308dwo\u0308rd")).isTrue();
+        assertThat(matcher.matches("bad\u00ADword")).isTrue();
+        assertThat(matcher.matches("w\u200Borse")).isTrue();
+        assertThat(ProfanityMatcher.normalize("C\u0327a va")).isEqualTo("ca va");
+    }
+
+    @Test
+    void testPhrasesIgnoreSeparatorRuns() {
+        assertThat(matcher.matches("that was a rude   phrase")).isTrue();
+        assertThat(matcher.matches("rude\n-phrase")).isTrue();
+        assertThat(matcher.matches("rude phrases")).isFalse();
+    }
+
+    @Test
+    void testScansSeveralTextsWithoutJoiningThem() {
+        assertThat(matcher.matches("Nice car", null, "but worse service")).isTrue();
+        assertThat(matcher.matches("rude", "phrase")).isFalse();
+        assertThat(matcher.matches("bad", "word")).isFalse();
+        assertThat(matcher.matches((String) null)).isFalse();
+    }
+
+    @Test
+    void testEmptyDictionaryMatchesNothing() {
+        assertThat(ProfanityMatcher.of(List.of()).matches("anything at all")).isFalse();
+    }
+}
@@ -0,0 +1,46 @@
+package com.carrental.util;
+
+import com.carrental.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VehicleCsvParserTests {
+
+    private static final String HEADER = "license_plate,vin,make,model,year,transmission,daily_rate,type\n";
+
+    @Test
+    void testParsesUpToRowLimit() throws Exception {
+        String csv = HEADER
+            + "CSV001,WVWZZZ3CZ9E100001,Toyota,Corolla,2023,AUTOMATIC,55.00,SEDAN\n"
+            + "\n"
+            + "CSV002,WVWZZZ3CZ9E100002,Toyota,RAV4,2024,AUTOMATIC,80.00,SUV\n";
+
+        assertThat(VehicleCsvParser.parse(body(csv), 2))
+            .extracting(row -> row.request().getLicensePlate())
+            .containsExactly("CSV001", "CSV002");
+    }
+
+    @Test
+    void testStopsReadingOnceRowLimitIsExceeded() {
+        // The unterminated quote would fail the read if the parser went past the third row
+        String csv = HEADER
+            + "CSV001,WVWZZZ3CZ9E100001,Toyota,Corolla,2023,AUTOMATIC,55.00,SEDAN\n"
+            + "CSV002,WVWZZZ3CZ9E100002,Toyota,RAV4,2024,AUTOMATIC,80.00,SUV\n"
+            + "CSV003,WVWZZZ3CZ9E100003,Toyota,Yaris,2024,MANUAL,40.00,HATCHBACK\n"
+            + "\"CSV004";
+
+        assertThatThrownBy(() -> VehicleCsvParser.parse(body(csv), 2))
+            .isInstanceOf(ValidationException.class)
+            .hasMessage("Import is limited to 2 vehicles per request");
+    }
+
+    private static InputStream body(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}